@@ -3,9 +3,11 @@ package com.bankingapp.accountservice;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableFeignClients(basePackages = "com.bankingapp.accountservice.client")
+@EnableScheduling
 public class AccountServiceApplication {
 
 	public static void main(String[] args) {
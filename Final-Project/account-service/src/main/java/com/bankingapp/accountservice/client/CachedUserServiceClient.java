@@ -0,0 +1,81 @@
+package com.bankingapp.accountservice.client;
+
+import com.bankingapp.accountservice.dto.UserSummaryDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import feign.FeignException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Size-bounded, TTL-evicting cache in front of {@link UserServiceClient}.
+ * 404s are cached as empty entries with a shorter TTL; any other Feign failure is
+ * propagated and never cached. Entries are evicted by users-service on update/delete
+ * through {@code DELETE /internal/cache/users/{userId}}.
+ * Stats are published as the {@code cache.*} meters with tag {@code cache=users}.
+ */
+@Component
+@Slf4j
+public class CachedUserServiceClient {
+
+    private final UserServiceClient userServiceClient;
+    private final Cache<Long, Optional<UserSummaryDto>> users;
+
+    public CachedUserServiceClient(UserServiceClient userServiceClient,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${user-cache.maximum-size:10000}") long maximumSize,
+                                   @Value("${user-cache.ttl:5m}") Duration ttl,
+                                   @Value("${user-cache.negative-ttl:30s}") Duration negativeTtl) {
+        this.userServiceClient = userServiceClient;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<Long, Optional<UserSummaryDto>>() {
+                    @Override
+                    public long expireAfterCreate(Long id, Optional<UserSummaryDto> user, long currentTime) {
+                        return (user.isPresent() ? ttl : negativeTtl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long id, Optional<UserSummaryDto> user, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(id, user, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long id, Optional<UserSummaryDto> user, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "users");
+    }
+
+    /**
+     * Returns the user, or empty when users-service answered 404.
+     */
+    public Optional<UserSummaryDto> findUser(Long id) {
+        return users.get(id, this::fetch);
+    }
+
+    public void evict(Long id) {
+        users.invalidate(id);
+        log.debug("Evicted user {} from cache", id);
+    }
+
+    private Optional<UserSummaryDto> fetch(Long id) {
+        try {
+            return Optional.ofNullable(userServiceClient.getUserById(id));
+        } catch (FeignException.NotFound e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -2,26 +2,16 @@ package com.bankingapp.accountservice.client;
 
 import feign.RequestInterceptor;
 import org.springframework.context.annotation.Bean;
-import org.springframework.web.context.request.RequestAttributes;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.http.HttpHeaders;
 
 /**
- * Ensures Authorization header from the incoming request
- * is forwarded to UserService when AccountService calls it.
+ * Authenticates calls to UserService with account-service's own service token
+ * (see {@link ServiceTokenManager}), so they work outside a request thread as well.
  */
 public class UserServiceFeignConfig {
 
     @Bean
-    public RequestInterceptor requestInterceptor() {
-        return requestTemplate -> {
-            RequestAttributes attrs = RequestContextHolder.getRequestAttributes();
-            if (attrs instanceof ServletRequestAttributes servletAttrs) {
-                String auth = servletAttrs.getRequest().getHeader("Authorization");
-                if (auth != null && !auth.isBlank()) {
-                    requestTemplate.header("Authorization", auth);
-                }
-            }
-        };
+    public RequestInterceptor requestInterceptor(ServiceTokenManager serviceTokenManager) {
+        return requestTemplate -> requestTemplate.header(HttpHeaders.AUTHORIZATION, serviceTokenManager.authorizationHeader());
     }
 }
@@ -2,10 +2,22 @@ package com.bankingapp.accountservice.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.web.SecurityFilterChain;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 @Configuration
+@EnableMethodSecurity
 public class SecurityConfig {
 
     @Bean
@@ -13,11 +25,50 @@ public class SecurityConfig {
         http
                 .csrf(csrf -> csrf.disable()) // Disable CSRF for APIs
                 .authorizeHttpRequests(auth -> auth
+                        .requestMatchers("/actuator/sqlprofile/**").hasAuthority("ADMIN") // can switch SQL sampling on or wipe the stats
                         .requestMatchers("/actuator/**", "/health/**").permitAll()
                         .anyRequest().authenticated()
                 )
-                .oauth2ResourceServer(oauth2 -> oauth2.jwt()); // Enable JWT validation
+                .oauth2ResourceServer(oauth2 -> oauth2.jwt(jwt -> jwt.jwtAuthenticationConverter(jwtAuthenticationConverter())));
 
         return http.build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Keycloak realm and client roles as authorities (ADMIN, CUSTOMER, SERVICE, ...), same mapping as
+     * card, loan and users-service; computed once per cached token
+     */
+    private JwtAuthenticationConverter jwtAuthenticationConverter() {
+        JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
+        converter.setJwtGrantedAuthoritiesConverter(CachingJwtDecoder.cachedAuthorities(SecurityConfig::extractAuthorities));
+        return converter;
+    }
+
+    static Collection<GrantedAuthority> extractAuthorities(Jwt jwt) {
+        Set<String> roles = new HashSet<>();
+
+        // Extract realm roles
+        Map<String, Object> realmAccess = jwt.getClaim("realm_access");
+        if (realmAccess != null && realmAccess.get("roles") instanceof Collection<?> realmRoles) {
+            for (Object role : realmRoles) {
+                roles.add(role.toString());
+            }
+        }
+
+        // Extract client roles
+        Map<String, Object> resourceAccess = jwt.getClaim("resource_access");
+        if (resourceAccess != null) {
+            for (Object client : resourceAccess.values()) {
+                if (client instanceof Map<?, ?> clientMap && clientMap.get("roles") instanceof Collection<?> clientRoles) {
+                    for (Object role : clientRoles) {
+                        roles.add(role.toString());
+                    }
+                }
+            }
+        }
+
+        return roles.stream()
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toSet());
+    }
+}
@@ -1,18 +1,21 @@
 package com.bankingapp.accountservice.controller;
 
+import com.bankingapp.accountservice.dto.AccountPageDto;
 import com.bankingapp.accountservice.dto.AccountRequestDto;
 import com.bankingapp.accountservice.dto.AccountResponseDto;
+import com.bankingapp.accountservice.service.AccountActivityBroadcaster;
 import com.bankingapp.accountservice.service.AccountService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/accounts")
@@ -22,6 +25,7 @@ import java.util.stream.Collectors;
 public class AccountController {
 
     private final AccountService accountService;
+    private final AccountActivityBroadcaster activityBroadcaster;
 
     /**
      * Create account
@@ -38,13 +42,14 @@ public class AccountController {
     }
 
     /**
-     * Get list of accounts
-     * GET /accounts
+     * Get one page of accounts (admin listing)
+     * GET /accounts?page=0&size=50
      */
     @GetMapping
-    public ResponseEntity<List<AccountResponseDto>> getAllAccounts() {
-        List<AccountResponseDto> list = accountService.getAllAccounts();
-        return ResponseEntity.ok(list);
+    public ResponseEntity<AccountPageDto> getAccounts(@RequestParam(value = "page", defaultValue = "0") int page,
+                                                      @RequestParam(value = "size", defaultValue = "50") int size) {
+        AccountPageDto result = accountService.getAccountPage(page, size);
+        return ResponseEntity.ok(result);
     }
 
     /**
@@ -57,6 +62,27 @@ public class AccountController {
         return ResponseEntity.ok(dto);
     }
 
+    /**
+     * Get many accounts by id in one call; unknown ids are left out
+     * POST /accounts/batch  body: [1, 2, 3]
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<AccountResponseDto>> getAccountsByIds(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(accountService.getAccountsByIds(ids));
+    }
+
+    /**
+     * Live account activity (Server-Sent Events)
+     * GET /accounts/{id}/stream
+     * Each "transaction" event carries an AccountActivityDto. Clients load the account once,
+     * then apply balanceDelta, and reload after a reconnect since pushes are not replayed.
+     */
+    @GetMapping(path = "/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAccount(@PathVariable("id") Long id) {
+        accountService.getAccountById(id); // 404 before opening the stream
+        return activityBroadcaster.subscribe(id);
+    }
+
     /**
      * Delete account
      * DELETE /accounts/{id}
@@ -66,13 +92,13 @@ public class AccountController {
         accountService.deleteAccount(id);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Get accounts of one user
+     * GET /accounts/user/{userId}
+     */
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<AccountResponseDto>> getAccountsByUserId(@PathVariable Long userId) {
-    List<AccountResponseDto> allAccounts = accountService.getAllAccounts();
-    List<AccountResponseDto> userAccounts = allAccounts.stream()
-            .filter(account -> account.getUserId().equals(userId))
-            .collect(Collectors.toList());
-
-    return ResponseEntity.ok(userAccounts);
-}
+        return ResponseEntity.ok(accountService.getAccountsByUserId(userId));
+    }
 }
@@ -1,20 +1,34 @@
 package com.bankingapp.accountservice.controller;
 
+import com.bankingapp.accountservice.dto.BatchTransactionRequestDto;
+import com.bankingapp.accountservice.dto.BatchTransactionResponseDto;
+import com.bankingapp.accountservice.dto.TransactionFilterDto;
+import com.bankingapp.accountservice.dto.TransactionPageDto;
 import com.bankingapp.accountservice.dto.TransactionRequestDto;
 import com.bankingapp.accountservice.dto.TransactionResponseDto;
 import com.bankingapp.accountservice.dto.TransferRequestDto;
 import com.bankingapp.accountservice.dto.TransferResponseDto;
+import com.bankingapp.accountservice.enums.TransactionType;
+import com.bankingapp.accountservice.service.IdempotencyService;
 import com.bankingapp.accountservice.service.TransactionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -23,31 +37,125 @@ import java.util.List;
 @RequiredArgsConstructor
 public class TransactionController {
 
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final int LEGACY_PAGE_SIZE = 500; // the largest page /page serves
+
     private final TransactionService transactionService;
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Create transaction (CREDIT/DEBIT)
      * POST /transactions
+     * With an Idempotency-Key header a retry returns the original response instead of posting again.
      */
     @PostMapping
-    @PreAuthorize("hasAuthority('USER')")
-    public ResponseEntity<TransactionResponseDto> createTransaction(@Valid @RequestBody TransactionRequestDto dto) {
-        TransactionResponseDto created = transactionService.createTransaction(dto);
+    @PreAuthorize("hasAnyAuthority('CUSTOMER', 'ADMIN')")
+    public ResponseEntity<TransactionResponseDto> createTransaction(
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @Valid @RequestBody TransactionRequestDto dto) {
+        IdempotencyService.Outcome<TransactionResponseDto> outcome = idempotencyService.execute("transaction",
+                idempotencyKey, dto, TransactionResponseDto.class,
+                inTransaction -> transactionService.createTransaction(dto, inTransaction));
+        TransactionResponseDto created = outcome.response();
         URI location = ServletUriComponentsBuilder.fromCurrentRequest()
                 .path("/{id}")
                 .buildAndExpand(created.getTransactionId())
                 .toUri();
-        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header("Idempotent-Replayed", String.valueOf(outcome.replayed()))
+                .body(created);
+    }
+
+    /**
+     * Post many CREDIT/DEBIT lines in one call (payroll, settlements)
+     * POST /transactions/batch
+     */
+    @PostMapping("/batch")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<BatchTransactionResponseDto> createTransactionBatch(@Valid @RequestBody BatchTransactionRequestDto dto) {
+        BatchTransactionResponseDto result = transactionService.postTransactionBatch(dto.getTransactions());
+        return ResponseEntity.ok(result);
     }
 
     /**
-     * Get transactions by account
+     * Get transactions by account: the newest {@value #LEGACY_PAGE_SIZE} only
      * GET /transactions/account/{accountId}
+     * Deprecated in favour of /page; when there is more, a {@code Link: <...>; rel="next"} header points there.
      */
+    @Deprecated
     @GetMapping("/account/{accountId}")
     public ResponseEntity<List<TransactionResponseDto>> getByAccount(@PathVariable("accountId") Long accountId) {
-        List<TransactionResponseDto> list = transactionService.getTransactionsByAccount(accountId);
-        return ResponseEntity.ok(list);
+        TransactionPageDto page = transactionService.getTransactionPage(accountId, null, null, LEGACY_PAGE_SIZE);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.isHasMore()) {
+            URI next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .path("/page")
+                    .queryParam("cursor", page.getNextCursor())
+                    .queryParam("limit", LEGACY_PAGE_SIZE)
+                    .build()
+                    .toUri();
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response.body(page.getItems());
+    }
+
+    /**
+     * Keyset-paginated history, newest first
+     * GET /transactions/account/{accountId}/page?cursor=&limit=&from=&to=&type=
+     */
+    @GetMapping("/account/{accountId}/page")
+    public ResponseEntity<TransactionPageDto> getPageByAccount(
+            @PathVariable("accountId") Long accountId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "50") int limit,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "type", required = false) TransactionType type) {
+        TransactionFilterDto filter = TransactionFilterDto.builder()
+                .from(from)
+                .to(to)
+                .transactionType(type)
+                .build();
+        return ResponseEntity.ok(transactionService.getTransactionPage(accountId, filter, cursor, limit));
+    }
+
+    /**
+     * Full history export as NDJSON (one TransactionResponseDto per line), streamed from a DB cursor
+     * GET /transactions/account/{accountId}/export?from=&to=&type=
+     */
+    @GetMapping(value = "/account/{accountId}/export", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportByAccount(
+            @PathVariable("accountId") Long accountId,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "type", required = false) TransactionType type) {
+        // checked here: once the body starts streaming the 200 is already sent
+        transactionService.ensureAccountExists(accountId);
+        TransactionFilterDto filter = TransactionFilterDto.builder()
+                .from(from)
+                .to(to)
+                .transactionType(type)
+                .build();
+
+        StreamingResponseBody body = out -> {
+            try {
+                transactionService.streamTransactionsByAccount(accountId, filter, dto -> {
+                    try {
+                        out.write(objectMapper.writeValueAsBytes(dto));
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(body);
     }
 
     /**
@@ -60,10 +168,20 @@ public class TransactionController {
         return ResponseEntity.ok(dto);
     }
 
+    /**
+     * Transfer between two accounts
+     * POST /transactions/transfer (Idempotency-Key supported, as for POST /transactions)
+     */
     @PostMapping("/transfer")
-    public ResponseEntity<TransferResponseDto> transfer(@Valid @RequestBody TransferRequestDto dto) {
-        TransferResponseDto resp = transactionService.transferBetweenAccounts(dto);
-        return ResponseEntity.ok(resp);
+    public ResponseEntity<TransferResponseDto> transfer(
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @Valid @RequestBody TransferRequestDto dto) {
+        IdempotencyService.Outcome<TransferResponseDto> outcome = idempotencyService.execute("transfer",
+                idempotencyKey, dto, TransferResponseDto.class,
+                inTransaction -> transactionService.transferBetweenAccounts(dto, inTransaction));
+        return ResponseEntity.ok()
+                .header("Idempotent-Replayed", String.valueOf(outcome.replayed()))
+                .body(outcome.response());
     }
 
 
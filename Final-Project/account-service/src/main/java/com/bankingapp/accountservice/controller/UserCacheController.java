@@ -0,0 +1,30 @@
+package com.bankingapp.accountservice.controller;
+
+import com.bankingapp.accountservice.client.CachedUserServiceClient;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Internal endpoint called by users-service after a user is updated or deleted
+ * (with the admin's token it was called with, as in card and loan).
+ */
+@RestController
+@RequestMapping("/internal/cache/users")
+@RequiredArgsConstructor
+public class UserCacheController {
+
+    private final CachedUserServiceClient cachedUserServiceClient;
+
+    /**
+     * Evict a cached user lookup
+     * DELETE /internal/cache/users/{userId}
+     */
+    @DeleteMapping("/{userId}")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Void> evictUser(@PathVariable Long userId) {
+        cachedUserServiceClient.evict(userId);
+        return ResponseEntity.noContent().build();
+    }
+}
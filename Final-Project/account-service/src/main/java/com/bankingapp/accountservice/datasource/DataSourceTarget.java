@@ -0,0 +1,6 @@
+package com.bankingapp.accountservice.datasource;
+
+public enum DataSourceTarget {
+    PRIMARY,
+    REPLICA
+}
@@ -0,0 +1,79 @@
+package com.bankingapp.accountservice.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Heartbeat-based replication lag guard.
+ * Each check reads the heartbeat the replica has applied, then writes a new one to the primary;
+ * lag is now minus the replica's heartbeat, so it includes up to one check interval.
+ * Works for any replication setup that copies the REPLICA_HEARTBEAT table (Data Guard, streaming).
+ * When the lag exceeds {@code max-lag}, or the replica cannot be read, read-only traffic falls back
+ * to the primary until a later check sees the replica caught up.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final long HEARTBEAT_ID = 1L;
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final Duration maxLag;
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, ReplicaRoutingDataSource routingDataSource,
+                             Duration maxLag, MeterRegistry meterRegistry) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.routingDataSource = routingDataSource;
+        this.maxLag = maxLag;
+        meterRegistry.gauge("datasource.replica.lag", lagMillis);
+        meterRegistry.gauge("datasource.replica.usable", routingDataSource, r -> r.isReplicaUsable() ? 1 : 0);
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.routing.heartbeat-interval-ms:1000}")
+    public void check() {
+        long now = System.currentTimeMillis();
+        long lag;
+        try {
+            Long beat = replica.queryForObject(
+                    "select BEAT_MILLIS from REPLICA_HEARTBEAT where HEARTBEAT_ID = ?", Long.class, HEARTBEAT_ID);
+            lag = beat != null ? Math.max(0, now - beat) : Long.MAX_VALUE;
+        } catch (DataAccessException e) {
+            lag = Long.MAX_VALUE; // no heartbeat replicated yet, or the replica is down
+        }
+        beat(now);
+
+        lagMillis.set(lag);
+        boolean usable = lag <= maxLag.toMillis();
+        if (usable != routingDataSource.isReplicaUsable()) {
+            log.warn("Replica {} (lag {} ms, max {} ms)", usable ? "back in rotation" : "taken out of rotation",
+                    lag == Long.MAX_VALUE ? "unknown" : lag, maxLag.toMillis());
+        }
+        routingDataSource.setReplicaUsable(usable);
+    }
+
+    private void beat(long now) {
+        try {
+            int updated = primary.update(
+                    "update REPLICA_HEARTBEAT set BEAT_MILLIS = ? where HEARTBEAT_ID = ?", now, HEARTBEAT_ID);
+            if (updated == 0) {
+                primary.update("insert into REPLICA_HEARTBEAT (HEARTBEAT_ID, BEAT_MILLIS) values (?, ?)",
+                        HEARTBEAT_ID, now);
+            }
+        } catch (DuplicateKeyException e) {
+            // another instance inserted the row first; its beat is as good as ours
+        } catch (DataAccessException e) {
+            log.warn("Failed to write replica heartbeat: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.bankingapp.accountservice.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary.
+ *
+ * The replica is skipped until the lag monitor has seen it caught up, while it is marked unusable,
+ * when the caller committed a write within the read-your-writes window, and inside {@link #onPrimary}.
+ * The window starts when the write commits, not when its connection is taken. The key is resolved when a
+ * connection is first used, so this must sit behind a LazyConnectionDataSourceProxy: the
+ * transaction's read-only flag is only set after the transaction manager asks for a connection.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = new ThreadLocal<>();
+
+    private final Cache<String, Boolean> recentWriters;
+    private final Counter primaryRoutes;
+    private final Counter replicaRoutes;
+    private volatile boolean replicaUsable;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica,
+                                    Duration readYourWritesWindow, MeterRegistry meterRegistry) {
+        setTargetDataSources(Map.of(DataSourceTarget.PRIMARY, primary, DataSourceTarget.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(readYourWritesWindow)
+                .maximumSize(100_000)
+                .build();
+        this.primaryRoutes = meterRegistry.counter("datasource.routing", "target", "primary");
+        this.replicaRoutes = meterRegistry.counter("datasource.routing", "target", "replica");
+    }
+
+    /**
+     * Runs {@code work} against the primary even in read-only transactions, for readers that must
+     * see a write that has just committed (e.g. after-commit listeners).
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        Boolean previous = FORCE_PRIMARY.get();
+        FORCE_PRIMARY.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                FORCE_PRIMARY.remove();
+            }
+        }
+    }
+
+    public void setReplicaUsable(boolean replicaUsable) {
+        this.replicaUsable = replicaUsable;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String caller = caller();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (caller != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        recentWriters.put(caller, Boolean.TRUE);
+                    }
+                });
+            }
+            primaryRoutes.increment();
+            return DataSourceTarget.PRIMARY;
+        }
+        boolean sticky = caller != null && recentWriters.getIfPresent(caller) != null;
+        if (!replicaUsable || sticky || FORCE_PRIMARY.get() != null) {
+            primaryRoutes.increment();
+            return DataSourceTarget.PRIMARY;
+        }
+        replicaRoutes.increment();
+        return DataSourceTarget.REPLICA;
+    }
+
+    private static String caller() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+}
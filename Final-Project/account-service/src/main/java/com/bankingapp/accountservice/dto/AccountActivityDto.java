@@ -0,0 +1,19 @@
+package com.bankingapp.accountservice.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * One push on GET /accounts/{id}/stream: the posted transaction and the signed change it made to the balance.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountActivityDto {
+    private Long accountId;
+    private TransactionResponseDto transaction;
+    private BigDecimal balanceDelta;
+}
@@ -0,0 +1,18 @@
+package com.bankingapp.accountservice.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountPageDto {
+    private List<AccountResponseDto> items;
+    private int page;
+    private int size;
+    private long totalElements;
+    private int totalPages;
+}
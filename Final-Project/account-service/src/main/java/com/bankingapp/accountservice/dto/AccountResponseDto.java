@@ -1,5 +1,6 @@
 package com.bankingapp.accountservice.dto;
 
+import com.bankingapp.accountservice.enums.AccountType;
 import lombok.*;
 
 import java.math.BigDecimal;
@@ -18,4 +19,18 @@ public class AccountResponseDto {
     private Long userId;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    // newest transaction already in balance; only set by GET /accounts/{id}, so stream clients can skip older pushes
+    private Long lastTransactionId;
+
+    // used by JPQL constructor projections so account listings never hydrate Account entities
+    public AccountResponseDto(Long accountId, String accountNumber, AccountType accountType, BigDecimal balance,
+                              Long userId, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(accountId, accountNumber, accountType, balance, userId, createdAt, updatedAt, null);
+    }
+
+    public AccountResponseDto(Long accountId, String accountNumber, AccountType accountType, BigDecimal balance,
+                              Long userId, LocalDateTime createdAt, LocalDateTime updatedAt, Long lastTransactionId) {
+        this(accountId, accountNumber, accountType != null ? accountType.toString() : null,
+                balance, userId, createdAt, updatedAt, lastTransactionId);
+    }
 }
@@ -0,0 +1,20 @@
+package com.bankingapp.accountservice.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchTransactionRequestDto {
+
+    // lines are validated one by one in the service so a bad line fails alone instead of the whole batch
+    @NotEmpty(message = "At least one transaction is required")
+    @Size(max = 50000, message = "A batch cannot exceed 50000 transactions")
+    private List<TransactionRequestDto> transactions;
+}
@@ -0,0 +1,19 @@
+package com.bankingapp.accountservice.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchTransactionResponseDto {
+    private int total;
+    private int succeeded;
+    private int failed;
+    private List<BatchTransactionResultDto> results;
+    private LocalDateTime timestamp;
+}
@@ -0,0 +1,20 @@
+package com.bankingapp.accountservice.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchTransactionResultDto {
+    private int index;
+    private Long accountId;
+    private boolean success;
+    private Long transactionId;
+    private BigDecimal balanceAfter;
+    private String errorCode;
+    private String message;
+}
@@ -0,0 +1,17 @@
+package com.bankingapp.accountservice.dto;
+
+import com.bankingapp.accountservice.enums.TransactionType;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionFilterDto {
+    private LocalDateTime from;   // inclusive
+    private LocalDateTime to;     // exclusive
+    private TransactionType transactionType;
+}
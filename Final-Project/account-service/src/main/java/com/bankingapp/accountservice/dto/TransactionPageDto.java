@@ -0,0 +1,16 @@
+package com.bankingapp.accountservice.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionPageDto {
+    private List<TransactionResponseDto> items;
+    private String nextCursor;   // pass back as ?cursor= to get the next (older) page; null on the last page
+    private boolean hasMore;
+}
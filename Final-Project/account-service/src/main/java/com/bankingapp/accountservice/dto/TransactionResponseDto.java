@@ -1,5 +1,6 @@
 package com.bankingapp.accountservice.dto;
 
+import com.bankingapp.accountservice.enums.TransactionType;
 import lombok.*;
 
 import java.math.BigDecimal;
@@ -16,4 +17,11 @@ public class TransactionResponseDto {
     private BigDecimal amount;
     private String description;
     private LocalDateTime transactionDate;
+
+    // used by JPQL constructor projections so history reads never hydrate Transaction entities
+    public TransactionResponseDto(Long transactionId, TransactionType transactionType, BigDecimal amount,
+                                  String description, LocalDateTime transactionDate) {
+        this(transactionId, transactionType != null ? transactionType.toString() : null,
+                amount, description, transactionDate);
+    }
 }
@@ -11,7 +11,8 @@ import java.util.List;
 
 @Entity
 @Table(name = "ACCOUNTS", indexes = {
-        @Index(name = "IDX_ACCOUNT_NUMBER", columnList = "ACCOUNT_NUMBER")
+        @Index(name = "IDX_ACCOUNT_NUMBER", columnList = "ACCOUNT_NUMBER"),
+        @Index(name = "IDX_ACCOUNT_USER", columnList = "USER_ID")
 })
 @Getter
 @Setter
@@ -21,7 +22,7 @@ import java.util.List;
 public class Account {
 
     @Id
-    @SequenceGenerator(name = "acct_seq", sequenceName = "ACCOUNTS_SEQ", allocationSize = 1)
+    @SequenceGenerator(name = "acct_seq", sequenceName = "ACCOUNTS_SEQ", allocationSize = 50)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "acct_seq")
     @Column(name = "ACCOUNT_ID")
     private Long accountId;
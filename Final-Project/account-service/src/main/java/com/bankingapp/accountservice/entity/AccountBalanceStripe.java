@@ -0,0 +1,38 @@
+package com.bankingapp.accountservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * One of N pending-credit rows for a hot account. Credits land on a random stripe so
+ * concurrent writers spread over N row locks instead of queuing on ACCOUNTS.BALANCE;
+ * the compactor folds the stripes back into the account balance.
+ */
+@Entity
+@Table(name = "ACCOUNT_BALANCE_STRIPES", uniqueConstraints = {
+        @UniqueConstraint(name = "UK_STRIPE_ACCOUNT_NO", columnNames = {"ACCOUNT_ID", "STRIPE_NO"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountBalanceStripe {
+
+    @Id
+    @SequenceGenerator(name = "stripe_seq", sequenceName = "ACCOUNT_STRIPES_SEQ", allocationSize = 50)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stripe_seq")
+    @Column(name = "STRIPE_ID")
+    private Long stripeId;
+
+    @Column(name = "ACCOUNT_ID", nullable = false)
+    private Long accountId;
+
+    @Column(name = "STRIPE_NO", nullable = false)
+    private Integer stripeNo;
+
+    @Column(name = "PENDING_AMOUNT", precision = 19, scale = 2, nullable = false)
+    private BigDecimal pendingAmount;
+}
@@ -0,0 +1,66 @@
+package com.bankingapp.accountservice.entity;
+
+import com.bankingapp.accountservice.enums.IdempotencyStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of one Idempotency-Key for a money-moving POST. The id is operation + caller + key,
+ * so inserting it is the claim: a concurrent retry with the same key hits the primary key.
+ * While IN_PROGRESS, EXPIRES_AT is the end of the claim's lease and CLAIM_TOKEN names its holder;
+ * once COMPLETED it is the end of the key's ttl.
+ */
+@Entity
+@Table(name = "IDEMPOTENCY_KEYS", indexes = {
+        @Index(name = "IDX_IDEMPOTENCY_EXPIRES", columnList = "EXPIRES_AT")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyRecord implements Persistable<String> {
+
+    @Id
+    @Column(name = "IDEMPOTENCY_ID", length = 300)
+    private String id;
+
+    @Column(name = "REQUEST_HASH", length = 64, nullable = false)
+    private String requestHash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "STATUS", length = 20, nullable = false)
+    private IdempotencyStatus status;
+
+    @Lob
+    @Column(name = "RESPONSE_BODY")
+    private String responseBody;
+
+    @Column(name = "CREATED_AT", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "EXPIRES_AT", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "CLAIM_TOKEN", length = 36)
+    private String claimToken;
+
+    // assigned id: without this, save() would merge (select + update) instead of inserting
+    @Transient
+    @Builder.Default
+    private boolean newRecord = true;
+
+    @Override
+    public boolean isNew() {
+        return newRecord;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        newRecord = false;
+    }
+}
@@ -0,0 +1,25 @@
+package com.bankingapp.accountservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Single-row heartbeat written to the primary and read back from the replica to measure
+ * replication lag (see ReplicaLagMonitor). Mapped only so ddl-auto creates the table.
+ */
+@Entity
+@Table(name = "REPLICA_HEARTBEAT")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReplicaHeartbeat {
+
+    @Id
+    @Column(name = "HEARTBEAT_ID")
+    private Long heartbeatId;
+
+    @Column(name = "BEAT_MILLIS", nullable = false)
+    private Long beatMillis;
+}
@@ -9,7 +9,9 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "TRANSACTIONS", indexes = {
-        @Index(name = "IDX_TX_ACCOUNT", columnList = "ACCOUNT_ID")
+        @Index(name = "IDX_TX_ACCOUNT", columnList = "ACCOUNT_ID"),
+        // backs keyset pagination: ACCOUNT_ID = ? ORDER BY TRANSACTION_DATE DESC, TRANSACTION_ID DESC
+        @Index(name = "IDX_TX_ACCOUNT_DATE_ID", columnList = "ACCOUNT_ID, TRANSACTION_DATE, TRANSACTION_ID")
 })
 @Getter
 @Setter
@@ -19,7 +21,7 @@ import java.time.LocalDateTime;
 public class Transaction {
 
     @Id
-    @SequenceGenerator(name = "tx_seq", sequenceName = "TRANSACTIONS_SEQ", allocationSize = 1)
+    @SequenceGenerator(name = "tx_seq", sequenceName = "TRANSACTIONS_SEQ", allocationSize = 50)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tx_seq")
     @Column(name = "TRANSACTION_ID")
     private Long transactionId;
@@ -0,0 +1,6 @@
+package com.bankingapp.accountservice.enums;
+
+public enum IdempotencyStatus {
+    IN_PROGRESS,
+    COMPLETED
+}
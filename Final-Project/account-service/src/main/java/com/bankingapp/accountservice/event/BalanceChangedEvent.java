@@ -0,0 +1,14 @@
+package com.bankingapp.accountservice.event;
+
+import java.time.Instant;
+
+/**
+ * Published inside the write transaction whenever an account's balance (or existence) changes.
+ * Listeners that must only see committed state use {@code @TransactionalEventListener}.
+ */
+public record BalanceChangedEvent(Long accountId, Long userId, Instant occurredAt) {
+
+    public static BalanceChangedEvent of(Long accountId, Long userId) {
+        return new BalanceChangedEvent(accountId, userId, Instant.now());
+    }
+}
@@ -0,0 +1,12 @@
+package com.bankingapp.accountservice.event;
+
+import com.bankingapp.accountservice.dto.TransactionResponseDto;
+
+import java.math.BigDecimal;
+
+/**
+ * Published inside the write transaction for every Transaction row it posts.
+ * {@code balanceDelta} is signed: positive for credits, negative for debits.
+ */
+public record TransactionPostedEvent(Long accountId, TransactionResponseDto transaction, BigDecimal balanceDelta) {
+}
@@ -21,6 +21,9 @@ public enum ErrorCode {
     TRANSFER_SAME_ACCOUNT("ERR_106", "From and To account cannot be same", HttpStatus.BAD_REQUEST),
     TRANSFER_FAILED("ERR_107", "Transfer failed due to concurrent update — please retry", HttpStatus.CONFLICT),
     SERVICE_UNAVAILABLE("ERR_105", "Dependent service unavailable", HttpStatus.SERVICE_UNAVAILABLE),
+    IDEMPOTENCY_KEY_REUSED("ERR_108", "Idempotency-Key was already used with a different request", HttpStatus.UNPROCESSABLE_ENTITY),
+    IDEMPOTENCY_IN_PROGRESS("ERR_109", "A request with this Idempotency-Key is still being processed — retry shortly", HttpStatus.CONFLICT),
+    ACCESS_DENIED("ERR_110", "Access denied", HttpStatus.FORBIDDEN),
     ;
 
     private final String code;
@@ -2,6 +2,7 @@ package com.bankingapp.accountservice.exception;
 
 import org.slf4j.MDC;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
@@ -40,6 +41,20 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(errorCode.getHttpStatus()).body(response);
     }
 
+    // @PreAuthorize failures; without this the catch-all below would turn them into a 500
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<ErrorResponse> handleAccessDenied(AccessDeniedException ex) {
+        ErrorCode errorCode = ErrorCode.ACCESS_DENIED;
+        ErrorResponse response = ErrorResponse.builder()
+                .errorCode(errorCode.getCode())
+                .message(errorCode.getMessage())
+                .traceId(getOrGenerateTraceId())
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        return ResponseEntity.status(errorCode.getHttpStatus()).body(response);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
         String traceId = getOrGenerateTraceId();
@@ -56,12 +71,10 @@ public class GlobalExceptionHandler {
     }
 
     private String getOrGenerateTraceId() {
+        // set by Micrometer Tracing for every traced request; don't put a fallback in the MDC,
+        // it would outlive the request on the pooled thread
         String traceId = MDC.get("traceId");
-        if (traceId == null) {
-            traceId = UUID.randomUUID().toString();
-            MDC.put("traceId", traceId);
-        }
-        return traceId;
+        return traceId != null ? traceId : UUID.randomUUID().toString();
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -0,0 +1,70 @@
+package com.bankingapp.accountservice.metrics;
+
+import feign.Capability;
+import feign.Client;
+import feign.Request;
+import feign.RequestTemplate;
+import feign.Response;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every Feign call as {@code feign.client.requests{client,method,status,outcome}} and adds the
+ * elapsed time to the caller's remote total in {@link CallTimings}.
+ * Spring Cloud OpenFeign applies Capability beans to every client.
+ */
+@Component
+@RequiredArgsConstructor
+public class FeignMetricsCapability implements Capability {
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public Client enrich(Client client) {
+        return (request, options) -> {
+            long started = System.nanoTime();
+            String status = "IO_ERROR";
+            try {
+                Response response = client.execute(request, options);
+                status = String.valueOf(response.status());
+                return response;
+            } catch (CallNotPermittedException | BulkheadFullException e) {
+                status = "REJECTED"; // fast-failed by FeignResilienceCapability, never sent
+                throw e;
+            } finally {
+                long elapsed = System.nanoTime() - started;
+                CallTimings.addRemote(elapsed);
+                timer(request, status).record(elapsed, TimeUnit.NANOSECONDS);
+            }
+        };
+    }
+
+    private Timer timer(Request request, String status) {
+        RequestTemplate template = request.requestTemplate();
+        String clientName = template != null && template.feignTarget() != null
+                ? template.feignTarget().name() : "unknown";
+        String method = template != null && template.methodMetadata() != null
+                ? template.methodMetadata().configKey() : "unknown";
+        return Timer.builder("feign.client.requests")
+                .tag("client", clientName)
+                .tag("method", method)
+                .tag("status", status)
+                .tag("outcome", outcome(status))
+                .register(meterRegistry);
+    }
+
+    private static String outcome(String status) {
+        return switch (status.charAt(0)) {
+            case '1', '2', '3' -> "SUCCESS";
+            case '4' -> "CLIENT_ERROR";
+            case '5' -> "SERVER_ERROR";
+            default -> status;
+        };
+    }
+}
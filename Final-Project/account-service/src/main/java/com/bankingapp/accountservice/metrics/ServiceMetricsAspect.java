@@ -0,0 +1,104 @@
+package com.bankingapp.accountservice.metrics;
+
+import com.bankingapp.accountservice.exception.ServiceException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public method of a {@code @Service} bean:
+ * <ul>
+ *   <li>{@code service.method{class,method,outcome}} - wall time; outcome is SUCCESS or the ErrorCode name</li>
+ *   <li>{@code service.method.db{class,method}} - JDBC time spent inside the call</li>
+ *   <li>{@code service.method.remote{class,method}} - Feign time spent inside the call</li>
+ * </ul>
+ * Runs outside the transaction advice, so commit-time flushes count towards the method.
+ * Histograms are switched on in application.yml (management.metrics.distribution.percentiles-histogram).
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceMetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, MethodMeters> meters = new ConcurrentHashMap<>();
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("within(@org.springframework.stereotype.Service *) && execution(public * *(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodMeters methodMeters = meters.computeIfAbsent(
+                ((MethodSignature) joinPoint.getSignature()).getMethod(),
+                method -> new MethodMeters(ClassUtils.getUserClass(joinPoint.getTarget()).getSimpleName(), method.getName()));
+
+        long db = CallTimings.dbNanos();
+        long remote = CallTimings.remoteNanos();
+        long started = System.nanoTime();
+        String outcome = MethodMeters.SUCCESS;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = outcome(e);
+            throw e;
+        } finally {
+            methodMeters.timer(outcome).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            methodMeters.db.record(CallTimings.dbNanos() - db, TimeUnit.NANOSECONDS);
+            methodMeters.remote.record(CallTimings.remoteNanos() - remote, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static String outcome(Throwable e) {
+        if (e instanceof ServiceException serviceException && serviceException.getErrorCode() != null) {
+            return serviceException.getErrorCode().name();
+        }
+        return e.getClass().getSimpleName();
+    }
+
+    private final class MethodMeters {
+
+        private static final String SUCCESS = "SUCCESS";
+
+        private final String className;
+        private final String methodName;
+        private final Timer success;
+        private final Timer db;
+        private final Timer remote;
+        private final Map<String, Timer> failures = new ConcurrentHashMap<>();
+
+        private MethodMeters(String className, String methodName) {
+            this.className = className;
+            this.methodName = methodName;
+            this.success = outcomeTimer(SUCCESS);
+            this.db = Timer.builder("service.method.db")
+                    .tag("class", className).tag("method", methodName)
+                    .register(meterRegistry);
+            this.remote = Timer.builder("service.method.remote")
+                    .tag("class", className).tag("method", methodName)
+                    .register(meterRegistry);
+        }
+
+        Timer timer(String outcome) {
+            return SUCCESS.equals(outcome) ? success : failures.computeIfAbsent(outcome, this::outcomeTimer);
+        }
+
+        private Timer outcomeTimer(String outcome) {
+            return Timer.builder("service.method")
+                    .tag("class", className).tag("method", methodName).tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+    }
+}
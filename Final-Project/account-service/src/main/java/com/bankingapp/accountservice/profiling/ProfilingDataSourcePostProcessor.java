@@ -0,0 +1,30 @@
+package com.bankingapp.accountservice.profiling;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the DataSource JPA and JdbcTemplate use (the bean named "dataSource") in a {@link ProfilingDataSource}.
+ * The pools behind it are left alone, so pool metrics and the replica lag monitor are unaffected.
+ */
+@Configuration
+public class ProfilingDataSourcePostProcessor {
+
+    @Bean
+    public static BeanPostProcessor profilingDataSourceWrapper(ObjectProvider<SqlProfiler> profiler) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof ProfilingDataSource)) {
+                    return new ProfilingDataSource(dataSource, profiler.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
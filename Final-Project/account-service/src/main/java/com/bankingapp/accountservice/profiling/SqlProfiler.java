@@ -0,0 +1,254 @@
+package com.bankingapp.accountservice.profiling;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Sampled, per-endpoint SQL statistics, replacing show-sql / org.hibernate.SQL logging.
+ *
+ * A fraction ({@code sql-profiler.sample-rate}) of HTTP requests is sampled by {@link SqlProfilingFilter};
+ * only connections obtained during a sampled request are wrapped by {@link ProfilingDataSource}, so
+ * with sampling off the only cost is one ThreadLocal read per connection checkout.
+ * Statements are grouped by fingerprint (literals and IN lists collapsed). A SELECT fingerprint that
+ * runs {@code sql-profiler.n-plus-one-threshold} or more times in one request is reported as a likely N+1.
+ */
+@Component
+public class SqlProfiler {
+
+    private static final int MAX_ENDPOINTS = 200;
+    private static final int MAX_FINGERPRINTS_PER_ENDPOINT = 200;
+    private static final int MAX_CACHED_FINGERPRINTS = 10_000;
+    private static final int RESERVOIR_SIZE = 1024;
+    private static final int TOP_STATEMENTS = 20;
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final ThreadLocal<RequestSample> current = new ThreadLocal<>();
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private final Map<String, NPlusOneStats> nPlusOne = new ConcurrentHashMap<>();
+    private final Map<String, String> fingerprints = new ConcurrentHashMap<>();
+    private final AtomicLong sampledRequests = new AtomicLong();
+
+    private final int nPlusOneThreshold;
+    private volatile double sampleRate;
+
+    public SqlProfiler(@Value("${sql-profiler.sample-rate:0.0}") double sampleRate,
+                       @Value("${sql-profiler.n-plus-one-threshold:5}") int nPlusOneThreshold) {
+        this.nPlusOneThreshold = nPlusOneThreshold;
+        setSampleRate(sampleRate);
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = Math.max(0.0, Math.min(1.0, sampleRate));
+    }
+
+    // ----- request lifecycle (SqlProfilingFilter) ----- //
+
+    boolean beginRequest() {
+        double rate = sampleRate;
+        if (rate <= 0.0 || (rate < 1.0 && ThreadLocalRandom.current().nextDouble() >= rate)) {
+            return false;
+        }
+        current.set(new RequestSample());
+        return true;
+    }
+
+    void endRequest(String endpoint) {
+        RequestSample sample = current.get();
+        current.remove();
+        if (sample == null) {
+            return;
+        }
+        sampledRequests.incrementAndGet();
+
+        EndpointStats stats = endpoints.get(endpoint);
+        if (stats == null) {
+            if (endpoints.size() >= MAX_ENDPOINTS) {
+                return;
+            }
+            stats = endpoints.computeIfAbsent(endpoint, e -> new EndpointStats());
+        }
+        stats.requests.incrementAndGet();
+
+        Map<String, Integer> perRequest = new HashMap<>();
+        for (Execution execution : sample.executions) {
+            stats.record(execution);
+            perRequest.merge(execution.fingerprint, 1, Integer::sum);
+        }
+        perRequest.forEach((fingerprint, times) -> {
+            if (times >= nPlusOneThreshold && fingerprint.startsWith("select")) {
+                nPlusOne.computeIfAbsent(endpoint + " " + fingerprint, k -> new NPlusOneStats(endpoint, fingerprint))
+                        .record(times);
+            }
+        });
+    }
+
+    // ----- statement hooks (ProfilingDataSource) ----- //
+
+    boolean isSampling() {
+        return current.get() != null;
+    }
+
+    Execution recordExecution(String sql, long nanos) {
+        RequestSample sample = current.get();
+        if (sample == null || sql == null) {
+            return null;
+        }
+        Execution execution = new Execution(fingerprint(sql), nanos);
+        sample.executions.add(execution);
+        return execution;
+    }
+
+    // ----- reporting (SqlProfilerEndpoint) ----- //
+
+    public Report report() {
+        List<EndpointReport> endpointReports = new ArrayList<>();
+        endpoints.forEach((endpoint, stats) -> {
+            List<StatementReport> statements = new ArrayList<>();
+            stats.statements.forEach((fingerprint, s) -> statements.add(s.toReport(fingerprint)));
+            statements.sort(Comparator.comparingDouble(StatementReport::totalMillis).reversed());
+            endpointReports.add(new EndpointReport(endpoint, stats.requests.get(),
+                    statements.subList(0, Math.min(TOP_STATEMENTS, statements.size()))));
+        });
+        endpointReports.sort(Comparator.comparing(EndpointReport::endpoint));
+
+        List<NPlusOneReport> suspects = new ArrayList<>();
+        nPlusOne.values().forEach(n -> suspects.add(n.toReport()));
+        suspects.sort(Comparator.comparingInt(NPlusOneReport::maxPerRequest).reversed());
+
+        return new Report(sampleRate, sampledRequests.get(), endpointReports, suspects);
+    }
+
+    public void reset() {
+        endpoints.clear();
+        nPlusOne.clear();
+        sampledRequests.set(0);
+    }
+
+    String fingerprint(String sql) {
+        String cached = fingerprints.get(sql);
+        if (cached != null) {
+            return cached;
+        }
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("in (...)");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").trim().toLowerCase(Locale.ROOT);
+        if (fingerprints.size() < MAX_CACHED_FINGERPRINTS) {
+            fingerprints.put(sql, normalized);
+        }
+        return normalized;
+    }
+
+    // ----- state ----- //
+
+    private static final class RequestSample {
+        private final List<Execution> executions = new ArrayList<>();
+    }
+
+    static final class Execution {
+        private final String fingerprint;
+        private final long nanos;
+        private long rows;
+
+        private Execution(String fingerprint, long nanos) {
+            this.fingerprint = fingerprint;
+            this.nanos = nanos;
+        }
+
+        void addRow() {
+            rows++;
+        }
+    }
+
+    private static final class EndpointStats {
+        private final AtomicLong requests = new AtomicLong();
+        private final Map<String, StatementStats> statements = new ConcurrentHashMap<>();
+
+        void record(Execution execution) {
+            StatementStats stats = statements.get(execution.fingerprint);
+            if (stats == null) {
+                if (statements.size() >= MAX_FINGERPRINTS_PER_ENDPOINT) {
+                    return;
+                }
+                stats = statements.computeIfAbsent(execution.fingerprint, f -> new StatementStats());
+            }
+            stats.record(execution.nanos, execution.rows);
+        }
+    }
+
+    private static final class StatementStats {
+        private final long[] reservoir = new long[RESERVOIR_SIZE];
+        private long count;
+        private long totalNanos;
+        private long rows;
+
+        synchronized void record(long nanos, long rowCount) {
+            reservoir[(int) (count % RESERVOIR_SIZE)] = nanos;
+            count++;
+            totalNanos += nanos;
+            rows += rowCount;
+        }
+
+        synchronized StatementReport toReport(String fingerprint) {
+            int size = (int) Math.min(count, RESERVOIR_SIZE);
+            long[] recent = Arrays.copyOf(reservoir, size);
+            Arrays.sort(recent);
+            long p99 = size == 0 ? 0 : recent[Math.max(0, (int) Math.ceil(size * 0.99) - 1)];
+            return new StatementReport(fingerprint, count, totalNanos / 1_000_000.0, p99 / 1_000_000.0, rows);
+        }
+    }
+
+    private static final class NPlusOneStats {
+        private final String endpoint;
+        private final String fingerprint;
+        private long occurrences;
+        private int maxPerRequest;
+
+        private NPlusOneStats(String endpoint, String fingerprint) {
+            this.endpoint = endpoint;
+            this.fingerprint = fingerprint;
+        }
+
+        synchronized void record(int times) {
+            occurrences++;
+            maxPerRequest = Math.max(maxPerRequest, times);
+        }
+
+        synchronized NPlusOneReport toReport() {
+            return new NPlusOneReport(endpoint, fingerprint, occurrences, maxPerRequest);
+        }
+    }
+
+    public record Report(double sampleRate, long sampledRequests,
+                         List<EndpointReport> endpoints, List<NPlusOneReport> nPlusOneSuspects) {
+    }
+
+    public record EndpointReport(String endpoint, long requests, List<StatementReport> statements) {
+    }
+
+    public record StatementReport(String fingerprint, long count, double totalMillis, double p99Millis, long rows) {
+    }
+
+    public record NPlusOneReport(String endpoint, String fingerprint, long requests, int maxPerRequest) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.bankingapp.accountservice.profiling;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * /actuator/sqlprofile: GET for the per-endpoint report and N+1 suspects,
+ * POST {"sampleRate": 0.05} to change sampling at runtime, DELETE to clear the collected stats.
+ * ADMIN tokens only (SecurityConfig).
+ */
+@Component
+@Endpoint(id = "sqlprofile")
+@RequiredArgsConstructor
+public class SqlProfilerEndpoint {
+
+    private final SqlProfiler profiler;
+
+    @ReadOperation
+    public SqlProfiler.Report report() {
+        return profiler.report();
+    }
+
+    @WriteOperation
+    public SqlProfiler.Report sampleRate(double sampleRate) {
+        profiler.setSampleRate(sampleRate);
+        return profiler.report();
+    }
+
+    @DeleteOperation
+    public void reset() {
+        profiler.reset();
+    }
+}
@@ -0,0 +1,34 @@
+package com.bankingapp.accountservice.repository;
+
+import com.bankingapp.accountservice.entity.AccountBalanceStripe;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface AccountBalanceStripeRepository extends JpaRepository<AccountBalanceStripe, Long> {
+
+    List<AccountBalanceStripe> findByAccountId(Long accountId);
+
+    @Modifying
+    @Query("update AccountBalanceStripe s set s.pendingAmount = s.pendingAmount + :amount " +
+            "where s.accountId = :accountId and s.stripeNo = :stripeNo")
+    int addToStripe(@Param("accountId") Long accountId,
+                    @Param("stripeNo") Integer stripeNo,
+                    @Param("amount") BigDecimal amount);
+
+    @Query("select coalesce(sum(s.pendingAmount), 0) from AccountBalanceStripe s where s.accountId = :accountId")
+    BigDecimal sumPending(@Param("accountId") Long accountId);
+
+    @Query("select distinct s.accountId from AccountBalanceStripe s where s.pendingAmount <> 0")
+    List<Long> findAccountIdsWithPendingCredits();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from AccountBalanceStripe s where s.accountId = :accountId order by s.stripeNo")
+    List<AccountBalanceStripe> findByAccountIdForUpdate(@Param("accountId") Long accountId);
+}
@@ -1,10 +1,63 @@
 package com.bankingapp.accountservice.repository;
 
+import com.bankingapp.accountservice.dto.AccountResponseDto;
 import com.bankingapp.accountservice.entity.Account;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface AccountRepository extends JpaRepository<Account, Long> {
     Optional<Account> findByAccountNumber(String accountNumber);
+
+    // SELECT ... FOR UPDATE WAIT 3; callers must lock multiple rows in ascending accountId order
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "3000"))
+    @Query("select a from Account a where a.accountId = :id")
+    Optional<Account> findByIdForUpdate(@Param("id") Long id);
+
+    // batch form of findByIdForUpdate: rows are locked in ascending accountId order; at most 1000 ids
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "3000"))
+    @Query("select a from Account a where a.accountId in :ids order by a.accountId")
+    List<Account> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    // served from IDX_ACCOUNT_USER; DTO projection, no entities in the persistence context
+    @Query("select new com.bankingapp.accountservice.dto.AccountResponseDto(" +
+            "a.accountId, a.accountNumber, a.accountType, a.balance, a.userId, a.createdAt, a.updatedAt) " +
+            "from Account a where a.userId = :userId order by a.accountId")
+    List<AccountResponseDto> findSummariesByUserId(@Param("userId") Long userId);
+
+    @Query("select new com.bankingapp.accountservice.dto.AccountResponseDto(" +
+            "a.accountId, a.accountNumber, a.accountType, a.balance, a.userId, a.createdAt, a.updatedAt) " +
+            "from Account a where a.accountId = :id")
+    Optional<AccountResponseDto> findSummaryById(@Param("id") Long id);
+
+    // balance and newest transaction id come from one statement, so they describe the same commit
+    @Query("select new com.bankingapp.accountservice.dto.AccountResponseDto(" +
+            "a.accountId, a.accountNumber, a.accountType, a.balance, a.userId, a.createdAt, a.updatedAt, " +
+            "(select max(t.transactionId) from Transaction t where t.account = a)) " +
+            "from Account a where a.accountId = :id")
+    Optional<AccountResponseDto> findSummaryWithLastTransactionById(@Param("id") Long id);
+
+    // one IN query for a batch lookup; at most 1000 ids (Oracle's IN-list limit)
+    @Query("select new com.bankingapp.accountservice.dto.AccountResponseDto(" +
+            "a.accountId, a.accountNumber, a.accountType, a.balance, a.userId, a.createdAt, a.updatedAt) " +
+            "from Account a where a.accountId in :ids order by a.accountId")
+    List<AccountResponseDto> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(value = "select new com.bankingapp.accountservice.dto.AccountResponseDto(" +
+            "a.accountId, a.accountNumber, a.accountType, a.balance, a.userId, a.createdAt, a.updatedAt) " +
+            "from Account a order by a.accountId",
+            countQuery = "select count(a) from Account a")
+    Page<AccountResponseDto> findAllSummaries(Pageable pageable);
 }
@@ -0,0 +1,47 @@
+package com.bankingapp.accountservice.repository;
+
+import com.bankingapp.accountservice.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+
+    /**
+     * Stores the response of the claim held under {@code claimToken}. Joins the posting's transaction,
+     * so the response commits or rolls back with it; 0 means the claim was taken over.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Modifying
+    @Query("update IdempotencyRecord r set r.status = com.bankingapp.accountservice.enums.IdempotencyStatus.COMPLETED, " +
+            "r.responseBody = :body, r.expiresAt = :expiresAt, r.claimToken = null " +
+            "where r.id = :id and r.claimToken = :claimToken " +
+            "and r.status = com.bankingapp.accountservice.enums.IdempotencyStatus.IN_PROGRESS")
+    int complete(@Param("id") String id, @Param("claimToken") String claimToken,
+                 @Param("body") String body, @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Hands a key to a new claim for {@code requestHash}: an IN_PROGRESS key whose lease ran out, or a COMPLETED
+     * key past its TTL that the purge has not deleted yet. 0 if the key is still leased or unexpired.
+     */
+    @Modifying
+    @Query("update IdempotencyRecord r set r.status = com.bankingapp.accountservice.enums.IdempotencyStatus.IN_PROGRESS, " +
+            "r.requestHash = :requestHash, r.responseBody = null, " +
+            "r.claimToken = :claimToken, r.createdAt = :now, r.expiresAt = :leaseUntil " +
+            "where r.id = :id and r.expiresAt < :now")
+    int takeOver(@Param("id") String id, @Param("requestHash") String requestHash, @Param("claimToken") String claimToken,
+                 @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.id = :id and r.claimToken = :claimToken")
+    int release(@Param("id") String id, @Param("claimToken") String claimToken);
+}
@@ -1,10 +1,62 @@
 package com.bankingapp.accountservice.repository;
 
+import com.bankingapp.accountservice.dto.TransactionResponseDto;
 import com.bankingapp.accountservice.entity.Transaction;
+import com.bankingapp.accountservice.enums.TransactionType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
     List<Transaction> findByAccount_AccountId(Long accountId);
+
+    /**
+     * One keyset page, newest first. The cursor is the (date, id) of the last row already seen;
+     * pass Pageable.ofSize(limit) so no count query is issued.
+     */
+    @Query("select new com.bankingapp.accountservice.dto.TransactionResponseDto(" +
+            "t.transactionId, t.transactionType, t.amount, t.description, t.transactionDate) " +
+            "from Transaction t " +
+            "where t.account.accountId = :accountId " +
+            "and t.transactionDate >= :from and t.transactionDate < :to " +
+            "and t.transactionType in :types " +
+            "and (t.transactionDate < :cursorDate " +
+            "     or (t.transactionDate = :cursorDate and t.transactionId < :cursorId)) " +
+            "order by t.transactionDate desc, t.transactionId desc")
+    List<TransactionResponseDto> findPageByAccount(@Param("accountId") Long accountId,
+                                                   @Param("from") LocalDateTime from,
+                                                   @Param("to") LocalDateTime to,
+                                                   @Param("types") Collection<TransactionType> types,
+                                                   @Param("cursorDate") LocalDateTime cursorDate,
+                                                   @Param("cursorId") Long cursorId,
+                                                   Pageable pageable);
+
+    /**
+     * Full history as a forward-only cursor for exports. Must be consumed (and closed)
+     * inside a transaction; rows are DTO projections, so the persistence context stays empty.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.bankingapp.accountservice.dto.TransactionResponseDto(" +
+            "t.transactionId, t.transactionType, t.amount, t.description, t.transactionDate) " +
+            "from Transaction t " +
+            "where t.account.accountId = :accountId " +
+            "and t.transactionDate >= :from and t.transactionDate < :to " +
+            "and t.transactionType in :types " +
+            "order by t.transactionDate desc, t.transactionId desc")
+    Stream<TransactionResponseDto> streamByAccount(@Param("accountId") Long accountId,
+                                                   @Param("from") LocalDateTime from,
+                                                   @Param("to") LocalDateTime to,
+                                                   @Param("types") Collection<TransactionType> types);
 }
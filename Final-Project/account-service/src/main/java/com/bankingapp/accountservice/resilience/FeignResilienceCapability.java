@@ -0,0 +1,244 @@
+package com.bankingapp.accountservice.resilience;
+
+import feign.Capability;
+import feign.Client;
+import feign.Request;
+import feign.RequestTemplate;
+import feign.Response;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Isolates every Feign client (by {@code @FeignClient} name) from a slow or failing dependency:
+ * <ul>
+ *   <li>a bulkhead caps concurrent calls; calls beyond it fail at once with {@link BulkheadFullException}</li>
+ *   <li>a circuit breaker counts 5xx, I/O errors and timeouts; while open, calls fail at once with
+ *       {@link io.github.resilience4j.circuitbreaker.CallNotPermittedException}</li>
+ *   <li>the read timeout follows the client's observed p99 (see {@link AdaptiveTimeout}), capped by
+ *       {@code feign-resilience.timeout.max} and the client's own read timeout</li>
+ *   <li>optionally, a GET still unanswered after the observed p95 is sent a second time and the first
+ *       answer wins; the call holds its bulkhead permit until both attempts have finished, and when the
+ *       hedge pool is full the GET simply goes unhedged</li>
+ * </ul>
+ * Both rejections are unchecked and reach the caller as thrown; callers map them to 503.
+ * Ordered first so it sits innermost: metrics and tracing see one call per Feign invocation.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class FeignResilienceCapability implements Capability {
+
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final BulkheadRegistry bulkheads;
+    private final ExecutorService hedgeExecutor;
+    private final MeterRegistry meterRegistry;
+    private final long minTimeoutMillis;
+    private final long maxTimeoutMillis;
+    private final double timeoutMultiplier;
+    private final boolean hedgeEnabled;
+    private final long minHedgeDelayMillis;
+    private final Map<String, ClientGuard> guards = new ConcurrentHashMap<>();
+
+    public FeignResilienceCapability(CircuitBreakerRegistry circuitBreakers,
+                                     BulkheadRegistry bulkheads,
+                                     @Qualifier("hedgeExecutor") ExecutorService hedgeExecutor,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${feign-resilience.timeout.min:200ms}") Duration minTimeout,
+                                     @Value("${feign-resilience.timeout.max:5s}") Duration maxTimeout,
+                                     @Value("${feign-resilience.timeout.multiplier:2.0}") double timeoutMultiplier,
+                                     @Value("${feign-resilience.hedge.enabled:false}") boolean hedgeEnabled,
+                                     @Value("${feign-resilience.hedge.min-delay:50ms}") Duration minHedgeDelay) {
+        this.circuitBreakers = circuitBreakers;
+        this.bulkheads = bulkheads;
+        this.hedgeExecutor = hedgeExecutor;
+        this.meterRegistry = meterRegistry;
+        this.minTimeoutMillis = minTimeout.toMillis();
+        this.maxTimeoutMillis = maxTimeout.toMillis();
+        this.timeoutMultiplier = timeoutMultiplier;
+        this.hedgeEnabled = hedgeEnabled;
+        this.minHedgeDelayMillis = minHedgeDelay.toMillis();
+    }
+
+    @Override
+    public Client enrich(Client client) {
+        return (request, options) -> guards.computeIfAbsent(clientName(request), ClientGuard::new)
+                .execute(client, request, options);
+    }
+
+    private static String clientName(Request request) {
+        RequestTemplate template = request.requestTemplate();
+        return template != null && template.feignTarget() != null ? template.feignTarget().name() : "unknown";
+    }
+
+    private final class ClientGuard {
+
+        private final Bulkhead bulkhead;
+        private final CircuitBreaker circuitBreaker;
+        private final AdaptiveTimeout timeout;
+        private final Counter hedges;
+        private final Counter hedgesRejected;
+
+        private ClientGuard(String name) {
+            this.bulkhead = bulkheads.bulkhead(name);
+            this.circuitBreaker = circuitBreakers.circuitBreaker(name);
+            this.timeout = new AdaptiveTimeout(minTimeoutMillis, maxTimeoutMillis, timeoutMultiplier);
+            this.hedges = meterRegistry.counter("feign.client.hedges", "client", name);
+            this.hedgesRejected = meterRegistry.counter("feign.client.hedges.rejected", "client", name);
+        }
+
+        Response execute(Client client, Request request, Request.Options options) throws IOException {
+            if (!bulkhead.tryAcquirePermission()) {
+                throw BulkheadFullException.createBulkheadFullException(bulkhead);
+            }
+            List<CompletableFuture<Response>> attempts = new ArrayList<>(2);
+            try {
+                circuitBreaker.acquirePermission();
+                long started = System.nanoTime();
+                try {
+                    Request.Options timed = withReadTimeout(options);
+                    Response response = hedgeEnabled && request.httpMethod() == Request.HttpMethod.GET
+                            ? hedged(client, request, timed, attempts)
+                            : client.execute(request, timed);
+                    long elapsed = System.nanoTime() - started;
+                    timeout.record(elapsed);
+                    circuitBreaker.onResult(elapsed, TimeUnit.NANOSECONDS, response);
+                    return response;
+                } catch (IOException | RuntimeException e) {
+                    long elapsed = System.nanoTime() - started;
+                    timeout.record(elapsed);
+                    circuitBreaker.onError(elapsed, TimeUnit.NANOSECONDS, e);
+                    throw e;
+                }
+            } finally {
+                // a hedge loser still holds a connection and a thread, so it keeps the permit until it ends
+                CompletableFuture.allOf(attempts.toArray(CompletableFuture[]::new))
+                        .whenComplete((ignored, ex) -> bulkhead.onComplete());
+            }
+        }
+
+        private Request.Options withReadTimeout(Request.Options options) {
+            long readTimeout = Math.min(timeout.timeoutMillis(), options.readTimeoutMillis());
+            return new Request.Options(options.connectTimeoutMillis(), TimeUnit.MILLISECONDS,
+                    readTimeout, TimeUnit.MILLISECONDS, options.isFollowRedirects());
+        }
+
+        private Response hedged(Client client, Request request, Request.Options options,
+                                List<CompletableFuture<Response>> attempts) throws IOException {
+            CompletableFuture<Response> primary = attempt(client, request, options);
+            if (primary == null) {
+                return client.execute(request, options);
+            }
+            attempts.add(primary);
+            long p95 = timeout.p95Millis();
+            try {
+                return primary.get(Math.max(p95, minHedgeDelayMillis), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // send the backup below
+            } catch (ExecutionException e) {
+                throw rethrow(e.getCause());
+            } catch (InterruptedException e) {
+                throw interrupted(primary);
+            }
+
+            CompletableFuture<Response> backup = attempt(client, request, options);
+            if (backup == null) {
+                try {
+                    return primary.get();
+                } catch (ExecutionException e) {
+                    throw rethrow(e.getCause());
+                } catch (InterruptedException e) {
+                    throw interrupted(primary);
+                }
+            }
+            attempts.add(backup);
+            hedges.increment();
+            CompletableFuture<Response> first = new CompletableFuture<>();
+            AtomicInteger failed = new AtomicInteger();
+            for (CompletableFuture<Response> attempt : List.of(primary, backup)) {
+                attempt.whenComplete((response, ex) -> {
+                    if (ex == null) {
+                        if (!first.complete(response)) {
+                            response.close(); // the other attempt already answered
+                        }
+                    } else if (failed.incrementAndGet() == 2) {
+                        first.completeExceptionally(ex);
+                    }
+                });
+            }
+            try {
+                return first.get();
+            } catch (ExecutionException e) {
+                throw rethrow(e.getCause());
+            } catch (InterruptedException e) {
+                throw interrupted(primary, backup);
+            }
+        }
+
+        /** null when the hedge pool is full */
+        private CompletableFuture<Response> attempt(Client client, Request request, Request.Options options) {
+            try {
+                return CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return client.execute(request, options);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, hedgeExecutor);
+            } catch (RejectedExecutionException e) {
+                hedgesRejected.increment();
+                return null;
+            }
+        }
+    }
+
+    private static IOException rethrow(Throwable cause) {
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof UncheckedIOException unchecked) {
+            return unchecked.getCause();
+        }
+        if (cause instanceof IOException io) {
+            return io;
+        }
+        if (cause instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        throw new IllegalStateException(cause);
+    }
+
+    @SafeVarargs
+    private static InterruptedIOException interrupted(CompletableFuture<Response>... attempts) {
+        Thread.currentThread().interrupt();
+        for (CompletableFuture<Response> attempt : attempts) {
+            attempt.thenAccept(Response::close);
+        }
+        return new InterruptedIOException("Interrupted while waiting for a hedged request");
+    }
+}
@@ -0,0 +1,107 @@
+package com.bankingapp.accountservice.resilience;
+
+import feign.Response;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulkhead and circuit breaker registries for {@link FeignResilienceCapability}; every Feign client gets
+ * its own instances with these settings.
+ *
+ * Meters: {@code resilience4j.circuitbreaker.*} and {@code resilience4j.bulkhead.*} (state, calls,
+ * available permissions), plus {@code feign.client.circuitbreaker.transitions{client,from,to}}.
+ */
+@Configuration
+@Slf4j
+public class ResilienceConfig {
+
+    @Bean
+    public CircuitBreakerRegistry feignCircuitBreakers(
+            MeterRegistry meterRegistry,
+            @Value("${feign-resilience.circuit-breaker.sliding-window-size:20}") int slidingWindowSize,
+            @Value("${feign-resilience.circuit-breaker.minimum-calls:10}") int minimumCalls,
+            @Value("${feign-resilience.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${feign-resilience.circuit-breaker.slow-call-threshold:2s}") Duration slowCallThreshold,
+            @Value("${feign-resilience.circuit-breaker.open-duration:10s}") Duration openDuration) {
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(circuitBreakerConfig(
+                slidingWindowSize, minimumCalls, failureRateThreshold, slowCallThreshold, openDuration));
+        registry.getEventPublisher().onEntryAdded(added -> {
+            CircuitBreaker circuitBreaker = added.getAddedEntry();
+            circuitBreaker.getEventPublisher().onStateTransition(event -> {
+                log.warn("Circuit breaker {}: {}", event.getCircuitBreakerName(), event.getStateTransition());
+                meterRegistry.counter("feign.client.circuitbreaker.transitions",
+                        "client", event.getCircuitBreakerName(),
+                        "from", event.getStateTransition().getFromState().name(),
+                        "to", event.getStateTransition().getToState().name()).increment();
+            });
+        });
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+
+    @Bean
+    public BulkheadRegistry feignBulkheads(
+            MeterRegistry meterRegistry,
+            @Value("${feign-resilience.bulkhead.max-concurrent-calls:20}") int maxConcurrentCalls) {
+        BulkheadRegistry registry = BulkheadRegistry.of(bulkheadConfig(maxConcurrentCalls));
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+
+    /**
+     * Threads for hedged GETs, at most {@code feign-resilience.hedge.max-threads} and never queued: when all
+     * are busy a GET runs unhedged on the caller's thread (see {@link FeignResilienceCapability}).
+     * Attempts run in the caller's observation, so they trace like the GET they stand in for.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService hedgeExecutor(@Value("${feign-resilience.hedge.max-threads:64}") int maxThreads) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("feign-hedge-");
+        threadFactory.setDaemon(true);
+        ContextSnapshotFactory snapshots = ContextSnapshotFactory.builder().build();
+        return ContextExecutorService.wrap(
+                new ThreadPoolExecutor(0, maxThreads, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), threadFactory),
+                snapshots::captureAll);
+    }
+
+    static CircuitBreakerConfig circuitBreakerConfig(int slidingWindowSize, int minimumCalls,
+                                                     float failureRateThreshold, Duration slowCallThreshold,
+                                                     Duration openDuration) {
+        return CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(slowCallThreshold)
+                .slowCallRateThreshold(failureRateThreshold)
+                .waitDurationInOpenState(openDuration)
+                .permittedNumberOfCallsInHalfOpenState(3)
+                .recordResult(result -> result instanceof Response response && response.status() >= 500)
+                .build();
+    }
+
+    static BulkheadConfig bulkheadConfig(int maxConcurrentCalls) {
+        return BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build();
+    }
+}
@@ -0,0 +1,183 @@
+package com.bankingapp.accountservice.service;
+
+import com.bankingapp.accountservice.dto.AccountActivityDto;
+import com.bankingapp.accountservice.event.TransactionPostedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes committed account activity to SSE subscribers of GET /accounts/{id}/stream.
+ *
+ * An idle subscriber is only an SseEmitter in a map; the servlet container parks the
+ * async request without a thread. Sends run on a few single-threaded lanes picked by
+ * account id, so pushes for one account stay in commit order and a slow client only
+ * holds up its own lane, never the request thread that committed the write. When a lane's queue
+ * is full the push is dropped and that account's streams are closed: a client that missed a
+ * balanceDelta must reconnect and reload rather than show a wrong balance.
+ * A periodic heartbeat comment keeps proxies from closing idle streams and finds dead ones.
+ */
+@Component
+public class AccountActivityBroadcaster {
+
+    private final Map<Long, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService[] lanes;
+    private final Counter pushes;
+    private final Counter dropped;
+    private final Counter overflows;
+
+    @Value("${account.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${account.stream.reconnect-ms:3000}")
+    private long reconnectMs;
+
+    public AccountActivityBroadcaster(MeterRegistry meterRegistry,
+                                      @Value("${account.stream.lanes:4}") int laneCount,
+                                      @Value("${account.stream.lane-queue-capacity:10000}") int queueCapacity) {
+        this.lanes = new ExecutorService[Math.max(1, laneCount)];
+        for (int i = 0; i < lanes.length; i++) {
+            String name = "account-stream-" + i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(queueCapacity),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, name);
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.AbortPolicy()); // never run a push on the committing thread
+        }
+        this.pushes = meterRegistry.counter("account.stream.pushes");
+        this.dropped = meterRegistry.counter("account.stream.dropped");
+        this.overflows = meterRegistry.counter("account.stream.overflows");
+        meterRegistry.gauge("account.stream.subscribers", subscriberCount);
+    }
+
+    public SseEmitter subscribe(Long accountId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        // added inside compute so a concurrent unsubscribe cannot drop the set we are adding to
+        subscribers.compute(accountId, (id, emitters) -> {
+            Set<SseEmitter> set = emitters != null ? emitters : ConcurrentHashMap.<SseEmitter>newKeySet();
+            set.add(emitter);
+            return set;
+        });
+        subscriberCount.incrementAndGet();
+
+        Runnable remove = () -> unsubscribe(accountId, emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> remove.run());
+
+        // flushes the response headers so the client sees the stream open straight away
+        send(accountId, emitter, SseEmitter.event().comment("connected").reconnectTime(reconnectMs));
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionPosted(TransactionPostedEvent event) {
+        Set<SseEmitter> emitters = subscribers.get(event.accountId());
+        if (emitters == null || emitters.isEmpty()) {
+            return;
+        }
+        AccountActivityDto activity = AccountActivityDto.builder()
+                .accountId(event.accountId())
+                .transaction(event.transaction())
+                .balanceDelta(event.balanceDelta())
+                .build();
+        try {
+            laneFor(event.accountId()).execute(() -> {
+                for (SseEmitter emitter : emitters) {
+                    SseEmitter.SseEventBuilder push = SseEmitter.event()
+                            .id(String.valueOf(activity.getTransaction().getTransactionId()))
+                            .name("transaction")
+                            .data(activity, MediaType.APPLICATION_JSON);
+                    if (send(event.accountId(), emitter, push)) {
+                        pushes.increment();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // the lane is far behind; these clients would miss this delta, so make them reconnect and reload
+            overflows.increment();
+            disconnect(event.accountId());
+        }
+    }
+
+    @Scheduled(initialDelayString = "${account.stream.heartbeat-ms:20000}",
+            fixedDelayString = "${account.stream.heartbeat-ms:20000}")
+    public void heartbeat() {
+        subscribers.forEach((accountId, emitters) -> {
+            try {
+                laneFor(accountId).execute(() -> {
+                    for (SseEmitter emitter : emitters) {
+                        send(accountId, emitter, SseEmitter.event().comment("heartbeat"));
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // a busy lane is not idle; skip this beat
+            }
+        });
+    }
+
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    private boolean send(Long accountId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // client went away (or the emitter already completed); the container finishes the request
+            dropped.increment();
+            unsubscribe(accountId, emitter);
+            return false;
+        }
+    }
+
+    private void disconnect(Long accountId) {
+        Set<SseEmitter> emitters = subscribers.remove(accountId);
+        if (emitters != null) {
+            subscriberCount.addAndGet(-emitters.size());
+            emitters.forEach(SseEmitter::complete);
+        }
+    }
+
+    private void unsubscribe(Long accountId, SseEmitter emitter) {
+        subscribers.computeIfPresent(accountId, (id, emitters) -> {
+            if (emitters.remove(emitter)) {
+                subscriberCount.decrementAndGet();
+            }
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    private ExecutorService laneFor(Long accountId) {
+        return lanes[Math.floorMod(accountId.hashCode(), lanes.length)];
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+        List.of(lanes).forEach(ExecutorService::shutdownNow);
+    }
+}
@@ -1,5 +1,6 @@
 package com.bankingapp.accountservice.service;
 
+import com.bankingapp.accountservice.dto.AccountPageDto;
 import com.bankingapp.accountservice.dto.AccountRequestDto;
 import com.bankingapp.accountservice.dto.AccountResponseDto;
 
@@ -7,7 +8,9 @@ import java.util.List;
 
 public interface AccountService {
     AccountResponseDto createAccount(AccountRequestDto dto);
-    List<AccountResponseDto> getAllAccounts();
+    AccountPageDto getAccountPage(int page, int size);
+    List<AccountResponseDto> getAccountsByUserId(Long userId);
     AccountResponseDto getAccountById(Long id);
+    List<AccountResponseDto> getAccountsByIds(List<Long> ids);
     void deleteAccount(Long id);
 }
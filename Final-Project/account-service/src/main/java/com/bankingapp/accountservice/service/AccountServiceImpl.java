@@ -1,22 +1,27 @@
 package com.bankingapp.accountservice.service;
 
-import com.bankingapp.accountservice.client.UserServiceClient;
+import com.bankingapp.accountservice.client.CachedUserServiceClient;
+import com.bankingapp.accountservice.dto.AccountPageDto;
 import com.bankingapp.accountservice.dto.AccountRequestDto;
 import com.bankingapp.accountservice.dto.AccountResponseDto;
 import com.bankingapp.accountservice.entity.Account;
+import com.bankingapp.accountservice.event.BalanceChangedEvent;
 import com.bankingapp.accountservice.exception.ErrorCode;
 import com.bankingapp.accountservice.exception.ServiceException;
 import com.bankingapp.accountservice.repository.AccountRepository;
 import com.bankingapp.accountservice.util.ServiceUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
@@ -25,7 +30,13 @@ import java.util.stream.Collectors;
 public class AccountServiceImpl implements AccountService {
 
     private final AccountRepository accountRepository;
-    private final UserServiceClient userServiceClient;
+    private final CachedUserServiceClient userServiceClient;
+    private final HotAccountLedger hotAccountLedger;
+    private final AccountSummaryProjection accountSummaryProjection;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_BATCH_SIZE = 500;
 
     @Override
     @Transactional
@@ -33,16 +44,18 @@ public class AccountServiceImpl implements AccountService {
         ServiceUtils.validateAccountRequest(dto);
 
         // ✅ Step 1: Verify user exists in UserService
+        boolean userExists;
         try {
-            userServiceClient.getUserById(dto.getUserId());
-        } catch (feign.FeignException.NotFound e) {
-            throw new ServiceException(ErrorCode.INVALID_ACCOUNT_REQUEST,
-                    "User not found with id: " + dto.getUserId(),
-                    Map.of("userId", dto.getUserId()));
+            userExists = userServiceClient.findUser(dto.getUserId()).isPresent();
         } catch (Exception e) {
             throw new ServiceException(ErrorCode.SERVICE_UNAVAILABLE,
                     "Failed to connect to UserService",
-                    Map.of("error", e.getMessage()));
+                    Map.of("error", String.valueOf(e.getMessage())));
+        }
+        if (!userExists) {
+            throw new ServiceException(ErrorCode.INVALID_ACCOUNT_REQUEST,
+                    "User not found with id: " + dto.getUserId(),
+                    Map.of("userId", dto.getUserId()));
         }
 
         // ✅ Step 2: Generate account number and save
@@ -56,26 +69,56 @@ public class AccountServiceImpl implements AccountService {
                 .build();
 
         Account saved = accountRepository.save(account);
+        eventPublisher.publishEvent(BalanceChangedEvent.of(saved.getAccountId(), saved.getUserId()));
         return mapToResponse(saved);
     }
 
     @Override
-    public List<AccountResponseDto> getAllAccounts() {
-        return accountRepository.findAll()
-                .stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public AccountPageDto getAccountPage(int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Page<AccountResponseDto> result = accountRepository.findAllSummaries(PageRequest.of(Math.max(page, 0), pageSize));
+        result.getContent().forEach(hotAccountLedger::applyPendingCredits);
+
+        return AccountPageDto.builder()
+                .items(result.getContent())
+                .page(result.getNumber())
+                .size(result.getSize())
+                .totalElements(result.getTotalElements())
+                .totalPages(result.getTotalPages())
+                .build();
+    }
+
+    @Override
+    public List<AccountResponseDto> getAccountsByUserId(Long userId) {
+        return accountSummaryProjection.getAccounts(userId);
     }
 
     @Override
     public AccountResponseDto getAccountById(Long id) {
-        Account account = accountRepository.findById(id)
+        AccountResponseDto account = accountRepository.findSummaryWithLastTransactionById(id)
                 .orElseThrow(() -> new ServiceException(
                         ErrorCode.ACCOUNT_NOT_FOUND,
                         "Account not found with ID: " + id,
                         Map.of("accountId", id)
                 ));
-        return mapToResponse(account);
+        hotAccountLedger.applyPendingCredits(account);
+        return account;
+    }
+
+    @Override
+    public List<AccountResponseDto> getAccountsByIds(List<Long> ids) {
+        List<Long> distinct = ids == null ? List.of() : ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinct.size() > MAX_BATCH_SIZE) {
+            throw new ServiceException(ErrorCode.VALIDATION_ERROR,
+                    "At most " + MAX_BATCH_SIZE + " ids per batch",
+                    Map.of("ids", distinct.size()));
+        }
+        if (distinct.isEmpty()) {
+            return List.of();
+        }
+        List<AccountResponseDto> accounts = accountRepository.findSummariesByIdIn(distinct);
+        accounts.forEach(hotAccountLedger::applyPendingCredits);
+        return accounts;
     }
 
     @Override
@@ -88,6 +131,7 @@ public class AccountServiceImpl implements AccountService {
                         Map.of("accountId", id)
                 ));
         accountRepository.delete(account);
+        eventPublisher.publishEvent(BalanceChangedEvent.of(account.getAccountId(), account.getUserId()));
         log.info("Deleted account id={}", id);
     }
 
@@ -96,7 +140,7 @@ public class AccountServiceImpl implements AccountService {
                 .accountId(account.getAccountId())
                 .accountNumber(account.getAccountNumber())
                 .accountType(account.getAccountType() != null ? account.getAccountType().toString() : null)
-                .balance(account.getBalance())
+                .balance(hotAccountLedger.availableBalance(account))
                 .userId(account.getUserId())
                 .createdAt(account.getCreatedAt())
                 .updatedAt(account.getUpdatedAt())
@@ -0,0 +1,164 @@
+package com.bankingapp.accountservice.service;
+
+import com.bankingapp.accountservice.datasource.ReplicaRoutingDataSource;
+import com.bankingapp.accountservice.dto.AccountResponseDto;
+import com.bankingapp.accountservice.event.BalanceChangedEvent;
+import com.bankingapp.accountservice.repository.AccountRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory per-user account summaries for dashboard reads.
+ * A user's summaries are loaded from Oracle on first read; after that they are kept current
+ * by {@link BalanceChangedEvent}s, which are coalesced per account and re-read by primary key
+ * on a single background thread once the write has committed. Reads never take the write
+ * path's locks. {@code account.projection.lag} records commit-to-visible delay.
+ *
+ * The projection is per JVM: the events only come from writes committed by this instance, so a
+ * write handled by another instance is never pushed here. Each user's entry is therefore dropped
+ * {@code account.projection.ttl} after it was loaded and reloaded on the next read, which bounds how
+ * stale such a summary can get; {@code account.projection.max-users} bounds the memory held.
+ */
+@Component
+@Slf4j
+public class AccountSummaryProjection {
+
+    private final AccountRepository accountRepository;
+    private final HotAccountLedger hotAccountLedger;
+    private final Timer lag;
+
+    // userId -> (accountId -> summary)
+    private final Cache<Long, Map<Long, AccountResponseDto>> summaries;
+    // userId -> time the last change for that user committed; only loads still in flight look at it
+    private final Cache<Long, Instant> lastCommit;
+    // accountId -> oldest unapplied change
+    private final Map<Long, BalanceChangedEvent> dirty = new ConcurrentHashMap<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "account-projection");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public AccountSummaryProjection(AccountRepository accountRepository,
+                                    HotAccountLedger hotAccountLedger,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${account.projection.max-users:100000}") long maxUsers,
+                                    @Value("${account.projection.ttl:5m}") Duration ttl) {
+        this.accountRepository = accountRepository;
+        this.hotAccountLedger = hotAccountLedger;
+        this.summaries = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.lastCommit = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(ttl)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, summaries, "account-projection");
+        this.lag = Timer.builder("account.projection.lag")
+                .description("Delay between a balance change and its visibility in the account summary projection")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        meterRegistry.gauge("account.projection.users", summaries, Cache::estimatedSize);
+        meterRegistry.gaugeMapSize("account.projection.pending", List.of(), dirty);
+    }
+
+    public List<AccountResponseDto> getAccounts(Long userId) {
+        Map<Long, AccountResponseDto> accounts = summaries.getIfPresent(userId);
+        if (accounts == null) {
+            Instant loadStart = Instant.now();
+            Map<Long, AccountResponseDto> loaded = load(userId);
+            accounts = Optional.ofNullable(summaries.asMap().putIfAbsent(userId, loaded)).orElse(loaded);
+            // a write that committed while we were reading may have been missed; serve, but don't keep it
+            Instant changed = lastCommit.getIfPresent(userId);
+            if (changed != null && !changed.isBefore(loadStart)) {
+                summaries.asMap().remove(userId, loaded);
+            }
+        }
+        List<AccountResponseDto> result = new ArrayList<>(accounts.values());
+        result.sort(Comparator.comparing(AccountResponseDto::getAccountId));
+        return result;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBalanceChanged(BalanceChangedEvent event) {
+        lastCommit.put(event.userId(), Instant.now());
+        if (!summaries.asMap().containsKey(event.userId())) {
+            return; // nobody has read this user yet; the first read loads fresh state
+        }
+        dirty.putIfAbsent(event.accountId(), event);
+        if (drainScheduled.compareAndSet(false, true)) {
+            refresher.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        drainScheduled.set(false);
+        for (Long accountId : List.copyOf(dirty.keySet())) {
+            BalanceChangedEvent event = dirty.remove(accountId);
+            if (event == null) {
+                continue;
+            }
+            try {
+                refresh(event);
+                lag.record(Duration.between(event.occurredAt(), Instant.now()));
+            } catch (Exception e) {
+                // drop the user so the next read reloads it instead of serving a stale summary
+                summaries.invalidate(event.userId());
+                log.warn("Failed to refresh account {} in projection: {}", accountId, e.getMessage());
+            }
+        }
+    }
+
+    private void refresh(BalanceChangedEvent event) {
+        Map<Long, AccountResponseDto> accounts = summaries.asMap().get(event.userId());
+        if (accounts == null) {
+            return;
+        }
+        // the event means the write just committed; a lagging replica could still hold the old row
+        Optional<AccountResponseDto> summary =
+                ReplicaRoutingDataSource.onPrimary(() -> accountRepository.findSummaryById(event.accountId()));
+        if (summary.isPresent()) {
+            hotAccountLedger.applyPendingCredits(summary.get());
+            accounts.put(event.accountId(), summary.get());
+        } else {
+            accounts.remove(event.accountId());
+        }
+    }
+
+    private Map<Long, AccountResponseDto> load(Long userId) {
+        Map<Long, AccountResponseDto> accounts = new ConcurrentHashMap<>();
+        for (AccountResponseDto dto : ReplicaRoutingDataSource.onPrimary(() -> accountRepository.findSummariesByUserId(userId))) {
+            hotAccountLedger.applyPendingCredits(dto);
+            accounts.put(dto.getAccountId(), dto);
+        }
+        return accounts;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+}
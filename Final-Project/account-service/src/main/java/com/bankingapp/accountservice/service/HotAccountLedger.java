@@ -0,0 +1,207 @@
+package com.bankingapp.accountservice.service;
+
+import com.bankingapp.accountservice.dto.AccountResponseDto;
+import com.bankingapp.accountservice.entity.Account;
+import com.bankingapp.accountservice.entity.AccountBalanceStripe;
+import com.bankingapp.accountservice.repository.AccountBalanceStripeRepository;
+import com.bankingapp.accountservice.repository.AccountRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Opt-in striped ledger for high-contention (merchant / settlement) accounts.
+ *
+ * Credits to a hot account are added to one of N ACCOUNT_BALANCE_STRIPES rows instead of
+ * ACCOUNTS.BALANCE, and a scheduled compactor folds the stripes into the balance.
+ * The spendable total is always BALANCE + sum(stripes); debits must hold the account row
+ * lock while reading it, which also keeps the compactor out.
+ * Lock order everywhere is account row first, then stripe rows.
+ *
+ * Membership comes from {@code account.hot.account-ids}. An account dropped from that list may still
+ * have credits in its stripes, so at startup such accounts are registered as draining: their stripes
+ * keep counting towards the balance and are folded by the compactor, but take no new credits, and the
+ * account is let go once they are empty.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HotAccountLedger {
+
+    private final AccountRepository accountRepository;
+    private final AccountBalanceStripeRepository stripeRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${account.hot.account-ids:}")
+    private Set<Long> configuredAccountIds;
+
+    @Value("${account.hot.stripes:16}")
+    private int stripes;
+
+    private final Set<Long> hotAccountIds = ConcurrentHashMap.newKeySet();
+    // no longer configured hot, but stripes still held credits at startup
+    private final Set<Long> drainingAccountIds = ConcurrentHashMap.newKeySet();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void registerConfiguredAccounts() {
+        if (configuredAccountIds != null) {
+            configuredAccountIds.forEach(this::markHot);
+        }
+        for (Long accountId : stripeRepository.findAccountIdsWithPendingCredits()) {
+            if (!isHot(accountId)) {
+                drainingAccountIds.add(accountId);
+                log.info("Hot-account ledger draining stripes of accountId={} (no longer configured hot)", accountId);
+            }
+        }
+    }
+
+    /**
+     * Flags an account as hot and makes sure its stripe rows exist.
+     */
+    public void markHot(Long accountId) {
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> ensureStripes(accountId));
+            hotAccountIds.add(accountId);
+            log.info("Hot-account ledger enabled accountId={} stripes={}", accountId, stripes);
+        } catch (DataIntegrityViolationException ex) {
+            // another instance created the stripes first
+            hotAccountIds.add(accountId);
+        }
+    }
+
+    public boolean isHot(Long accountId) {
+        return accountId != null && hotAccountIds.contains(accountId);
+    }
+
+    private boolean hasStripeCredits(Long accountId) {
+        return isHot(accountId) || (accountId != null && drainingAccountIds.contains(accountId));
+    }
+
+    /**
+     * Adds a credit to a random stripe. Must run inside the caller's transaction.
+     *
+     * @return false if the account has no stripe rows, so the caller should update the balance directly
+     */
+    public boolean credit(Long accountId, BigDecimal amount) {
+        if (!isHot(accountId)) {
+            return false;
+        }
+        int start = ThreadLocalRandom.current().nextInt(stripes);
+        for (int i = 0; i < stripes; i++) {
+            if (stripeRepository.addToStripe(accountId, (start + i) % stripes, amount) == 1) {
+                meterRegistry.counter("account.hot.credits").increment();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Credits not yet folded into ACCOUNTS.BALANCE; zero (and no query) for normal accounts.
+     */
+    public BigDecimal pendingCredits(Long accountId) {
+        if (!hasStripeCredits(accountId)) {
+            return BigDecimal.ZERO;
+        }
+        return stripeRepository.sumPending(accountId);
+    }
+
+    public BigDecimal availableBalance(Account account) {
+        BigDecimal balance = account.getBalance() != null ? account.getBalance() : BigDecimal.ZERO;
+        return balance.add(pendingCredits(account.getAccountId()));
+    }
+
+    // DTO projections read ACCOUNTS.BALANCE only; hot accounts also have credits waiting in stripes
+    public void applyPendingCredits(AccountResponseDto dto) {
+        if (hasStripeCredits(dto.getAccountId())) {
+            dto.setBalance(dto.getBalance().add(pendingCredits(dto.getAccountId())));
+        }
+    }
+
+    @Scheduled(initialDelayString = "${account.hot.compaction-interval-ms:1000}",
+            fixedDelayString = "${account.hot.compaction-interval-ms:1000}")
+    public void compact() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        for (Long accountId : hotAccountIds) {
+            compact(template, accountId);
+        }
+        for (Long accountId : drainingAccountIds) {
+            // nothing credits these stripes any more, so once folded they stay empty
+            if (compact(template, accountId)) {
+                drainingAccountIds.remove(accountId);
+                log.info("Hot-account ledger drained accountId={}", accountId);
+            }
+        }
+    }
+
+    private boolean compact(TransactionTemplate template, Long accountId) {
+        try {
+            BigDecimal folded = template.execute(status -> compactAccount(accountId));
+            if (folded != null && folded.signum() != 0) {
+                meterRegistry.counter("account.hot.compactions").increment();
+                log.debug("Compacted hot account id={} folded={}", accountId, folded);
+            }
+            return true;
+        } catch (RuntimeException ex) {
+            // stripes stay untouched on failure and are picked up on the next run
+            log.warn("Hot-account compaction failed accountId={}: {}", accountId, ex.getMessage());
+            return false;
+        }
+    }
+
+    private BigDecimal compactAccount(Long accountId) {
+        Account account = accountRepository.findByIdForUpdate(accountId).orElse(null);
+        if (account == null) {
+            hotAccountIds.remove(accountId);
+            drainingAccountIds.remove(accountId);
+            return BigDecimal.ZERO;
+        }
+
+        BigDecimal total = BigDecimal.ZERO;
+        for (AccountBalanceStripe stripe : stripeRepository.findByAccountIdForUpdate(accountId)) {
+            if (stripe.getPendingAmount().signum() != 0) {
+                total = total.add(stripe.getPendingAmount());
+                stripe.setPendingAmount(BigDecimal.ZERO);
+            }
+        }
+
+        if (total.signum() != 0) {
+            account.setBalance(account.getBalance().add(total));
+        }
+        return total;
+    }
+
+    private void ensureStripes(Long accountId) {
+        Set<Integer> existing = new HashSet<>();
+        stripeRepository.findByAccountId(accountId).forEach(s -> existing.add(s.getStripeNo()));
+
+        List<AccountBalanceStripe> missing = new ArrayList<>();
+        for (int i = 0; i < stripes; i++) {
+            if (!existing.contains(i)) {
+                missing.add(AccountBalanceStripe.builder()
+                        .accountId(accountId)
+                        .stripeNo(i)
+                        .pendingAmount(BigDecimal.ZERO)
+                        .build());
+            }
+        }
+        stripeRepository.saveAll(missing);
+    }
+}
@@ -0,0 +1,262 @@
+package com.bankingapp.accountservice.service;
+
+import com.bankingapp.accountservice.datasource.ReplicaRoutingDataSource;
+import com.bankingapp.accountservice.entity.IdempotencyRecord;
+import com.bankingapp.accountservice.enums.IdempotencyStatus;
+import com.bankingapp.accountservice.exception.ErrorCode;
+import com.bankingapp.accountservice.exception.ServiceException;
+import com.bankingapp.accountservice.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Idempotency-Key handling for POST /transactions and POST /transactions/transfer.
+ *
+ * The key is claimed by inserting an IN_PROGRESS row in its own transaction before the operation runs,
+ * so of two concurrent retries only one executes; the other gets 409 until the first finishes, then
+ * the stored response. The response is written in the same transaction as the posting, so a key is
+ * never COMPLETED without its posting, nor a posting left behind an IN_PROGRESS key. A claim is leased
+ * for {@code idempotency.lease}: if its holder dies, a retry after the lease takes the key over, and the
+ * old holder's completion then fails and rolls its posting back. Completed responses are also kept in a
+ * bounded Caffeine cache, so a replay usually answers without touching the database. A failed operation
+ * releases its key. Keys are scoped to the caller and the operation, and expire after {@code idempotency.ttl};
+ * an expired key counts as absent even before the purge deletes it, so it is claimed afresh, never replayed.
+ */
+@Component
+@Slf4j
+public class IdempotencyService {
+
+    public static final int MAX_KEY_LENGTH = 128;
+
+    private final IdempotencyRecordRepository repository;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate requiresNew;
+    private final Duration ttl;
+    private final Duration lease;
+    private final Cache<String, IdempotencyRecord> completed;
+
+    public IdempotencyService(IdempotencyRecordRepository repository,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${idempotency.ttl:24h}") Duration ttl,
+                              @Value("${idempotency.lease:30s}") Duration lease,
+                              @Value("${idempotency.cache-size:50000}") long cacheSize) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.ttl = ttl;
+        this.lease = lease;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, completed, "idempotency");
+    }
+
+    public record Outcome<T>(T response, boolean replayed) {
+    }
+
+    /**
+     * Runs {@code action} at most once per (caller, operation, key). Without a key the action simply runs.
+     * The action must hand its response to the consumer it is given from inside the transaction that
+     * does the work (see {@link TransactionService}); that is where the response is stored.
+     */
+    public <T> Outcome<T> execute(String operation, String key, Object request, Class<T> responseType,
+                                  Function<Consumer<T>, T> action) {
+        if (key == null || key.isBlank()) {
+            return new Outcome<>(action.apply(response -> { }), false);
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new ServiceException(ErrorCode.VALIDATION_ERROR,
+                    "Idempotency-Key must be at most " + MAX_KEY_LENGTH + " characters",
+                    Map.of("header", "Idempotency-Key"));
+        }
+
+        String id = operation + ":" + caller() + ":" + key;
+        String requestHash = hash(request);
+
+        IdempotencyRecord cached = completed.getIfPresent(id);
+        if (cached != null && !isExpired(cached)) {
+            return replay(cached, requestHash, responseType);
+        }
+
+        String claimToken = claim(id, requestHash);
+        if (claimToken == null) {
+            IdempotencyRecord existing = ReplicaRoutingDataSource.onPrimary(() -> repository.findById(id)).orElse(null);
+            if (existing == null) {
+                // the other attempt failed and released the key in between; let the client retry
+                throw inProgress(key);
+            }
+            if (existing.getStatus() == IdempotencyStatus.COMPLETED && !isExpired(existing)) {
+                completed.put(id, existing);
+                return replay(existing, requestHash, responseType);
+            }
+            if (existing.getStatus() == IdempotencyStatus.IN_PROGRESS) {
+                checkSameRequest(existing, requestHash);
+            }
+            completed.invalidate(id);
+            claimToken = takeOver(id, requestHash);
+            if (claimToken == null) {
+                throw inProgress(key);
+            }
+        }
+
+        String token = claimToken;
+        AtomicReference<String> storedBody = new AtomicReference<>();
+        T response;
+        try {
+            response = action.apply(result -> storedBody.set(complete(id, token, key, result)));
+        } catch (RuntimeException e) {
+            release(id, token);
+            throw e;
+        }
+        if (storedBody.get() == null) {
+            log.error("Idempotent {} for {} returned without storing its response", operation, id);
+        } else {
+            LocalDateTime now = LocalDateTime.now();
+            completed.put(id, IdempotencyRecord.builder()
+                    .id(id)
+                    .requestHash(requestHash)
+                    .status(IdempotencyStatus.COMPLETED)
+                    .responseBody(storedBody.get())
+                    .createdAt(now)
+                    .expiresAt(now.plus(ttl))
+                    .build());
+        }
+        return new Outcome<>(response, false);
+    }
+
+    @Scheduled(initialDelayString = "${idempotency.cleanup-interval-ms:600000}",
+            fixedDelayString = "${idempotency.cleanup-interval-ms:600000}")
+    public void purgeExpired() {
+        Integer deleted = requiresNew.execute(status -> repository.deleteExpired(LocalDateTime.now()));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} expired idempotency keys", deleted);
+        }
+    }
+
+    // returns the claim token, or null when the key already exists
+    private String claim(String id, String requestHash) {
+        LocalDateTime now = LocalDateTime.now();
+        String claimToken = UUID.randomUUID().toString();
+        try {
+            requiresNew.executeWithoutResult(status -> repository.saveAndFlush(IdempotencyRecord.builder()
+                    .id(id)
+                    .requestHash(requestHash)
+                    .status(IdempotencyStatus.IN_PROGRESS)
+                    .claimToken(claimToken)
+                    .createdAt(now)
+                    .expiresAt(now.plus(lease))
+                    .build()));
+            return claimToken;
+        } catch (DataIntegrityViolationException e) {
+            return null;
+        }
+    }
+
+    // returns the new claim token, or null while the current holder's lease lasts
+    private String takeOver(String id, String requestHash) {
+        LocalDateTime now = LocalDateTime.now();
+        String claimToken = UUID.randomUUID().toString();
+        Integer updated = requiresNew.execute(status ->
+                repository.takeOver(id, requestHash, claimToken, now, now.plus(lease)));
+        if (updated == null || updated == 0) {
+            return null;
+        }
+        meterRegistry.counter("account.idempotency.takeovers").increment();
+        log.warn("Took over expired idempotency key {}", id);
+        return claimToken;
+    }
+
+    // runs inside the action's transaction: the response commits or rolls back with the posting
+    private String complete(String id, String claimToken, String key, Object response) {
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot store idempotent response", e);
+        }
+        if (repository.complete(id, claimToken, body, LocalDateTime.now().plus(ttl)) == 0) {
+            // our lease ran out and a retry took the key over: roll back rather than post twice
+            throw inProgress(key);
+        }
+        return body;
+    }
+
+    private void release(String id, String claimToken) {
+        try {
+            requiresNew.executeWithoutResult(status -> repository.release(id, claimToken));
+        } catch (Exception e) {
+            log.warn("Failed to release idempotency key {}: {}", id, e.getMessage());
+        }
+    }
+
+    private <T> Outcome<T> replay(IdempotencyRecord record, String requestHash, Class<T> responseType) {
+        checkSameRequest(record, requestHash);
+        try {
+            meterRegistry.counter("account.idempotency.replays").increment();
+            return new Outcome<>(objectMapper.readValue(record.getResponseBody(), responseType), true);
+        } catch (JsonProcessingException e) {
+            throw new ServiceException(ErrorCode.INTERNAL_SERVER_ERROR, "Stored idempotent response is unreadable");
+        }
+    }
+
+    private static boolean isExpired(IdempotencyRecord record) {
+        return record.getExpiresAt().isBefore(LocalDateTime.now());
+    }
+
+    private static void checkSameRequest(IdempotencyRecord record, String requestHash) {
+        if (!record.getRequestHash().equals(requestHash)) {
+            throw new ServiceException(ErrorCode.IDEMPOTENCY_KEY_REUSED, ErrorCode.IDEMPOTENCY_KEY_REUSED.getMessage());
+        }
+    }
+
+    private static ServiceException inProgress(String key) {
+        return new ServiceException(ErrorCode.IDEMPOTENCY_IN_PROGRESS, ErrorCode.IDEMPOTENCY_IN_PROGRESS.getMessage(),
+                Map.of("idempotencyKey", key));
+    }
+
+    private static String caller() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "anonymous";
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot hash idempotent request", e);
+        }
+    }
+}
@@ -2,12 +2,25 @@ package com.bankingapp.accountservice.service;
 
 import com.bankingapp.accountservice.dto.*;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface TransactionService {
     TransactionResponseDto createTransaction(TransactionRequestDto dto);
-    List<TransactionResponseDto> getTransactionsByAccount(Long accountId);
+
+    /** As above; {@code inTransaction} gets the response inside the posting's transaction, before it commits. */
+    TransactionResponseDto createTransaction(TransactionRequestDto dto, Consumer<TransactionResponseDto> inTransaction);
+
+    TransactionPageDto getTransactionPage(Long accountId, TransactionFilterDto filter, String cursor, int limit);
+    /** Throws ACCOUNT_NOT_FOUND for an unknown account; lets a streamed response fail before it is committed. */
+    void ensureAccountExists(Long accountId);
+    void streamTransactionsByAccount(Long accountId, TransactionFilterDto filter, Consumer<TransactionResponseDto> sink);
     TransactionResponseDto getTransactionById(Long transactionId);
 
     // new:
     TransferResponseDto transferBetweenAccounts(TransferRequestDto dto);
+
+    /** As above; {@code inTransaction} gets the response inside the transfer's transaction, before it commits. */
+    TransferResponseDto transferBetweenAccounts(TransferRequestDto dto, Consumer<TransferResponseDto> inTransaction);
+
+    BatchTransactionResponseDto postTransactionBatch(List<TransactionRequestDto> requests);
 }
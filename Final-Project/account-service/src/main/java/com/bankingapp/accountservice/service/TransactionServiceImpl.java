@@ -1,5 +1,9 @@
 package com.bankingapp.accountservice.service;
 
+import com.bankingapp.accountservice.dto.BatchTransactionResponseDto;
+import com.bankingapp.accountservice.dto.BatchTransactionResultDto;
+import com.bankingapp.accountservice.dto.TransactionFilterDto;
+import com.bankingapp.accountservice.dto.TransactionPageDto;
 import com.bankingapp.accountservice.dto.TransactionRequestDto;
 import com.bankingapp.accountservice.dto.TransactionResponseDto;
 import com.bankingapp.accountservice.dto.TransferRequestDto;
@@ -7,24 +11,38 @@ import com.bankingapp.accountservice.dto.TransferResponseDto;
 import com.bankingapp.accountservice.entity.Account;
 import com.bankingapp.accountservice.entity.Transaction;
 import com.bankingapp.accountservice.enums.TransactionType;
+import com.bankingapp.accountservice.event.BalanceChangedEvent;
+import com.bankingapp.accountservice.event.TransactionPostedEvent;
 import com.bankingapp.accountservice.exception.ErrorCode;
 import com.bankingapp.accountservice.exception.ServiceException;
 import com.bankingapp.accountservice.repository.AccountRepository;
 import com.bankingapp.accountservice.repository.TransactionRepository;
 import com.bankingapp.accountservice.util.ServiceUtils;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.domain.Pageable;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -36,16 +54,46 @@ public class TransactionServiceImpl implements TransactionService {
     private final TransactionRepository transactionRepository;
     private final PlatformTransactionManager transactionManager;
 
-    private static final int MAX_TRANSFER_ATTEMPTS = 3;
+    private final MeterRegistry meterRegistry;
+    private final HotAccountLedger hotAccountLedger;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final int MAX_TRANSFER_ATTEMPTS = 5;
+    private static final long BASE_BACKOFF_MS = 10;
+    private static final long MAX_BACKOFF_MS = 200;
+
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int LOCK_CHUNK_SIZE = 1000; // Oracle's IN-list limit
+    private static final LocalDateTime HISTORY_START = LocalDateTime.of(1900, 1, 1, 0, 0);
+    private static final LocalDateTime HISTORY_END = LocalDateTime.of(9999, 12, 31, 0, 0);
 
     @Override
     @Transactional
     public TransactionResponseDto createTransaction(TransactionRequestDto dto) {
+        return createTransaction(dto, response -> { });
+    }
+
+    @Override
+    @Transactional
+    public TransactionResponseDto createTransaction(TransactionRequestDto dto, Consumer<TransactionResponseDto> inTransaction) {
+        TransactionResponseDto response = post(dto);
+        inTransaction.accept(response);
+        return response;
+    }
+
+    private TransactionResponseDto post(TransactionRequestDto dto) {
         // validate request
         ServiceUtils.validateTransactionRequest(dto);
 
-        // load account (managed entity)
-        Account account = accountRepository.findById(dto.getAccountId())
+        boolean hot = hotAccountLedger.isHot(dto.getAccountId());
+        if (hot && dto.getTransactionType() == TransactionType.CREDIT) {
+            return createHotCredit(dto);
+        }
+
+        // load account (managed entity); hot-account debits take the row lock so the
+        // balance + pending stripes total cannot move under the funds check
+        Long accountId = dto.getAccountId();
+        Account account = (hot ? accountRepository.findByIdForUpdate(accountId) : accountRepository.findById(accountId))
                 .orElseThrow(() -> new ServiceException(
                         ErrorCode.ACCOUNT_NOT_FOUND,
                         "Account not found with ID: " + dto.getAccountId(),
@@ -68,6 +116,8 @@ public class TransactionServiceImpl implements TransactionService {
         // Persist transaction (account is managed, so balance update will be flushed)
         transactionRepository.save(tx);
         accountRepository.save(account); // explicit save to be clear and compatible across setups
+        eventPublisher.publishEvent(BalanceChangedEvent.of(account.getAccountId(), account.getUserId()));
+        publishPosted(tx);
 
         log.info("Transaction created id={} type={} amount={} accountId={} newBalance={}",
                 tx.getTransactionId(), tx.getTransactionType(), tx.getAmount(), account.getAccountId(), newBalance);
@@ -75,19 +125,89 @@ public class TransactionServiceImpl implements TransactionService {
         return mapToResponse(tx);
     }
 
+    /**
+     * Credit to a hot account: the amount goes to a balance stripe, so the ACCOUNTS row is
+     * only read, never updated, and concurrent credits do not queue on its row lock.
+     */
+    private TransactionResponseDto createHotCredit(TransactionRequestDto dto) {
+        Account account = accountRepository.findById(dto.getAccountId())
+                .orElseThrow(() -> new ServiceException(
+                        ErrorCode.ACCOUNT_NOT_FOUND,
+                        "Account not found with ID: " + dto.getAccountId(),
+                        Map.of("accountId", dto.getAccountId())
+                ));
+
+        Transaction tx = Transaction.builder()
+                .account(account)
+                .amount(dto.getAmount())
+                .transactionType(TransactionType.CREDIT)
+                .description(dto.getDescription())
+                .build();
+        transactionRepository.save(tx);
+
+        if (!hotAccountLedger.credit(account.getAccountId(), dto.getAmount())) {
+            // stripes missing (e.g. flagged but not initialised yet) - fall back to the row update
+            account.setBalance(calculateNewBalance(account, dto));
+            accountRepository.save(account);
+        }
+        eventPublisher.publishEvent(BalanceChangedEvent.of(account.getAccountId(), account.getUserId()));
+        publishPosted(tx);
+
+        log.debug("Hot-account credit id={} amount={} accountId={}",
+                tx.getTransactionId(), tx.getAmount(), account.getAccountId());
+
+        return mapToResponse(tx);
+    }
+
+    @Override
+    public TransactionPageDto getTransactionPage(Long accountId, TransactionFilterDto filter, String cursor, int limit) {
+        ensureAccountExists(accountId);
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        LocalDateTime cursorDate = HISTORY_END;
+        Long cursorId = Long.MAX_VALUE;
+        if (cursor != null && !cursor.isBlank()) {
+            ServiceUtils.TransactionCursor decoded = ServiceUtils.decodeTransactionCursor(cursor);
+            cursorDate = decoded.transactionDate();
+            cursorId = decoded.transactionId();
+        }
+
+        // fetch one extra row to learn whether another page exists
+        List<TransactionResponseDto> rows = transactionRepository.findPageByAccount(accountId,
+                historyFrom(filter), historyTo(filter), historyTypes(filter),
+                cursorDate, cursorId, Pageable.ofSize(pageSize + 1));
+
+        boolean hasMore = rows.size() > pageSize;
+        List<TransactionResponseDto> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            TransactionResponseDto last = items.get(items.size() - 1);
+            nextCursor = ServiceUtils.encodeTransactionCursor(last.getTransactionDate(), last.getTransactionId());
+        }
+
+        return TransactionPageDto.builder()
+                .items(new ArrayList<>(items))
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
     @Override
-    public List<TransactionResponseDto> getTransactionsByAccount(Long accountId) {
-        // validate account existence early
+    public void ensureAccountExists(Long accountId) {
         if (!accountRepository.existsById(accountId)) {
             throw new ServiceException(ErrorCode.ACCOUNT_NOT_FOUND,
                     "Account not found with ID: " + accountId,
                     Map.of("accountId", accountId));
         }
+    }
 
-        return transactionRepository.findByAccount_AccountId(accountId)
-                .stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    @Override
+    public void streamTransactionsByAccount(Long accountId, TransactionFilterDto filter, Consumer<TransactionResponseDto> sink) {
+        ensureAccountExists(accountId);
+        try (Stream<TransactionResponseDto> rows = transactionRepository.streamByAccount(accountId,
+                historyFrom(filter), historyTo(filter), historyTypes(filter))) {
+            rows.forEach(sink);
+        }
     }
 
     @Override
@@ -102,24 +222,66 @@ public class TransactionServiceImpl implements TransactionService {
         return mapToResponse(tx);
     }
 
+    /**
+     * Runs each attempt in its own transaction through TransactionTemplate, so a concurrency
+     * failure (stale @Version, lock timeout, deadlock victim) rolls back cleanly and is retried
+     * with jittered backoff up to MAX_TRANSFER_ATTEMPTS.
+     */
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public TransferResponseDto transferBetweenAccounts(TransferRequestDto dto) {
-        Account from = accountRepository.findById(dto.getFromAccountId())
-                .orElseThrow(() -> new ServiceException(
-                        ErrorCode.ACCOUNT_NOT_FOUND,
-                        "Source account not found",
-                        Map.of("accountId", dto.getFromAccountId())
-                ));
+        return transferBetweenAccounts(dto, response -> { });
+    }
 
-        Account to = accountRepository.findById(dto.getToAccountId())
-                .orElseThrow(() -> new ServiceException(
-                        ErrorCode.ACCOUNT_NOT_FOUND,
-                        "Destination account not found",
-                        Map.of("accountId", dto.getToAccountId())
-                ));
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public TransferResponseDto transferBetweenAccounts(TransferRequestDto dto, Consumer<TransferResponseDto> inTransaction) {
+        ServiceUtils.validateTransferRequest(dto);
+        if (dto.getFromAccountId().equals(dto.getToAccountId())) {
+            throw new ServiceException(ErrorCode.TRANSFER_SAME_ACCOUNT,
+                    ErrorCode.TRANSFER_SAME_ACCOUNT.getMessage(),
+                    Map.of("accountId", dto.getFromAccountId()));
+        }
+
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return template.execute(status -> {
+                    TransferResponseDto response = executeTransfer(dto);
+                    inTransaction.accept(response);
+                    return response;
+                });
+            } catch (ConcurrencyFailureException ex) {
+                meterRegistry.counter("account.transfer.conflicts",
+                        "type", ex instanceof ObjectOptimisticLockingFailureException ? "optimistic" : "lock").increment();
+
+                if (attempt >= MAX_TRANSFER_ATTEMPTS) {
+                    meterRegistry.counter("account.transfer.exhausted").increment();
+                    log.warn("Transfer gave up after {} attempts from={} to={}: {}",
+                            attempt, dto.getFromAccountId(), dto.getToAccountId(), ex.getMessage());
+                    throw new ServiceException(ErrorCode.TRANSFER_FAILED, ErrorCode.TRANSFER_FAILED.getMessage(),
+                            Map.of("fromAccountId", dto.getFromAccountId(),
+                                    "toAccountId", dto.getToAccountId(),
+                                    "attempts", attempt));
+                }
+
+                meterRegistry.counter("account.transfer.retries").increment();
+                backoff(attempt);
+            }
+        }
+    }
 
-        if (from.getBalance().compareTo(dto.getAmount()) < 0) {
+    private TransferResponseDto executeTransfer(TransferRequestDto dto) {
+        // Always lock the lower id first so concurrent A->B and B->A transfers cannot deadlock
+        Long firstId = Math.min(dto.getFromAccountId(), dto.getToAccountId());
+        Long secondId = Math.max(dto.getFromAccountId(), dto.getToAccountId());
+        Account first = lockAccount(firstId, dto);
+        Account second = lockAccount(secondId, dto);
+
+        Account from = first.getAccountId().equals(dto.getFromAccountId()) ? first : second;
+        Account to = from == first ? second : first;
+
+        if (hotAccountLedger.availableBalance(from).compareTo(dto.getAmount()) < 0) {
             throw new ServiceException(ErrorCode.INSUFFICIENT_FUNDS,
                     "Insufficient balance for transfer",
                     Map.of("fromAccountId", dto.getFromAccountId()));
@@ -144,13 +306,17 @@ public class TransactionServiceImpl implements TransactionService {
                 .description("Transfer from account " + from.getAccountNumber())
                 .build();
 
-        // Save both transactions (atomic under @Transactional)
+        // Save both transactions (atomic within this attempt's transaction)
         transactionRepository.save(debitTx);
         transactionRepository.save(creditTx);
 
         // explicit save accounts
         accountRepository.save(from);
         accountRepository.save(to);
+        eventPublisher.publishEvent(BalanceChangedEvent.of(from.getAccountId(), from.getUserId()));
+        eventPublisher.publishEvent(BalanceChangedEvent.of(to.getAccountId(), to.getUserId()));
+        publishPosted(debitTx);
+        publishPosted(creditTx);
 
         return TransferResponseDto.builder()
                 .debitTransactionId(debitTx.getTransactionId())
@@ -163,9 +329,142 @@ public class TransactionServiceImpl implements TransactionService {
                 .build();
     }
 
+    private Account lockAccount(Long accountId, TransferRequestDto dto) {
+        boolean source = accountId.equals(dto.getFromAccountId());
+        return accountRepository.findByIdForUpdate(accountId)
+                .orElseThrow(() -> new ServiceException(
+                        ErrorCode.ACCOUNT_NOT_FOUND,
+                        source ? "Source account not found" : "Destination account not found",
+                        Map.of("accountId", accountId)
+                ));
+    }
+
+    // exponential backoff with full jitter, capped so a retried transfer never waits long
+    private void backoff(int attempt) {
+        long ceiling = Math.min(MAX_BACKOFF_MS, BASE_BACKOFF_MS << (attempt - 1));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new ServiceException(ErrorCode.TRANSFER_FAILED, "Transfer interrupted while retrying");
+        }
+    }
+
+    /**
+     * Posts many CREDIT/DEBIT lines in one DB transaction.
+     * Every touched account is row-locked first, in ascending id order like a transfer, so the batch
+     * serializes with single postings and transfers instead of failing late on @Version; balances are
+     * then applied in memory in request order, and the Transaction rows are written through JDBC batching.
+     * A line that fails validation or funds check is reported and skipped; the rest still post.
+     */
+    @Override
+    @Transactional
+    public BatchTransactionResponseDto postTransactionBatch(List<TransactionRequestDto> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new ServiceException(ErrorCode.INVALID_TRANSACTION, "Batch must contain at least one transaction");
+        }
+
+        Set<Long> accountIds = new TreeSet<>(); // ascending, the lock order every writer uses
+        for (TransactionRequestDto dto : requests) {
+            if (dto != null && dto.getAccountId() != null) {
+                accountIds.add(dto.getAccountId());
+            }
+        }
+
+        // one SELECT ... FOR UPDATE per 1000 ids; chunks follow each other, so the order stays ascending
+        Map<Long, Account> accounts = new HashMap<>();
+        List<Long> sortedIds = new ArrayList<>(accountIds);
+        for (int from = 0; from < sortedIds.size(); from += LOCK_CHUNK_SIZE) {
+            List<Long> chunk = sortedIds.subList(from, Math.min(from + LOCK_CHUNK_SIZE, sortedIds.size()));
+            for (Account account : accountRepository.findAllByIdForUpdate(chunk)) {
+                accounts.put(account.getAccountId(), account);
+            }
+        }
+
+        List<BatchTransactionResultDto> results = new ArrayList<>(requests.size());
+        List<Transaction> pending = new ArrayList<>(requests.size());
+        List<BatchTransactionResultDto> pendingResults = new ArrayList<>(requests.size());
+
+        for (int i = 0; i < requests.size(); i++) {
+            TransactionRequestDto dto = requests.get(i);
+            BatchTransactionResultDto result = BatchTransactionResultDto.builder()
+                    .index(i)
+                    .accountId(dto != null ? dto.getAccountId() : null)
+                    .build();
+            results.add(result);
+
+            try {
+                ServiceUtils.validateTransactionRequest(dto);
+
+                Account account = accounts.get(dto.getAccountId());
+                if (account == null) {
+                    throw new ServiceException(ErrorCode.ACCOUNT_NOT_FOUND,
+                            "Account not found with ID: " + dto.getAccountId());
+                }
+
+                BigDecimal newBalance = calculateNewBalance(account, dto);
+                account.setBalance(newBalance);
+
+                pending.add(Transaction.builder()
+                        .account(account)
+                        .amount(dto.getAmount())
+                        .transactionType(dto.getTransactionType())
+                        .description(dto.getDescription())
+                        .build());
+                pendingResults.add(result);
+
+                result.setSuccess(true);
+                result.setBalanceAfter(newBalance);
+            } catch (ServiceException ex) {
+                result.setSuccess(false);
+                result.setErrorCode(ex.getErrorCode().getCode());
+                result.setMessage(ex.getMessage());
+            }
+        }
+
+        // ids come from the pooled sequence, so they are assigned here without extra round trips
+        transactionRepository.saveAll(pending);
+        pending.stream()
+                .map(Transaction::getAccount)
+                .distinct()
+                .forEach(account -> eventPublisher.publishEvent(
+                        BalanceChangedEvent.of(account.getAccountId(), account.getUserId())));
+        pending.forEach(this::publishPosted);
+        for (int i = 0; i < pending.size(); i++) {
+            pendingResults.get(i).setTransactionId(pending.get(i).getTransactionId());
+        }
+
+        int succeeded = pending.size();
+        log.info("Transaction batch posted lines={} succeeded={} failed={} accounts={}",
+                requests.size(), succeeded, requests.size() - succeeded, accounts.size());
+
+        return BatchTransactionResponseDto.builder()
+                .total(requests.size())
+                .succeeded(succeeded)
+                .failed(requests.size() - succeeded)
+                .results(results)
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
 
     // ----- helpers ----- //
 
+    // open bounds are replaced by sentinels so the history queries keep one shape (and one plan)
+    private LocalDateTime historyFrom(TransactionFilterDto filter) {
+        return filter != null && filter.getFrom() != null ? filter.getFrom() : HISTORY_START;
+    }
+
+    private LocalDateTime historyTo(TransactionFilterDto filter) {
+        return filter != null && filter.getTo() != null ? filter.getTo() : HISTORY_END;
+    }
+
+    private Set<TransactionType> historyTypes(TransactionFilterDto filter) {
+        return filter != null && filter.getTransactionType() != null
+                ? EnumSet.of(filter.getTransactionType())
+                : EnumSet.allOf(TransactionType.class);
+    }
+
     private BigDecimal calculateNewBalance(Account account, TransactionRequestDto dto) {
         BigDecimal currentBalance = account.getBalance() != null ? account.getBalance() : BigDecimal.ZERO;
         TransactionType type = dto.getTransactionType();
@@ -175,10 +474,12 @@ public class TransactionServiceImpl implements TransactionService {
         }
 
         if (type == TransactionType.DEBIT) {
-            if (currentBalance.compareTo(dto.getAmount()) < 0) {
+            // pending hot-account credits are spendable even before the compactor folds them in
+            BigDecimal available = currentBalance.add(hotAccountLedger.pendingCredits(account.getAccountId()));
+            if (available.compareTo(dto.getAmount()) < 0) {
                 throw new ServiceException(ErrorCode.INSUFFICIENT_FUNDS,
                         "Insufficient balance for debit",
-                        Map.of("accountId", account.getAccountId(), "currentBalance", currentBalance.toString(), "attempted", dto.getAmount().toString()));
+                        Map.of("accountId", account.getAccountId(), "currentBalance", available.toString(), "attempted", dto.getAmount().toString()));
             }
             return currentBalance.subtract(dto.getAmount());
         }
@@ -187,6 +488,12 @@ public class TransactionServiceImpl implements TransactionService {
                 Map.of("transactionType", dto.getTransactionType()));
     }
 
+    // after commit this is pushed to GET /accounts/{id}/stream subscribers
+    private void publishPosted(Transaction tx) {
+        BigDecimal delta = tx.getTransactionType() == TransactionType.DEBIT ? tx.getAmount().negate() : tx.getAmount();
+        eventPublisher.publishEvent(new TransactionPostedEvent(tx.getAccount().getAccountId(), mapToResponse(tx), delta));
+    }
+
     private TransactionResponseDto mapToResponse(Transaction tx) {
         return TransactionResponseDto.builder()
                 .transactionId(tx.getTransactionId())
@@ -8,6 +8,9 @@ import com.bankingapp.accountservice.exception.ErrorCode;
 import com.bankingapp.accountservice.exception.ServiceException;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.Map;
 import java.util.UUID;
 
@@ -72,4 +75,25 @@ public final class ServiceUtils {
         }
     }
 
+    /**
+     * Opaque keyset cursor for transaction history: base64url("<transactionDate>|<transactionId>").
+     */
+    public static String encodeTransactionCursor(LocalDateTime transactionDate, Long transactionId) {
+        String raw = transactionDate + "|" + transactionId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TransactionCursor decodeTransactionCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new TransactionCursor(LocalDateTime.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new ServiceException(ErrorCode.INVALID_TRANSACTION, "Invalid pagination cursor",
+                    Map.of("cursor", cursor));
+        }
+    }
+
+    public record TransactionCursor(LocalDateTime transactionDate, Long transactionId) {
+    }
 }
@@ -0,0 +1,5 @@
+-- One-off migration for the pooled-lo id optimizer (allocationSize = 50 on Account / Transaction).
+-- ddl-auto=update does not alter existing sequences, so run this once against every existing schema
+-- before deploying. Each NEXTVAL now reserves a block of 50 ids for one JVM.
+ALTER SEQUENCE ACCOUNTS_SEQ INCREMENT BY 50;
+ALTER SEQUENCE TRANSACTIONS_SEQ INCREMENT BY 50;
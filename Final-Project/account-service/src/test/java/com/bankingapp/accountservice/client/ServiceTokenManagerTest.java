@@ -0,0 +1,135 @@
+package com.bankingapp.accountservice.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class ServiceTokenManagerTest {
+
+    private static final String TOKEN_URI = "http://keycloak/realms/banking-app/protocol/openid-connect/token";
+
+    private MockRestServiceServer keycloak;
+    private MutableClock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private ServiceTokenManager tokens;
+
+    @BeforeEach
+    void setUp() {
+        RestClient.Builder builder = RestClient.builder();
+        keycloak = MockRestServiceServer.bindTo(builder).build();
+        clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        meterRegistry = new SimpleMeterRegistry();
+        tokens = new ServiceTokenManager(builder.build(), TOKEN_URI, "accountservice", "secret",
+                Duration.ofSeconds(60), clock, meterRegistry);
+    }
+
+    @Test
+    void prefetchedTokenIsServedFromAnyThreadWithoutAnotherFetch() throws Exception {
+        expectToken("t1", 300);
+        tokens.prefetch();
+
+        String fromPool = CompletableFuture.supplyAsync(tokens::authorizationHeader, Executors.newSingleThreadExecutor())
+                .get();
+        assertThat(fromPool).isEqualTo("Bearer t1");
+        assertThat(tokens.authorizationHeader()).isEqualTo("Bearer t1");
+        keycloak.verify();
+    }
+
+    @Test
+    void backgroundRefreshRenewsBeforeExpiryAndKeepsTokenOnFailure() {
+        expectToken("t1", 300);
+        tokens.prefetch();
+
+        clock.advance(Duration.ofSeconds(200));
+        tokens.refreshIfDue(); // 100 s left, not yet due
+        assertThat(tokens.authorizationHeader()).isEqualTo("Bearer t1");
+
+        nextPhase();
+        keycloak.expect(once(), requestTo(TOKEN_URI)).andRespond(withServerError());
+        clock.advance(Duration.ofSeconds(50));
+        tokens.refreshIfDue(); // 50 s left: due, but Keycloak fails
+        assertThat(tokens.authorizationHeader()).isEqualTo("Bearer t1");
+        assertThat(meterRegistry.counter("service.token.refresh.failures").count()).isEqualTo(1);
+
+        nextPhase();
+        expectToken("t2", 300);
+        tokens.refreshIfDue();
+        assertThat(tokens.authorizationHeader()).isEqualTo("Bearer t2");
+        keycloak.verify();
+    }
+
+    @Test
+    void callerFetchesOnlyWhenThereIsNoValidToken() {
+        keycloak.expect(once(), requestTo(TOKEN_URI)).andRespond(withServerError());
+        tokens.prefetch(); // Keycloak down at startup
+
+        nextPhase();
+        expectToken("t1", 300);
+        assertThat(tokens.authorizationHeader()).isEqualTo("Bearer t1");
+        assertThat(tokens.authorizationHeader()).isEqualTo("Bearer t1");
+        keycloak.verify();
+    }
+
+    // MockRestServiceServer takes no new expectations once requests were made
+    private void nextPhase() {
+        keycloak.verify();
+        keycloak.reset();
+    }
+
+    private void expectToken(String value, long expiresIn) {
+        keycloak.expect(once(), requestTo(TOKEN_URI))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(content().formDataContains(java.util.Map.of(
+                        "grant_type", "client_credentials", "client_id", "accountservice")))
+                .andRespond(withSuccess("{\"access_token\":\"" + value + "\",\"expires_in\":" + expiresIn
+                        + ",\"token_type\":\"Bearer\"}", MediaType.APPLICATION_JSON));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.bankingapp.accountservice.config;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Correctness of the token cache, plus a microbenchmark of the per-request auth work
+ * (decode + authorities) with and without it.
+ */
+@Slf4j
+class CachingJwtDecoderTest {
+
+    private static final String ISSUER = "http://localhost:8181/realms/banking-app";
+    private static final int WARMUP = 2_000;
+    private static final int REQUESTS = 5_000;
+
+    private RSAKey key;
+    private NimbusJwtDecoder nimbus;
+    private CachingJwtDecoder caching;
+    private final AtomicInteger authorityComputations = new AtomicInteger();
+    private Converter<Jwt, Collection<GrantedAuthority>> authorities;
+
+    @BeforeEach
+    void setUp() throws JOSEException {
+        key = new RSAKeyGenerator(2048).keyID("k1").generate();
+        nimbus = NimbusJwtDecoder.withPublicKey(key.toRSAPublicKey()).build();
+        nimbus.setJwtValidator(JwtValidators.createDefaultWithIssuer(ISSUER));
+        caching = new CachingJwtDecoder(nimbus, 1_000, new SimpleMeterRegistry());
+
+        JwtGrantedAuthoritiesConverter scopes = new JwtGrantedAuthoritiesConverter();
+        authorities = CachingJwtDecoder.cachedAuthorities(jwt -> {
+            authorityComputations.incrementAndGet();
+            return scopes.convert(jwt);
+        });
+    }
+
+    @Test
+    void repeatedTokenIsValidatedAndMappedOnce() throws JOSEException {
+        String token = token("alice", Instant.now().plusSeconds(300));
+
+        Jwt first = caching.decode(token);
+        Jwt second = caching.decode(token);
+        assertThat(second).isSameAs(first);
+        assertThat(second.getSubject()).isEqualTo("alice");
+
+        assertThat(authorities.convert(first)).extracting(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrder("SCOPE_accounts", "SCOPE_profile");
+        authorities.convert(second);
+        assertThat(authorityComputations).hasValue(1);
+
+        assertThat(caching.decode(token("bob", Instant.now().plusSeconds(300))).getSubject()).isEqualTo("bob");
+    }
+
+    @Test
+    void invalidTokensAreNeverCached() throws JOSEException {
+        String token = token("alice", Instant.now().plusSeconds(300));
+        String tampered = token.substring(0, token.length() - 4) + "AAAA";
+        assertThatThrownBy(() -> caching.decode(tampered)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> caching.decode(tampered)).isInstanceOf(JwtException.class);
+
+        String expired = token("alice", Instant.now().minusSeconds(600));
+        assertThatThrownBy(() -> caching.decode(expired)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void cacheRemovesSignatureVerificationFromTheRequestPath() throws JOSEException {
+        List<String> tokens = List.of(
+                token("alice", Instant.now().plusSeconds(300)),
+                token("bob", Instant.now().plusSeconds(300)),
+                token("carol", Instant.now().plusSeconds(300)));
+
+        double uncachedMicros = perRequestMicros(nimbus, new JwtGrantedAuthoritiesConverter(), tokens);
+        double cachedMicros = perRequestMicros(caching, authorities, tokens);
+        log.info("auth per request: uncached={} us cached={} us", uncachedMicros, cachedMicros);
+
+        assertThat(cachedMicros * 5).isLessThan(uncachedMicros);
+    }
+
+    private static double perRequestMicros(JwtDecoder decoder, Converter<Jwt, Collection<GrantedAuthority>> converter,
+                                           List<String> tokens) {
+        int sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += converter.convert(decoder.decode(tokens.get(i % tokens.size()))).size();
+        }
+        long began = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            sink += converter.convert(decoder.decode(tokens.get(i % tokens.size()))).size();
+        }
+        double micros = (System.nanoTime() - began) / 1_000.0 / REQUESTS;
+        assertThat(sink).isPositive();
+        return micros;
+    }
+
+    private String token(String subject, Instant expiresAt) throws JOSEException {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer(ISSUER)
+                .subject(subject)
+                .issueTime(Date.from(expiresAt.minusSeconds(900)))
+                .expirationTime(Date.from(expiresAt))
+                .claim("scope", "accounts profile")
+                .claim("realm_access", Map.of("roles", List.of("CUSTOMER")))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(), claims);
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+}
@@ -0,0 +1,93 @@
+package com.bankingapp.accountservice.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Small load test: the same burst of 10 ms queries against an undersized and a right-sized pool.
+ * Logs p99 request latency and the longest connection acquire (hikaricp.connections.acquire) for each;
+ * with too few connections nearly all of the latency is time spent queueing for one.
+ */
+@Slf4j
+class ConnectionPoolSizingTest {
+
+    private static final int CLIENTS = 16;
+    private static final int REQUESTS_PER_CLIENT = 25;
+
+    @Test
+    void undersizedPoolInflatesTailLatency() throws Exception {
+        PoolRun small = run(2);
+        PoolRun sized = run(CLIENTS);
+
+        log.info("pool={} p99={} ms acquireMax={} ms timeouts={}", 2, small.p99Millis, small.acquireMaxMillis, small.timeouts);
+        log.info("pool={} p99={} ms acquireMax={} ms timeouts={}", CLIENTS, sized.p99Millis, sized.acquireMaxMillis, sized.timeouts);
+
+        assertThat(small.p99Millis).isGreaterThan(sized.p99Millis * 1.5);
+    }
+
+    private record PoolRun(double p99Millis, double acquireMaxMillis, double timeouts) {
+    }
+
+    private PoolRun run(int poolSize) throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:pool_" + poolSize + ";DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setPoolName("pool-" + poolSize);
+        config.setMaximumPoolSize(poolSize);
+        config.setMinimumIdle(poolSize);
+        config.setConnectionTimeout(10_000);
+        config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+
+        try (HikariDataSource dataSource = new HikariDataSource(config)) {
+            JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+            jdbc.execute("create alias if not exists SLEEP for \"java.lang.Thread.sleep(long)\"");
+            for (int i = 0; i < poolSize * 2; i++) {
+                jdbc.execute("call SLEEP(1)"); // warm up H2 and the pool before timing
+            }
+
+            List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+            ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < CLIENTS; c++) {
+                futures.add(clients.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                        long began = System.nanoTime();
+                        jdbc.execute("call SLEEP(10)");
+                        latencies.add(System.nanoTime() - began);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+            clients.shutdown();
+
+            List<Long> sorted = new ArrayList<>(latencies);
+            Collections.sort(sorted);
+            double p99 = sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1) / 1_000_000.0;
+
+            Timer acquire = registry.get("hikaricp.connections.acquire").timer();
+            double acquireMax = acquire.takeSnapshot().max(TimeUnit.MILLISECONDS);
+            double timeouts = registry.get("hikaricp.connections.timeout").counter().count();
+            return new PoolRun(p99, acquireMax, timeouts);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.bankingapp.accountservice.config;
+
+import com.bankingapp.accountservice.client.CachedUserServiceClient;
+import com.bankingapp.accountservice.controller.UserCacheController;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * URL-level rules of the filter chain and role checks on the internal endpoints. Only
+ * UserCacheController is mapped behind the chain, so any other request that gets through ends in 404.
+ */
+@WebMvcTest
+@ContextConfiguration(classes = {SecurityConfig.class, UserCacheController.class})
+class SecurityConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private JwtDecoder jwtDecoder;
+
+    @MockBean
+    private CachedUserServiceClient cachedUserServiceClient;
+
+    @BeforeEach
+    void setUp() {
+        for (String role : List.of("CUSTOMER", "ADMIN")) {
+            String token = role.toLowerCase() + "-token";
+            Jwt jwt = Jwt.withTokenValue(token)
+                    .header("alg", "RS256")
+                    .subject("user-" + role.toLowerCase())
+                    .claim("realm_access", Map.of("roles", List.of(role)))
+                    .issuedAt(Instant.now())
+                    .expiresAt(Instant.now().plusSeconds(300))
+                    .build();
+            when(jwtDecoder.decode(token)).thenReturn(jwt);
+        }
+    }
+
+    @Test
+    void sqlProfilerIsAdminOnly() throws Exception {
+        mockMvc.perform(post("/actuator/sqlprofile").header(HttpHeaders.AUTHORIZATION, "Bearer customer-token"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(delete("/actuator/sqlprofile").header(HttpHeaders.AUTHORIZATION, "Bearer customer-token"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(delete("/actuator/sqlprofile"))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(delete("/actuator/sqlprofile").header(HttpHeaders.AUTHORIZATION, "Bearer admin-token"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void userCacheEvictionIsAdminOnly() throws Exception {
+        mockMvc.perform(delete("/internal/cache/users/7").header(HttpHeaders.AUTHORIZATION, "Bearer customer-token"))
+                .andExpect(status().isForbidden());
+        verify(cachedUserServiceClient, never()).evict(7L);
+
+        mockMvc.perform(delete("/internal/cache/users/7").header(HttpHeaders.AUTHORIZATION, "Bearer admin-token"))
+                .andExpect(status().isNoContent());
+        verify(cachedUserServiceClient).evict(7L);
+    }
+}
@@ -0,0 +1,129 @@
+package com.bankingapp.accountservice.controller;
+
+import com.bankingapp.accountservice.config.SecurityConfig;
+import com.bankingapp.accountservice.dto.TransactionResponseDto;
+import com.bankingapp.accountservice.event.TransactionPostedEvent;
+import com.bankingapp.accountservice.exception.ErrorCode;
+import com.bankingapp.accountservice.exception.GlobalExceptionHandler;
+import com.bankingapp.accountservice.exception.ServiceException;
+import com.bankingapp.accountservice.service.AccountActivityBroadcaster;
+import com.bankingapp.accountservice.service.AccountService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET /accounts/{id}/stream: the stream opens at once, carries committed activity for its account,
+ * and is refused with 404 for an unknown account.
+ */
+@WebMvcTest
+@ContextConfiguration(classes = {AccountController.class, AccountActivityBroadcaster.class, SecurityConfig.class,
+        GlobalExceptionHandler.class, AccountStreamControllerTest.MetricsConfig.class})
+class AccountStreamControllerTest {
+
+    @TestConfiguration
+    static class MetricsConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AccountActivityBroadcaster broadcaster;
+
+    @MockBean
+    private JwtDecoder jwtDecoder;
+
+    @MockBean
+    private AccountService accountService;
+
+    @BeforeEach
+    void setUp() {
+        when(jwtDecoder.decode("customer-token")).thenReturn(Jwt.withTokenValue("customer-token")
+                .header("alg", "RS256")
+                .subject("user-customer")
+                .claim("realm_access", Map.of("roles", List.of("CUSTOMER")))
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(300))
+                .build());
+    }
+
+    @Test
+    void streamsCommittedActivityOfTheAccount() throws Exception {
+        MvcResult result = mockMvc.perform(get("/accounts/5/stream")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer customer-token")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        broadcaster.onTransactionPosted(new TransactionPostedEvent(6L, transaction(41L), new BigDecimal("1.00")));
+        broadcaster.onTransactionPosted(new TransactionPostedEvent(5L, transaction(42L), new BigDecimal("-10.00")));
+
+        String body = awaitContent(result, "balanceDelta");
+        assertThat(result.getResponse().getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+        assertThat(body).startsWith(":connected")
+                .contains("id:42")
+                .contains("\"balanceDelta\":-10.00")
+                .doesNotContain("id:41");
+        assertThat(broadcaster.subscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    void unknownAccountIsRefusedBeforeTheStreamOpens() throws Exception {
+        int before = broadcaster.subscriberCount();
+        when(accountService.getAccountById(9L)).thenThrow(new ServiceException(ErrorCode.ACCOUNT_NOT_FOUND));
+
+        mockMvc.perform(get("/accounts/9/stream")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer customer-token")
+                        .accept(MediaType.TEXT_EVENT_STREAM, MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+
+        assertThat(broadcaster.subscriberCount()).isEqualTo(before);
+    }
+
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String body = result.getResponse().getContentAsString();
+        while (!body.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            body = result.getResponse().getContentAsString();
+        }
+        return body;
+    }
+
+    private static TransactionResponseDto transaction(Long id) {
+        return TransactionResponseDto.builder()
+                .transactionId(id)
+                .transactionType("DEBIT")
+                .amount(new BigDecimal("10.00"))
+                .build();
+    }
+}
@@ -0,0 +1,137 @@
+package com.bankingapp.accountservice.controller;
+
+import com.bankingapp.accountservice.config.SecurityConfig;
+import com.bankingapp.accountservice.dto.TransactionPageDto;
+import com.bankingapp.accountservice.dto.TransactionResponseDto;
+import com.bankingapp.accountservice.exception.ErrorCode;
+import com.bankingapp.accountservice.exception.GlobalExceptionHandler;
+import com.bankingapp.accountservice.exception.ServiceException;
+import com.bankingapp.accountservice.service.IdempotencyService;
+import com.bankingapp.accountservice.service.TransactionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET /transactions/account/{id}/export: NDJSON for a known account, a plain 404 for an unknown one
+ * (decided before the streamed 200 goes out). GET /transactions/account/{id}: one capped page, linking to /page.
+ */
+@WebMvcTest
+@ContextConfiguration(classes = {TransactionController.class, SecurityConfig.class, GlobalExceptionHandler.class})
+class TransactionControllerExportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private JwtDecoder jwtDecoder;
+
+    @MockBean
+    private TransactionService transactionService;
+
+    @MockBean
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        when(jwtDecoder.decode("customer-token")).thenReturn(Jwt.withTokenValue("customer-token")
+                .header("alg", "RS256")
+                .subject("user-customer")
+                .claim("realm_access", Map.of("roles", List.of("CUSTOMER")))
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(300))
+                .build());
+    }
+
+    @Test
+    void unknownAccountIsNotFound() throws Exception {
+        doThrow(new ServiceException(ErrorCode.ACCOUNT_NOT_FOUND)).when(transactionService).ensureAccountExists(9L);
+
+        mockMvc.perform(get("/transactions/account/9/export")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer customer-token"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isNotFound());
+
+        verify(transactionService, never()).streamTransactionsByAccount(any(), any(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void knownAccountStreamsOneJsonObjectPerLine() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<TransactionResponseDto> sink = invocation.getArgument(2);
+            sink.accept(TransactionResponseDto.builder().transactionId(1L).amount(BigDecimal.ONE).build());
+            sink.accept(TransactionResponseDto.builder().transactionId(2L).amount(BigDecimal.TEN).build());
+            return null;
+        }).when(transactionService).streamTransactionsByAccount(eq(5L), any(), any(Consumer.class));
+
+        MvcResult result = mockMvc.perform(get("/transactions/account/5/export")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer customer-token"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(matchesPattern(
+                        "\\{\"transactionId\":1,.*}\n\\{\"transactionId\":2,.*}\n")));
+    }
+
+    @Test
+    void unpagedHistoryReturnsTheFirstPageAndLinksToTheNext() throws Exception {
+        when(transactionService.getTransactionPage(eq(5L), isNull(), isNull(), eq(500))).thenReturn(
+                TransactionPageDto.builder()
+                        .items(List.of(TransactionResponseDto.builder().transactionId(9L).amount(BigDecimal.ONE).build()))
+                        .nextCursor("abc_-1")
+                        .hasMore(true)
+                        .build());
+
+        mockMvc.perform(get("/transactions/account/5")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer customer-token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].transactionId").value(9))
+                .andExpect(header().string(HttpHeaders.LINK,
+                        "<http://localhost/transactions/account/5/page?cursor=abc_-1&limit=500>; rel=\"next\""));
+    }
+
+    @Test
+    void unpagedHistoryOnItsLastPageHasNoLink() throws Exception {
+        when(transactionService.getTransactionPage(eq(5L), isNull(), isNull(), eq(500))).thenReturn(
+                TransactionPageDto.builder().items(List.of()).build());
+
+        mockMvc.perform(get("/transactions/account/5")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer customer-token"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.LINK));
+    }
+}
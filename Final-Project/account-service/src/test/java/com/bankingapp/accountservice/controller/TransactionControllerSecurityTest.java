@@ -0,0 +1,91 @@
+package com.bankingapp.accountservice.controller;
+
+import com.bankingapp.accountservice.config.SecurityConfig;
+import com.bankingapp.accountservice.dto.BatchTransactionResponseDto;
+import com.bankingapp.accountservice.exception.GlobalExceptionHandler;
+import com.bankingapp.accountservice.service.IdempotencyService;
+import com.bankingapp.accountservice.service.TransactionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Role checks on the transaction endpoints, with tokens mapped by the real SecurityConfig
+ * (Keycloak realm roles as authorities).
+ */
+@WebMvcTest
+@ContextConfiguration(classes = {TransactionController.class, SecurityConfig.class, GlobalExceptionHandler.class})
+class TransactionControllerSecurityTest {
+
+    private static final String BATCH = """
+            {"transactions":[{"accountId":1,"amount":10.00,"transactionType":"DEBIT"}]}""";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private JwtDecoder jwtDecoder;
+
+    @MockBean
+    private TransactionService transactionService;
+
+    @MockBean
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        when(jwtDecoder.decode("customer-token")).thenReturn(jwt("CUSTOMER"));
+        when(jwtDecoder.decode("admin-token")).thenReturn(jwt("ADMIN"));
+        when(transactionService.postTransactionBatch(anyList())).thenReturn(new BatchTransactionResponseDto());
+    }
+
+    @Test
+    void nonAdminCannotPostBatch() throws Exception {
+        mockMvc.perform(post("/transactions/batch")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer customer-token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(BATCH))
+                .andExpect(status().isForbidden());
+
+        verify(transactionService, never()).postTransactionBatch(any());
+    }
+
+    @Test
+    void adminCanPostBatch() throws Exception {
+        mockMvc.perform(post("/transactions/batch")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer admin-token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(BATCH))
+                .andExpect(status().isOk());
+    }
+
+    private static Jwt jwt(String role) {
+        return Jwt.withTokenValue(role.toLowerCase() + "-token")
+                .header("alg", "RS256")
+                .subject("user-" + role.toLowerCase())
+                .claim("realm_access", Map.of("roles", List.of(role)))
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(300))
+                .build();
+    }
+}
@@ -0,0 +1,163 @@
+package com.bankingapp.accountservice.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two in-memory H2 databases stand in for the Oracle primary and replica; each holds a marker row
+ * naming itself, so every read shows where it was routed.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+    private ReplicaRoutingDataSource routing;
+    private ReplicaLagMonitor lagMonitor;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        primary = h2("routing_primary", "primary");
+        replica = h2("routing_replica", "replica");
+        routing = new ReplicaRoutingDataSource(primary, replica, Duration.ofMillis(300), new SimpleMeterRegistry());
+        routing.afterPropertiesSet();
+        lagMonitor = new ReplicaLagMonitor(primary, replica, routing, Duration.ofSeconds(5), new SimpleMeterRegistry());
+        new JdbcTemplate(replica).update("insert into REPLICA_HEARTBEAT (HEARTBEAT_ID, BEAT_MILLIS) values (1, ?)",
+                System.currentTimeMillis());
+        lagMonitor.check();
+
+        DataSource lazy = new LazyConnectionDataSourceProxy(routing);
+        jdbc = new JdbcTemplate(lazy);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(lazy);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        new JdbcTemplate(primary).execute("drop all objects");
+        new JdbcTemplate(replica).execute("drop all objects");
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplicaAndWritesToPrimary() {
+        assertThat(read(readOnly)).isEqualTo("replica");
+        assertThat(read(readWrite)).isEqualTo("primary");
+        assertThat(ReplicaRoutingDataSource.<String>onPrimary(() -> read(readOnly))).isEqualTo("primary");
+    }
+
+    @Test
+    void callerReadsOwnWritesFromPrimaryForAWhile() throws InterruptedException {
+        actAs("alice");
+        readWrite.executeWithoutResult(status -> jdbc.update("update MARKER set NOTE = 'written'"));
+        assertThat(read(readOnly)).isEqualTo("primary");
+
+        actAs("bob");
+        assertThat(read(readOnly)).isEqualTo("replica");
+
+        actAs("alice");
+        Thread.sleep(500);
+        assertThat(read(readOnly)).isEqualTo("replica");
+    }
+
+    @Test
+    void replicaIsUnusedUntilTheLagMonitorHasChecked() {
+        ReplicaRoutingDataSource fresh = new ReplicaRoutingDataSource(primary, replica, Duration.ofMillis(300),
+                new SimpleMeterRegistry());
+        fresh.afterPropertiesSet();
+        TransactionTemplate freshReadOnly = new TransactionTemplate(
+                new DataSourceTransactionManager(new LazyConnectionDataSourceProxy(fresh)));
+        freshReadOnly.setReadOnly(true);
+        JdbcTemplate freshJdbc = new JdbcTemplate(new LazyConnectionDataSourceProxy(fresh));
+
+        String routedTo = freshReadOnly.execute(status -> freshJdbc.queryForObject("select NAME from MARKER", String.class));
+
+        assertThat(fresh.isReplicaUsable()).isFalse();
+        assertThat(routedTo).isEqualTo("primary");
+    }
+
+    @Test
+    void rolledBackWriteDoesNotPinTheCallerToPrimary() {
+        actAs("alice");
+        readWrite.executeWithoutResult(status -> {
+            jdbc.update("update MARKER set NOTE = 'discarded'");
+            status.setRollbackOnly();
+        });
+        assertThat(read(readOnly)).isEqualTo("replica");
+    }
+
+    @Test
+    void readYourWritesWindowStartsAtCommit() {
+        actAs("alice");
+        readWrite.executeWithoutResult(status -> {
+            jdbc.update("update MARKER set NOTE = 'written'");
+            sleep(400); // longer than the window
+        });
+        assertThat(read(readOnly)).isEqualTo("primary");
+    }
+
+    @Test
+    void laggingReplicaIsTakenOutOfRotation() {
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replica);
+        replicaJdbc.update("update REPLICA_HEARTBEAT set BEAT_MILLIS = ?", System.currentTimeMillis() - 60_000);
+
+        lagMonitor.check();
+        assertThat(routing.isReplicaUsable()).isFalse();
+        assertThat(read(readOnly)).isEqualTo("primary");
+
+        // replication catches up: copy the primary's heartbeat across
+        Long beat = new JdbcTemplate(primary).queryForObject("select BEAT_MILLIS from REPLICA_HEARTBEAT", Long.class);
+        replicaJdbc.update("update REPLICA_HEARTBEAT set BEAT_MILLIS = ?", beat);
+
+        lagMonitor.check();
+        assertThat(routing.isReplicaUsable()).isTrue();
+        assertThat(read(readOnly)).isEqualTo("replica");
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String read(TransactionTemplate template) {
+        return template.execute(status -> whereAmI());
+    }
+
+    private String whereAmI() {
+        return jdbc.queryForObject("select NAME from MARKER", String.class);
+    }
+
+    private static void actAs(String user) {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(user, null, "USER"));
+    }
+
+    private static DataSource h2(String database, String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table MARKER (NAME varchar(20), NOTE varchar(20))");
+        jdbc.update("insert into MARKER (NAME) values (?)", name);
+        jdbc.execute("create table REPLICA_HEARTBEAT (HEARTBEAT_ID bigint primary key, BEAT_MILLIS bigint not null)");
+        return dataSource;
+    }
+}
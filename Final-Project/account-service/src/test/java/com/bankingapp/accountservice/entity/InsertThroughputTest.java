@@ -0,0 +1,126 @@
+package com.bankingapp.accountservice.entity;
+
+import com.bankingapp.accountservice.enums.AccountType;
+import com.bankingapp.accountservice.enums.TransactionType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Insert benchmark on H2: the same month-end style load (accounts, each with a run of postings) written
+ * with the old mapping (one NEXTVAL per row, no JDBC batching) and with the shipped one (pooled-lo
+ * allocation of 50, batched and ordered inserts). Logs rows per second and JDBC statements for each.
+ * H2 has no network round trip, so the statement count is the number that carries over to Oracle.
+ */
+@Slf4j
+@Tag("benchmark")
+class InsertThroughputTest {
+
+    private static final int ACCOUNTS = 500;
+    private static final int POSTINGS_PER_ACCOUNT = 10;
+    private static final int ROWS = ACCOUNTS * (POSTINGS_PER_ACCOUNT + 1);
+    private static final AtomicLong ACCOUNT_NUMBERS = new AtomicLong();
+
+    @Test
+    void pooledSequencesAndBatchingCutStatementsPerInsert() {
+        Run perRow = run("insert_per_row", false);
+        Run pooled = run("insert_pooled", true);
+
+        log.info("sequence per row, unbatched: {} rows/s, {} statements", perRow.rowsPerSecond(), perRow.statements);
+        log.info("pooled-lo 50, batched:       {} rows/s, {} statements", pooled.rowsPerSecond(), pooled.statements);
+
+        assertThat(perRow.statements).isGreaterThanOrEqualTo(2L * ROWS); // NEXTVAL + INSERT for every row
+        assertThat(pooled.statements).isLessThan(perRow.statements / 20);
+    }
+
+    private record Run(long nanos, long statements) {
+        long rowsPerSecond() {
+            return ROWS * 1_000_000_000L / nanos;
+        }
+    }
+
+    private Run run(String database, boolean pooled) {
+        EntityManagerFactory factory = entityManagerFactory(database, pooled);
+        try {
+            insert(factory, 50); // warm up the mapping and H2 before timing
+            Statistics statistics = factory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            long started = System.nanoTime();
+            insert(factory, ACCOUNTS);
+            long elapsed = System.nanoTime() - started;
+            return new Run(elapsed, statistics.getPrepareStatementCount());
+        } finally {
+            factory.close();
+        }
+    }
+
+    // one transaction per 50 accounts, like a bulk posting job
+    private static void insert(EntityManagerFactory factory, int accounts) {
+        for (int first = 0; first < accounts; first += 50) {
+            EntityManager em = factory.createEntityManager();
+            try {
+                em.getTransaction().begin();
+                for (int i = first; i < Math.min(first + 50, accounts); i++) {
+                    Account account = Account.builder()
+                            .userId((long) i)
+                            .accountNumber("BENCH" + ACCOUNT_NUMBERS.incrementAndGet())
+                            .accountType(AccountType.SAVINGS)
+                            .build();
+                    for (int p = 0; p < POSTINGS_PER_ACCOUNT; p++) {
+                        account.addTransaction(Transaction.builder()
+                                .amount(new BigDecimal("10.00"))
+                                .transactionType(TransactionType.CREDIT)
+                                .description("posting " + p)
+                                .build());
+                    }
+                    em.persist(account);
+                }
+                em.getTransaction().commit();
+            } finally {
+                em.close();
+            }
+        }
+    }
+
+    private static EntityManagerFactory entityManagerFactory(String database, boolean pooled) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("hibernate.hbm2ddl.auto", "create-drop");
+        properties.put("hibernate.generate_statistics", "true");
+        properties.put("hibernate.show_sql", "false");
+        if (pooled) {
+            // as in application.yml
+            properties.put("hibernate.id.optimizer.pooled.preferred", "pooled-lo");
+            properties.put("hibernate.jdbc.batch_size", "50");
+            properties.put("hibernate.jdbc.batch_versioned_data", "true");
+            properties.put("hibernate.order_inserts", "true");
+            properties.put("hibernate.order_updates", "true");
+        }
+
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(new DriverManagerDataSource("jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1", "sa", ""));
+        factory.setPersistenceUnitName(database);
+        factory.setPackagesToScan(Account.class.getPackageName());
+        if (!pooled) {
+            factory.setMappingResources("benchmark/sequence-per-row.orm.xml");
+        }
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(properties);
+        factory.afterPropertiesSet();
+        return factory.getObject();
+    }
+}
@@ -0,0 +1,118 @@
+package com.bankingapp.accountservice.metrics;
+
+import com.bankingapp.accountservice.exception.ErrorCode;
+import com.bankingapp.accountservice.exception.ServiceException;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks the tags and the DB/remote split, and measures what the aspect adds to a call
+ * with a Prometheus registry and percentile histograms on, as in production.
+ */
+@Slf4j
+class ServiceMetricsAspectTest {
+
+    private static final int WARMUP = 300_000;
+    private static final int CALLS = 500_000;
+
+    private PrometheusMeterRegistry registry;
+    private Ledger plain;
+    private Ledger timed;
+
+    @BeforeEach
+    void setUp() {
+        registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        registry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return id.getName().startsWith("service.method")
+                        ? DistributionStatisticConfig.builder().percentilesHistogram(true).build().merge(config)
+                        : config;
+            }
+        });
+        plain = new Ledger();
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Ledger());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ServiceMetricsAspect(registry));
+        timed = factory.getProxy();
+    }
+
+    @Test
+    void recordsOutcomeAndSplitsDbAndRemoteTime() {
+        timed.post();
+        assertThatThrownBy(timed::overdraw).isInstanceOf(ServiceException.class);
+
+        assertThat(registry.get("service.method").tags("class", "Ledger", "method", "post", "outcome", "SUCCESS")
+                .timer().count()).isEqualTo(1);
+        assertThat(registry.get("service.method").tags("method", "overdraw", "outcome", "INSUFFICIENT_FUNDS")
+                .timer().count()).isEqualTo(1);
+        assertThat(registry.get("service.method.db").tags("method", "post").timer()
+                .totalTime(TimeUnit.MILLISECONDS)).isEqualTo(5.0);
+        assertThat(registry.get("service.method.remote").tags("method", "post").timer()
+                .totalTime(TimeUnit.MILLISECONDS)).isEqualTo(2.0);
+        assertThat(registry.scrape()).contains("service_method_seconds_bucket");
+    }
+
+    @Test
+    @Tag("benchmark")
+    void overheadIsNegligible() {
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += plain.balance(i) + timed.balance(i);
+        }
+
+        long began = System.nanoTime();
+        for (int i = 0; i < CALLS; i++) {
+            sink += plain.balance(i);
+        }
+        double plainNanos = (double) (System.nanoTime() - began) / CALLS;
+
+        began = System.nanoTime();
+        for (int i = 0; i < CALLS; i++) {
+            sink += timed.balance(i);
+        }
+        double timedNanos = (double) (System.nanoTime() - began) / CALLS;
+
+        double overheadMicros = (timedNanos - plainNanos) / 1_000;
+        log.info("plain={} ns/call timed={} ns/call overhead={} us/call (sink {})",
+                Math.round(plainNanos), Math.round(timedNanos), overheadMicros, sink);
+
+        // a service call that touches the database takes milliseconds; a few microseconds is noise
+        assertThat(overheadMicros).isLessThan(5.0);
+    }
+
+    @Service
+    static class Ledger {
+
+        public void post() {
+            CallTimings.addDb(TimeUnit.MILLISECONDS.toNanos(5));
+            CallTimings.addRemote(TimeUnit.MILLISECONDS.toNanos(2));
+        }
+
+        public void overdraw() {
+            throw new ServiceException(ErrorCode.INSUFFICIENT_FUNDS);
+        }
+
+        public long balance(int seed) {
+            long value = seed;
+            for (int i = 0; i < 16; i++) {
+                value = value * 31 + i;
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.bankingapp.accountservice.profiling;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlProfilerTest {
+
+    private DriverManagerDataSource h2;
+    private SqlProfiler profiler;
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        h2 = new DriverManagerDataSource("jdbc:h2:mem:sql_profiler;DB_CLOSE_DELAY=-1", "sa", "");
+        new JdbcTemplate(h2).execute("create table ACCOUNTS (ID bigint primary key, OWNER varchar(20))");
+        new JdbcTemplate(h2).update("insert into ACCOUNTS values (1, 'a'), (2, 'b'), (3, 'c')");
+        profiler = new SqlProfiler(1.0, 3);
+        jdbc = new JdbcTemplate(new ProfilingDataSource(h2, profiler));
+    }
+
+    @AfterEach
+    void tearDown() {
+        new JdbcTemplate(h2).execute("drop all objects");
+    }
+
+    @Test
+    void sampledRequestReportsFingerprintsRowsAndNPlusOne() {
+        assertThat(profiler.beginRequest()).isTrue();
+        jdbc.queryForList("select OWNER from ACCOUNTS where ID in (1, 2, 3)");
+        for (long id = 1; id <= 3; id++) {
+            jdbc.queryForObject("select OWNER from ACCOUNTS where ID = " + id, String.class);
+        }
+        profiler.endRequest("GET /accounts/user/{userId}");
+
+        SqlProfiler.Report report = profiler.report();
+        assertThat(report.sampledRequests()).isEqualTo(1);
+        assertThat(report.endpoints()).singleElement().satisfies(endpoint -> {
+            assertThat(endpoint.endpoint()).isEqualTo("GET /accounts/user/{userId}");
+            assertThat(endpoint.statements()).extracting(SqlProfiler.StatementReport::fingerprint)
+                    .containsExactlyInAnyOrder(
+                            "select owner from accounts where id in (...)",
+                            "select owner from accounts where id = ?");
+            assertThat(endpoint.statements())
+                    .filteredOn(s -> s.fingerprint().endsWith("in (...)"))
+                    .singleElement()
+                    .satisfies(s -> assertThat(s.rows()).isEqualTo(3));
+        });
+        assertThat(report.nPlusOneSuspects()).singleElement().satisfies(suspect -> {
+            assertThat(suspect.fingerprint()).isEqualTo("select owner from accounts where id = ?");
+            assertThat(suspect.maxPerRequest()).isEqualTo(3);
+        });
+    }
+
+    @Test
+    void unsampledConnectionsAreNotWrapped() throws SQLException {
+        profiler.setSampleRate(0.0);
+        assertThat(profiler.beginRequest()).isFalse();
+        try (Connection connection = new ProfilingDataSource(h2, profiler).getConnection()) {
+            assertThat(connection.getClass().getName()).startsWith("org.h2");
+        }
+        jdbc.queryForList("select OWNER from ACCOUNTS");
+        profiler.endRequest("GET /accounts");
+
+        assertThat(profiler.report().endpoints()).isEmpty();
+    }
+}
@@ -0,0 +1,65 @@
+package com.bankingapp.accountservice.repository;
+
+import com.bankingapp.accountservice.dto.AccountResponseDto;
+import com.bankingapp.accountservice.entity.Account;
+import com.bankingapp.accountservice.entity.Transaction;
+import com.bankingapp.accountservice.enums.AccountType;
+import com.bankingapp.accountservice.enums.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * GET /accounts/{id} reads the balance together with the id of the newest transaction in it.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+class AccountSummaryWithLastTransactionTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Test
+    void summaryCarriesTheNewestTransactionOfThatAccountOnly() {
+        Account account = entityManager.persist(account("ACC-1"));
+        Account other = entityManager.persist(account("ACC-2"));
+        entityManager.persist(transaction(account));
+        Transaction newest = entityManager.persist(transaction(account));
+        entityManager.persist(transaction(other));
+        Account empty = entityManager.persist(account("ACC-3"));
+        entityManager.flush();
+
+        AccountResponseDto summary = accountRepository.findSummaryWithLastTransactionById(account.getAccountId()).orElseThrow();
+        assertThat(summary.getBalance()).isEqualByComparingTo("100");
+        assertThat(summary.getLastTransactionId()).isEqualTo(newest.getTransactionId());
+        assertThat(accountRepository.findSummaryWithLastTransactionById(empty.getAccountId()).orElseThrow()
+                .getLastTransactionId()).isNull();
+    }
+
+    private static Account account(String accountNumber) {
+        return Account.builder()
+                .userId(7L)
+                .accountNumber(accountNumber)
+                .accountType(AccountType.SAVINGS)
+                .balance(new BigDecimal("100"))
+                .build();
+    }
+
+    private static Transaction transaction(Account account) {
+        return Transaction.builder()
+                .account(account)
+                .amount(BigDecimal.TEN)
+                .transactionType(TransactionType.CREDIT)
+                .build();
+    }
+}
@@ -0,0 +1,85 @@
+package com.bankingapp.accountservice.repository;
+
+import com.bankingapp.accountservice.dto.AccountResponseDto;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Latency of the per-user account lookup on H2 at {@code -Dbenchmark.accounts} rows (default 200,000;
+ * run with 1000000 for the full-size figure): the old path (findAll, then filter by user in Java) against
+ * the indexed DTO projection behind GET /accounts/user/{userId}. Logs the mean of each.
+ */
+@Slf4j
+@Tag("benchmark")
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AccountsByUserLookupTest {
+
+    private static final int ACCOUNTS = Integer.getInteger("benchmark.accounts", 200_000);
+    private static final int ACCOUNTS_PER_USER = 3;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void indexedProjectionIsFasterThanScanningEveryAccount() {
+        int users = ACCOUNTS / ACCOUNTS_PER_USER;
+        jdbc.update("insert into ACCOUNTS (ACCOUNT_ID, USER_ID, ACCOUNT_NUMBER, ACCOUNT_TYPE, BALANCE, " +
+                "CREATED_AT, UPDATED_AT, VERSION) " +
+                "select X, MOD(X, ?), 'ACC' || X, 'SAVINGS', 100, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0 " +
+                "from SYSTEM_RANGE(1, ?)", users, ACCOUNTS);
+        try {
+            Long userId = 42L;
+            List<AccountResponseDto> scanned = scanAll(userId);
+            List<AccountResponseDto> indexed = accountRepository.findSummariesByUserId(userId);
+            assertThat(indexed).extracting(AccountResponseDto::getAccountId)
+                    .hasSize(ACCOUNTS_PER_USER)
+                    .containsExactlyElementsOf(scanned.stream().map(AccountResponseDto::getAccountId).toList());
+
+            double scanMillis = meanMillis(3, () -> scanAll(userId));
+            double indexedMillis = meanMillis(100, () -> accountRepository.findSummariesByUserId(userId));
+
+            log.info("{} accounts: findAll + filter {} ms, findSummariesByUserId {} ms",
+                    ACCOUNTS, String.format("%.1f", scanMillis), String.format("%.3f", indexedMillis));
+            assertThat(indexedMillis).isLessThan(scanMillis / 10);
+        } finally {
+            jdbc.update("delete from ACCOUNTS");
+        }
+    }
+
+    // what getAllAccounts() + the stream filter in AccountController used to do
+    private List<AccountResponseDto> scanAll(Long userId) {
+        return accountRepository.findAll().stream()
+                .filter(account -> Objects.equals(account.getUserId(), userId))
+                .map(account -> new AccountResponseDto(account.getAccountId(), account.getAccountNumber(),
+                        account.getAccountType(), account.getBalance(), account.getUserId(),
+                        account.getCreatedAt(), account.getUpdatedAt()))
+                .toList();
+    }
+
+    private static double meanMillis(int runs, Supplier<?> lookup) {
+        long started = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            lookup.get();
+        }
+        return (System.nanoTime() - started) / 1_000_000.0 / runs;
+    }
+}
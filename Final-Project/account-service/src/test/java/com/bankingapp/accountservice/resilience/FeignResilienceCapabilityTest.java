@@ -0,0 +1,245 @@
+package com.bankingapp.accountservice.resilience;
+
+import com.bankingapp.accountservice.client.UserServiceClient;
+import com.bankingapp.accountservice.dto.UserSummaryDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import feign.Feign;
+import feign.FeignException;
+import feign.Request;
+import feign.RetryableException;
+import feign.Retryer;
+import feign.Target;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Fault injection against a local stub of users-service: slow answers, 5xx, saturation.
+ */
+class FeignResilienceCapabilityTest {
+
+    private static final String USER_JSON = "{\"userId\":1,\"username\":\"alice\",\"email\":\"alice@bank.test\"}";
+
+    private HttpServer stub;
+    private ExecutorService stubThreads;
+    private ExecutorService hedgeExecutor;
+    private SimpleMeterRegistry meterRegistry;
+    private final AtomicInteger hits = new AtomicInteger();
+    private volatile StubBehaviour behaviour = exchange -> respond(exchange, 200, USER_JSON);
+
+    interface StubBehaviour {
+        void handle(HttpExchange exchange) throws Exception;
+    }
+
+    @BeforeEach
+    void startStub() throws IOException {
+        System.setProperty("sun.net.httpserver.nodelay", "true"); // otherwise ~40 ms per call (Nagle + delayed ACK)
+        stubThreads = Executors.newCachedThreadPool();
+        hedgeExecutor = Executors.newCachedThreadPool();
+        meterRegistry = new SimpleMeterRegistry();
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stub.setExecutor(stubThreads);
+        stub.createContext("/", exchange -> {
+            hits.incrementAndGet();
+            try {
+                behaviour.handle(exchange);
+            } catch (Exception e) {
+                exchange.close();
+            }
+        });
+        stub.start();
+    }
+
+    @AfterEach
+    void stopStub() {
+        stub.stop(0);
+        stubThreads.shutdownNow();
+        hedgeExecutor.shutdownNow();
+    }
+
+    @Test
+    void slowDependencyTimesOutNearObservedP99InsteadOfTheFullReadTimeout() {
+        UserServiceClient client = client(guarded(20, 10, false));
+        for (int i = 0; i < 320; i++) { // more than the 256-call window, so the cold first calls age out
+            client.getUserById(1L);
+        }
+
+        behaviour = exchange -> {
+            Thread.sleep(3000);
+            respond(exchange, 200, USER_JSON);
+        };
+        long started = System.nanoTime();
+        assertThatThrownBy(() -> client.getUserById(1L)).isInstanceOf(RetryableException.class);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        assertThat(elapsedMs).isLessThan(1000); // learned timeout is the 200 ms floor, not the 5 s ceiling
+    }
+
+    @Test
+    void failingDependencyOpensTheBreakerAndLaterCallsNeverLeave() {
+        UserServiceClient client = client(guarded(20, 10, false));
+        behaviour = exchange -> respond(exchange, 500, "{}");
+
+        for (int i = 0; i < 10; i++) {
+            assertThatThrownBy(() -> client.getUserById(1L)).isInstanceOf(FeignException.InternalServerError.class);
+        }
+        int hitsWhenOpened = hits.get();
+        for (int i = 0; i < 50; i++) {
+            assertThatThrownBy(() -> client.getUserById(1L)).isInstanceOf(CallNotPermittedException.class);
+        }
+
+        assertThat(hits.get()).isEqualTo(hitsWhenOpened);
+        assertThat(meterRegistry.counter("feign.client.circuitbreaker.transitions",
+                "client", "user-service", "from", "CLOSED", "to", "OPEN").count()).isEqualTo(1);
+        assertThat(meterRegistry.get("resilience4j.circuitbreaker.state")
+                .tags("name", "user-service", "state", "open").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void saturatedBulkheadRejectsImmediately() throws Exception {
+        UserServiceClient client = client(guarded(2, 10, false));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch arrived = new CountDownLatch(2);
+        behaviour = exchange -> {
+            arrived.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            respond(exchange, 200, USER_JSON);
+        };
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            CompletableFuture<UserSummaryDto> first = CompletableFuture.supplyAsync(() -> client.getUserById(1L), callers);
+            CompletableFuture<UserSummaryDto> second = CompletableFuture.supplyAsync(() -> client.getUserById(2L), callers);
+            assertThat(arrived.await(5, TimeUnit.SECONDS)).isTrue();
+
+            long started = System.nanoTime();
+            assertThatThrownBy(() -> client.getUserById(3L)).isInstanceOf(BulkheadFullException.class);
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isLessThan(100);
+
+            release.countDown();
+            assertThat(first.get(5, TimeUnit.SECONDS).getUsername()).isEqualTo("alice");
+            assertThat(second.get(5, TimeUnit.SECONDS).getUsername()).isEqualTo("alice");
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void hedgedGetIsAnsweredByTheFasterAttempt() {
+        UserServiceClient client = client(guarded(20, 10, true));
+        AtomicInteger calls = new AtomicInteger();
+        behaviour = exchange -> {
+            if (calls.incrementAndGet() == 1) {
+                Thread.sleep(2000); // only the first attempt is stuck
+            }
+            respond(exchange, 200, USER_JSON);
+        };
+
+        long started = System.nanoTime();
+        assertThat(client.getUserById(1L).getUsername()).isEqualTo("alice");
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        assertThat(elapsedMs).isLessThan(1000);
+        assertThat(hits.get()).isEqualTo(2);
+        assertThat(meterRegistry.counter("feign.client.hedges", "client", "user-service").count()).isEqualTo(1);
+    }
+
+    @Test
+    void hedgeLoserKeepsTheBulkheadPermitUntilItFinishes() throws Exception {
+        UserServiceClient client = client(guarded(1, 10, true));
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        behaviour = exchange -> {
+            if (calls.incrementAndGet() == 1) {
+                release.await(5, TimeUnit.SECONDS); // the first attempt is stuck until released
+            }
+            respond(exchange, 200, USER_JSON);
+        };
+
+        assertThat(client.getUserById(1L).getUsername()).isEqualTo("alice");
+        assertThatThrownBy(() -> client.getUserById(2L)).isInstanceOf(BulkheadFullException.class);
+
+        release.countDown();
+        long deadline = System.currentTimeMillis() + 5000;
+        UserSummaryDto user = null;
+        while (user == null && System.currentTimeMillis() < deadline) {
+            try {
+                user = client.getUserById(3L);
+            } catch (BulkheadFullException e) {
+                Thread.sleep(20);
+            }
+        }
+        assertThat(user).isNotNull();
+    }
+
+    @Test
+    void fullHedgePoolLeavesTheGetUnhedged() {
+        hedgeExecutor.shutdownNow();
+        hedgeExecutor = new ThreadPoolExecutor(0, 1, 60, TimeUnit.SECONDS, new SynchronousQueue<>());
+        UserServiceClient client = client(guarded(20, 10, true));
+        behaviour = exchange -> {
+            Thread.sleep(300); // slower than the 50 ms hedge delay
+            respond(exchange, 200, USER_JSON);
+        };
+
+        assertThat(client.getUserById(1L).getUsername()).isEqualTo("alice");
+
+        assertThat(hits.get()).isEqualTo(1);
+        assertThat(meterRegistry.counter("feign.client.hedges.rejected", "client", "user-service").count())
+                .isEqualTo(1);
+    }
+
+    private FeignResilienceCapability guarded(int maxConcurrentCalls, int minimumCalls, boolean hedge) {
+        CircuitBreakerRegistry circuitBreakers = new ResilienceConfig().feignCircuitBreakers(
+                meterRegistry, 20, minimumCalls, 50, Duration.ofSeconds(2), Duration.ofSeconds(30));
+        BulkheadRegistry bulkheads = new ResilienceConfig().feignBulkheads(meterRegistry, maxConcurrentCalls);
+        return new FeignResilienceCapability(circuitBreakers, bulkheads, hedgeExecutor, meterRegistry,
+                Duration.ofMillis(200), Duration.ofSeconds(5), 2.0, hedge, Duration.ofMillis(50));
+    }
+
+    private UserServiceClient client(FeignResilienceCapability capability) {
+        ObjectMapper mapper = new ObjectMapper();
+        return Feign.builder()
+                .contract(new SpringMvcContract())
+                .decoder((response, type) -> mapper.readValue(response.body().asInputStream(), mapper.constructType(type)))
+                .options(new Request.Options(1, TimeUnit.SECONDS, 5, TimeUnit.SECONDS, true))
+                .retryer(Retryer.NEVER_RETRY) // as Spring Cloud OpenFeign configures it
+                .addCapability(capability)
+                .target(new Target.HardCodedTarget<>(UserServiceClient.class, "user-service",
+                        "http://127.0.0.1:" + stub.getAddress().getPort()));
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.bankingapp.accountservice.service;
+
+import com.bankingapp.accountservice.dto.AccountResponseDto;
+import com.bankingapp.accountservice.dto.TransactionRequestDto;
+import com.bankingapp.accountservice.dto.TransferRequestDto;
+import com.bankingapp.accountservice.entity.Account;
+import com.bankingapp.accountservice.enums.AccountType;
+import com.bankingapp.accountservice.enums.TransactionType;
+import com.bankingapp.accountservice.repository.AccountRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Dashboard reads come from the projection, which follows committed transfers and credits, and
+ * reloads a user after the ttl so writes from other instances show up.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "account.hot.compaction-interval-ms=3600000"
+})
+@Import({TransactionServiceImpl.class, HotAccountLedger.class, AccountSummaryProjection.class,
+        AccountSummaryProjectionTest.MetricsConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AccountSummaryProjectionTest {
+
+    private static final Long USER_ID = 7L;
+
+    @TestConfiguration
+    static class MetricsConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountSummaryProjection projection;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private HotAccountLedger hotAccountLedger;
+
+    @Test
+    void followsCommittedBalanceChanges() throws Exception {
+        Long fromId = openAccount("PROJ-FROM", "100.00");
+        Long toId = openAccount("PROJ-TO", "0.00");
+
+        assertThat(balances()).containsExactly(new BigDecimal("100.00"), new BigDecimal("0.00"));
+
+        transactionService.transferBetweenAccounts(TransferRequestDto.builder()
+                .fromAccountId(fromId)
+                .toAccountId(toId)
+                .amount(new BigDecimal("40.00"))
+                .build());
+        transactionService.createTransaction(TransactionRequestDto.builder()
+                .accountId(toId)
+                .amount(new BigDecimal("5.00"))
+                .transactionType(TransactionType.CREDIT)
+                .build());
+
+        awaitBalances(new BigDecimal("60.00"), new BigDecimal("45.00"));
+        assertThat(meterRegistry.get("account.projection.lag").timer().count()).isPositive();
+    }
+
+    @Test
+    void writeThroughAnotherInstanceShowsAfterTtl() throws Exception {
+        Long accountId = openAccount("PROJ-OTHER", "10.00");
+        AccountSummaryProjection shortLived = new AccountSummaryProjection(accountRepository, hotAccountLedger,
+                new SimpleMeterRegistry(), 100, Duration.ofMillis(200));
+        assertThat(shortLived.getAccounts(USER_ID)).extracting(AccountResponseDto::getBalance)
+                .usingElementComparator(BigDecimal::compareTo).contains(new BigDecimal("10.00"));
+
+        // no event reaches this projection, as for a write committed by another instance
+        Account account = accountRepository.findById(accountId).orElseThrow();
+        account.setBalance(new BigDecimal("99.00"));
+        accountRepository.save(account);
+        assertThat(balanceOf(shortLived, accountId)).isEqualByComparingTo("10.00");
+
+        Thread.sleep(300);
+        assertThat(balanceOf(shortLived, accountId)).isEqualByComparingTo("99.00");
+        shortLived.shutdown();
+    }
+
+    private static BigDecimal balanceOf(AccountSummaryProjection projection, Long accountId) {
+        return projection.getAccounts(USER_ID).stream()
+                .filter(summary -> summary.getAccountId().equals(accountId))
+                .findFirst().orElseThrow().getBalance();
+    }
+
+    private void awaitBalances(BigDecimal... expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline && !matches(balances(), expected)) {
+            Thread.sleep(20);
+        }
+        assertThat(balances()).usingElementComparator(BigDecimal::compareTo).containsExactly(expected);
+    }
+
+    private static boolean matches(List<BigDecimal> actual, BigDecimal... expected) {
+        if (actual.size() != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (actual.get(i).compareTo(expected[i]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<BigDecimal> balances() {
+        return projection.getAccounts(USER_ID).stream().map(AccountResponseDto::getBalance).toList();
+    }
+
+    private Long openAccount(String number, String balance) {
+        return accountRepository.save(Account.builder()
+                .userId(USER_ID)
+                .accountNumber(number)
+                .accountType(AccountType.SAVINGS)
+                .balance(new BigDecimal(balance))
+                .build()).getAccountId();
+    }
+}
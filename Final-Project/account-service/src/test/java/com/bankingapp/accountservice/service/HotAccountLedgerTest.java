@@ -0,0 +1,182 @@
+package com.bankingapp.accountservice.service;
+
+import com.bankingapp.accountservice.dto.TransactionRequestDto;
+import com.bankingapp.accountservice.entity.Account;
+import com.bankingapp.accountservice.entity.AccountBalanceStripe;
+import com.bankingapp.accountservice.enums.AccountType;
+import com.bankingapp.accountservice.enums.TransactionType;
+import com.bankingapp.accountservice.exception.ErrorCode;
+import com.bankingapp.accountservice.exception.ServiceException;
+import com.bankingapp.accountservice.repository.AccountBalanceStripeRepository;
+import com.bankingapp.accountservice.repository.AccountRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Concurrent credits against one account through the single-row path and the striped
+ * hot-account path. Checks that no credit is lost after compaction and logs the TPS of each;
+ * and that stripes left behind by an account dropped from the hot list are still counted and drained.
+ */
+@Slf4j
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "account.hot.stripes=8",
+        "account.hot.compaction-interval-ms=3600000"
+})
+@Import({TransactionServiceImpl.class, HotAccountLedger.class, HotAccountLedgerTest.MetricsConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class HotAccountLedgerTest {
+
+    private static final int THREADS = 8;
+    private static final int CREDITS_PER_THREAD = 100;
+    private static final BigDecimal CREDIT = new BigDecimal("10.00");
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private HotAccountLedger hotAccountLedger;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountBalanceStripeRepository stripeRepository;
+
+    @Test
+    void stripedCreditsAreFoldedIntoBalance() throws Exception {
+        Long plainId = openAccount("ACCT-PLAIN");
+        Long hotId = openAccount("ACCT-HOT");
+        hotAccountLedger.markHot(hotId);
+
+        long plainNanos = hammer(plainId);
+        long hotNanos = hammer(hotId);
+
+        BigDecimal expected = CREDIT.multiply(BigDecimal.valueOf((long) THREADS * CREDITS_PER_THREAD));
+        assertThat(accountRepository.findById(plainId).orElseThrow().getBalance()).isEqualByComparingTo(expected);
+
+        // before compaction the credits sit in stripes but are already spendable
+        assertThat(accountRepository.findById(hotId).orElseThrow().getBalance()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(hotAccountLedger.pendingCredits(hotId)).isEqualByComparingTo(expected);
+        transactionService.createTransaction(debit(hotId, CREDIT));
+
+        hotAccountLedger.compact();
+
+        assertThat(hotAccountLedger.pendingCredits(hotId)).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(accountRepository.findById(hotId).orElseThrow().getBalance())
+                .isEqualByComparingTo(expected.subtract(CREDIT));
+        assertThatThrownBy(() -> transactionService.createTransaction(debit(hotId, expected)))
+                .isInstanceOfSatisfying(ServiceException.class,
+                        ex -> assertThat(ex.getErrorCode()).isEqualTo(ErrorCode.INSUFFICIENT_FUNDS));
+
+        int credits = THREADS * CREDITS_PER_THREAD;
+        log.info("single-row credits: {} TPS, striped credits: {} TPS",
+                credits * 1_000_000_000L / plainNanos, credits * 1_000_000_000L / hotNanos);
+    }
+
+    @Test
+    void stripesOfAccountNoLongerConfiguredHotAreDrained() {
+        Long accountId = openAccount("ACCT-WAS-HOT");
+        // left over from a run in which the account was configured hot
+        stripeRepository.save(AccountBalanceStripe.builder()
+                .accountId(accountId)
+                .stripeNo(0)
+                .pendingAmount(new BigDecimal("30.00"))
+                .build());
+
+        hotAccountLedger.registerConfiguredAccounts();
+
+        assertThat(hotAccountLedger.isHot(accountId)).isFalse();
+        assertThat(hotAccountLedger.pendingCredits(accountId)).isEqualByComparingTo("30.00");
+        transactionService.createTransaction(debit(accountId, new BigDecimal("20.00"))); // spendable meanwhile
+
+        hotAccountLedger.compact();
+
+        assertThat(accountRepository.findById(accountId).orElseThrow().getBalance()).isEqualByComparingTo("10.00");
+        assertThat(stripeRepository.sumPending(accountId)).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(hotAccountLedger.pendingCredits(accountId)).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    private long hammer(Long accountId) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < CREDITS_PER_THREAD; i++) {
+                    creditWithRetry(accountId);
+                }
+                return null;
+            }));
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        for (Future<?> f : futures) {
+            f.get(60, TimeUnit.SECONDS);
+        }
+        long elapsed = System.nanoTime() - began;
+        pool.shutdown();
+        return elapsed;
+    }
+
+    // the single-row path relies on @Version, so a lost race surfaces as an optimistic lock failure
+    private void creditWithRetry(Long accountId) {
+        while (true) {
+            try {
+                transactionService.createTransaction(TransactionRequestDto.builder()
+                        .accountId(accountId)
+                        .amount(CREDIT)
+                        .transactionType(TransactionType.CREDIT)
+                        .build());
+                return;
+            } catch (org.springframework.dao.ConcurrencyFailureException ex) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    private TransactionRequestDto debit(Long accountId, BigDecimal amount) {
+        return TransactionRequestDto.builder()
+                .accountId(accountId)
+                .amount(amount)
+                .transactionType(TransactionType.DEBIT)
+                .build();
+    }
+
+    private Long openAccount(String number) {
+        return accountRepository.save(Account.builder()
+                .userId(1L)
+                .accountNumber(number)
+                .accountType(AccountType.CURRENT)
+                .balance(BigDecimal.ZERO)
+                .build()).getAccountId();
+    }
+
+    @TestConfiguration
+    static class MetricsConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
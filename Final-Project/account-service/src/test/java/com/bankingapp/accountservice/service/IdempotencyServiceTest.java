@@ -0,0 +1,255 @@
+package com.bankingapp.accountservice.service;
+
+import com.bankingapp.accountservice.dto.TransactionRequestDto;
+import com.bankingapp.accountservice.dto.TransactionResponseDto;
+import com.bankingapp.accountservice.entity.Account;
+import com.bankingapp.accountservice.enums.AccountType;
+import com.bankingapp.accountservice.enums.TransactionType;
+import com.bankingapp.accountservice.exception.ErrorCode;
+import com.bankingapp.accountservice.exception.ServiceException;
+import com.bankingapp.accountservice.repository.AccountRepository;
+import com.bankingapp.accountservice.repository.IdempotencyRecordRepository;
+import com.bankingapp.accountservice.repository.TransactionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Retried POSTs with the same Idempotency-Key move money once and get the original response back,
+ * from the cache or (on another instance) from the IDEMPOTENCY_KEYS table; the stored response commits
+ * with its posting, and a claim whose lease ran out is taken over. A key past its TTL is claimed afresh.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "account.hot.compaction-interval-ms=3600000"
+})
+@Import({TransactionServiceImpl.class, HotAccountLedger.class, IdempotencyService.class,
+        IdempotencyServiceTest.Config.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdempotencyServiceTest {
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper().findAndRegisterModules();
+        }
+    }
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void replayReturnsOriginalResponseWithoutPostingAgain() {
+        Long accountId = openAccount("IDEM-1");
+        TransactionRequestDto credit = request(accountId, TransactionType.CREDIT, "25.00");
+
+        IdempotencyService.Outcome<TransactionResponseDto> first = post("key-1", credit);
+        IdempotencyService.Outcome<TransactionResponseDto> retry = post("key-1", credit);
+
+        // a second instance has a cold cache and must answer from the table
+        IdempotencyService otherInstance = instance(Duration.ofSeconds(30));
+        IdempotencyService.Outcome<TransactionResponseDto> crossInstance = otherInstance.execute("transaction", "key-1",
+                credit, TransactionResponseDto.class,
+                inTransaction -> transactionService.createTransaction(credit, inTransaction));
+
+        assertThat(first.replayed()).isFalse();
+        assertThat(retry.replayed()).isTrue();
+        assertThat(crossInstance.replayed()).isTrue();
+        assertThat(retry.response().getTransactionId()).isEqualTo(first.response().getTransactionId());
+        assertThat(crossInstance.response().getTransactionId()).isEqualTo(first.response().getTransactionId());
+        assertThat(transactionRepository.findByAccount_AccountId(accountId)).hasSize(1);
+        assertThat(accountRepository.findById(accountId).orElseThrow().getBalance()).isEqualByComparingTo("125.00");
+    }
+
+    @Test
+    void rejectsKeyReusedForDifferentRequest() {
+        Long accountId = openAccount("IDEM-2");
+        post("key-2", request(accountId, TransactionType.CREDIT, "10.00"));
+
+        assertThatThrownBy(() -> post("key-2", request(accountId, TransactionType.CREDIT, "99.00")))
+                .isInstanceOf(ServiceException.class)
+                .extracting(e -> ((ServiceException) e).getErrorCode())
+                .isEqualTo(ErrorCode.IDEMPOTENCY_KEY_REUSED);
+        assertThat(transactionRepository.findByAccount_AccountId(accountId)).hasSize(1);
+    }
+
+    @Test
+    void failedRequestReleasesItsKey() {
+        Long accountId = openAccount("IDEM-3");
+        TransactionRequestDto overdraft = request(accountId, TransactionType.DEBIT, "500.00");
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            assertThatThrownBy(() -> post("key-3", overdraft))
+                    .isInstanceOf(ServiceException.class)
+                    .extracting(e -> ((ServiceException) e).getErrorCode())
+                    .isEqualTo(ErrorCode.INSUFFICIENT_FUNDS);
+        }
+        // the second attempt ran again (not 409) because the first released the key
+        assertThat(idempotencyRecordRepository.findAll()).noneMatch(r -> r.getId().endsWith(":key-3"));
+    }
+
+    @Test
+    void responseIsStoredOnlyWithItsPosting() {
+        Long accountId = openAccount("IDEM-4");
+        TransactionRequestDto credit = request(accountId, TransactionType.CREDIT, "40.00");
+
+        // the response is recorded, then the posting's transaction fails before commit
+        assertThatThrownBy(() -> idempotencyService.execute("transaction", "key-4", credit, TransactionResponseDto.class,
+                inTransaction -> transactionService.createTransaction(credit, inTransaction.andThen(response -> {
+                    throw new IllegalStateException("crash before commit");
+                }))))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(transactionRepository.findByAccount_AccountId(accountId)).isEmpty();
+        assertThat(idempotencyRecordRepository.findAll()).noneMatch(r -> r.getId().endsWith(":key-4"));
+
+        IdempotencyService.Outcome<TransactionResponseDto> retry = post("key-4", credit);
+        assertThat(retry.replayed()).isFalse();
+        assertThat(transactionRepository.findByAccount_AccountId(accountId)).hasSize(1);
+    }
+
+    @Test
+    void expiredClaimIsTakenOverAndItsHolderCannotCompleteAnymore() {
+        Long accountId = openAccount("IDEM-5");
+        TransactionRequestDto credit = request(accountId, TransactionType.CREDIT, "5.00");
+        IdempotencyService shortLease = instance(Duration.ofMillis(1));
+        AtomicReference<IdempotencyService.Outcome<TransactionResponseDto>> retried = new AtomicReference<>();
+
+        assertThatThrownBy(() -> shortLease.execute("transaction", "key-5", credit, TransactionResponseDto.class,
+                inTransaction -> {
+                    pause(); // the holder stalls past its lease ...
+                    retried.set(post("key-5", credit)); // ... a retry takes the key over and posts ...
+                    return transactionService.createTransaction(credit, inTransaction); // ... and the holder is fenced off
+                }))
+                .isInstanceOf(ServiceException.class)
+                .extracting(e -> ((ServiceException) e).getErrorCode())
+                .isEqualTo(ErrorCode.IDEMPOTENCY_IN_PROGRESS);
+
+        assertThat(retried.get().replayed()).isFalse();
+        assertThat(transactionRepository.findByAccount_AccountId(accountId)).hasSize(1);
+        assertThat(accountRepository.findById(accountId).orElseThrow().getBalance()).isEqualByComparingTo("105.00");
+        assertThat(post("key-5", credit).response().getTransactionId())
+                .isEqualTo(retried.get().response().getTransactionId());
+    }
+
+    @Test
+    void leasedClaimAnswersInProgress() {
+        Long accountId = openAccount("IDEM-6");
+        TransactionRequestDto credit = request(accountId, TransactionType.CREDIT, "5.00");
+
+        IdempotencyService.Outcome<TransactionResponseDto> first = idempotencyService.execute("transaction", "key-6",
+                credit, TransactionResponseDto.class, inTransaction -> {
+                    assertThatThrownBy(() -> post("key-6", credit))
+                            .isInstanceOf(ServiceException.class)
+                            .extracting(e -> ((ServiceException) e).getErrorCode())
+                            .isEqualTo(ErrorCode.IDEMPOTENCY_IN_PROGRESS);
+                    return transactionService.createTransaction(credit, inTransaction);
+                });
+
+        assertThat(first.replayed()).isFalse();
+        assertThat(transactionRepository.findByAccount_AccountId(accountId)).hasSize(1);
+    }
+
+    @Test
+    void expiredCompletedKeyIsClaimedAgainInsteadOfReplayed() {
+        Long accountId = openAccount("IDEM-7");
+        IdempotencyService shortTtl = instance(Duration.ofMillis(1), Duration.ofSeconds(30));
+
+        IdempotencyService.Outcome<TransactionResponseDto> first = post(shortTtl, "key-7",
+                request(accountId, TransactionType.CREDIT, "5.00"));
+        pause(); // past the TTL, not yet purged
+        IdempotencyService.Outcome<TransactionResponseDto> second = post(shortTtl, "key-7",
+                request(accountId, TransactionType.CREDIT, "7.00")); // a different request may reuse the expired key
+
+        assertThat(second.replayed()).isFalse();
+        assertThat(second.response().getTransactionId()).isNotEqualTo(first.response().getTransactionId());
+        assertThat(transactionRepository.findByAccount_AccountId(accountId)).hasSize(2);
+        assertThat(accountRepository.findById(accountId).orElseThrow().getBalance()).isEqualByComparingTo("112.00");
+    }
+
+    private IdempotencyService.Outcome<TransactionResponseDto> post(String key, TransactionRequestDto dto) {
+        return post(idempotencyService, key, dto);
+    }
+
+    private IdempotencyService.Outcome<TransactionResponseDto> post(IdempotencyService service, String key,
+                                                                    TransactionRequestDto dto) {
+        return service.execute("transaction", key, dto, TransactionResponseDto.class,
+                inTransaction -> transactionService.createTransaction(dto, inTransaction));
+    }
+
+    // another instance: cold cache, same table
+    private IdempotencyService instance(Duration lease) {
+        return instance(Duration.ofHours(1), lease);
+    }
+
+    private IdempotencyService instance(Duration ttl, Duration lease) {
+        return new IdempotencyService(idempotencyRecordRepository, objectMapper,
+                new SimpleMeterRegistry(), transactionManager, ttl, lease, 10);
+    }
+
+    private static void pause() {
+        try {
+            Thread.sleep(20);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static TransactionRequestDto request(Long accountId, TransactionType type, String amount) {
+        return TransactionRequestDto.builder()
+                .accountId(accountId)
+                .transactionType(type)
+                .amount(new BigDecimal(amount))
+                .build();
+    }
+
+    private Long openAccount(String number) {
+        return accountRepository.save(Account.builder()
+                .userId(1L)
+                .accountNumber(number)
+                .accountType(AccountType.SAVINGS)
+                .balance(new BigDecimal("100.00"))
+                .build()).getAccountId();
+    }
+}
@@ -0,0 +1,209 @@
+package com.bankingapp.accountservice.service;
+
+import com.bankingapp.accountservice.dto.BatchTransactionResponseDto;
+import com.bankingapp.accountservice.dto.BatchTransactionResultDto;
+import com.bankingapp.accountservice.dto.TransactionRequestDto;
+import com.bankingapp.accountservice.dto.TransferRequestDto;
+import com.bankingapp.accountservice.entity.Account;
+import com.bankingapp.accountservice.enums.AccountType;
+import com.bankingapp.accountservice.enums.TransactionType;
+import com.bankingapp.accountservice.exception.ErrorCode;
+import com.bankingapp.accountservice.exception.ServiceException;
+import com.bankingapp.accountservice.repository.AccountRepository;
+import com.bankingapp.accountservice.repository.TransactionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hammers transferBetweenAccounts from many threads in both directions and checks that
+ * money is neither created nor destroyed and no transfer dies on a deadlock; then does the
+ * same with batch postings running alongside the transfers.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@Import({TransactionServiceImpl.class, HotAccountLedger.class, TransferConcurrencyTest.MetricsConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TransferConcurrencyTest {
+
+    private static final int ACCOUNTS = 4;
+    private static final int THREADS = 8;
+    private static final int TRANSFERS_PER_THREAD = 50;
+    private static final int BATCHES_PER_THREAD = 10;
+    private static final int ROUNDS_PER_BATCH = 25; // 200 lines: the inserts widen the read-to-update window
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000.00");
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Test
+    void concurrentTransfersConserveTotalBalance() throws Exception {
+        List<Long> ids = openAccounts("ACCT-STRESS");
+        long transactionsBefore = transactionRepository.count();
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                runTransfers(ids, succeeded, rejected);
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> f : futures) {
+            f.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        BigDecimal total = accountRepository.findAllById(ids).stream()
+                .map(Account::getBalance)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        assertThat(total).isEqualByComparingTo(OPENING_BALANCE.multiply(BigDecimal.valueOf(ACCOUNTS)));
+        assertThat(succeeded.get() + rejected.get()).isEqualTo(THREADS * TRANSFERS_PER_THREAD);
+        assertThat(transactionRepository.count() - transactionsBefore).isEqualTo(2L * succeeded.get());
+    }
+
+    @Test
+    void batchPostingsSerializeWithConcurrentTransfers() throws Exception {
+        List<Long> ids = openAccounts("ACCT-BATCH");
+        long transactionsBefore = transactionRepository.count();
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger batchLines = new AtomicInteger();
+        AtomicInteger batchNet = new AtomicInteger(); // credits minus debits posted by batches
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            boolean batcher = t % 2 == 0;
+            futures.add(pool.submit(() -> {
+                start.await();
+                if (!batcher) {
+                    runTransfers(ids, succeeded, rejected);
+                    return null;
+                }
+                for (int i = 0; i < BATCHES_PER_THREAD; i++) {
+                    // accounts in a different order each time; the a-th account pays a+1 to the next,
+                    // so every account's balance moves and a lost update would show in the total
+                    List<Long> order = new ArrayList<>(ids);
+                    Collections.shuffle(order);
+                    List<TransactionRequestDto> lines = new ArrayList<>();
+                    for (int r = 0; r < ROUNDS_PER_BATCH; r++) {
+                        for (int a = 0; a < order.size(); a++) {
+                            lines.add(line(order.get(a), TransactionType.DEBIT, a + 1));
+                            lines.add(line(order.get((a + 1) % order.size()), TransactionType.CREDIT, a + 1));
+                        }
+                    }
+                    // no retry around the batch: a lost @Version race would surface here as an exception
+                    BatchTransactionResponseDto result = transactionService.postTransactionBatch(lines);
+                    batchLines.addAndGet(result.getSucceeded());
+                    for (BatchTransactionResultDto posted : result.getResults()) {
+                        if (posted.isSuccess()) {
+                            TransactionRequestDto line = lines.get(posted.getIndex());
+                            int amount = line.getAmount().intValue();
+                            batchNet.addAndGet(line.getTransactionType() == TransactionType.CREDIT ? amount : -amount);
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> f : futures) {
+            f.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        BigDecimal total = accountRepository.findAllById(ids).stream()
+                .map(Account::getBalance)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        // every balance change that was reported as posted must be in the balances: none lost to a stale read
+        assertThat(total).isEqualByComparingTo(OPENING_BALANCE.multiply(BigDecimal.valueOf(ACCOUNTS))
+                .add(BigDecimal.valueOf(batchNet.get())));
+        assertThat(transactionRepository.count() - transactionsBefore)
+                .isEqualTo(2L * succeeded.get() + batchLines.get());
+    }
+
+    private List<Long> openAccounts(String numberPrefix) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            ids.add(accountRepository.save(Account.builder()
+                    .userId(1L)
+                    .accountNumber(numberPrefix + i)
+                    .accountType(AccountType.CURRENT)
+                    .balance(OPENING_BALANCE)
+                    .build()).getAccountId());
+        }
+        return ids;
+    }
+
+    private void runTransfers(List<Long> ids, AtomicInteger succeeded, AtomicInteger rejected) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+            int from = random.nextInt(ACCOUNTS);
+            int to = (from + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+            try {
+                transactionService.transferBetweenAccounts(TransferRequestDto.builder()
+                        .fromAccountId(ids.get(from))
+                        .toAccountId(ids.get(to))
+                        .amount(BigDecimal.valueOf(1 + random.nextInt(50)))
+                        .build());
+                succeeded.incrementAndGet();
+            } catch (ServiceException ex) {
+                assertThat(ex.getErrorCode()).isIn(ErrorCode.INSUFFICIENT_FUNDS, ErrorCode.TRANSFER_FAILED);
+                rejected.incrementAndGet();
+            }
+        }
+    }
+
+    private static TransactionRequestDto line(Long accountId, TransactionType type, int amount) {
+        return TransactionRequestDto.builder()
+                .accountId(accountId)
+                .amount(BigDecimal.valueOf(amount))
+                .transactionType(type)
+                .build();
+    }
+
+    @TestConfiguration
+    static class MetricsConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
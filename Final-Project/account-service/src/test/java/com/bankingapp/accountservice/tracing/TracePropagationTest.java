@@ -0,0 +1,132 @@
+package com.bankingapp.accountservice.tracing;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.Feign;
+import feign.Param;
+import feign.RequestLine;
+import feign.Response;
+import feign.micrometer.MicrometerObservationCapability;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.handler.DefaultTracingObservationHandler;
+import io.micrometer.tracing.handler.PropagatingSenderTracingObservationHandler;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelPropagator;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Wires the same pieces Spring Boot does (OTel bridge, feign-micrometer, FileSpanExporter) by hand:
+ * a Feign call made inside a server span must carry its traceparent, and both spans must land in
+ * the span file as parent and child.
+ */
+class TracePropagationTest {
+
+    interface UserApi {
+        @RequestLine("GET /api/users/{id}")
+        String getUser(@Param("id") long id);
+    }
+
+    @TempDir
+    Path dir;
+
+    private SdkTracerProvider tracerProvider;
+    private Tracer tracer;
+    private ObservationRegistry observationRegistry;
+    private Path spanFile;
+
+    @BeforeEach
+    void setUp() {
+        spanFile = dir.resolve("spans.jsonl");
+        tracerProvider = SdkTracerProvider.builder()
+                .setResource(Resource.create(Attributes.of(AttributeKey.stringKey("service.name"), "accountservice")))
+                .addSpanProcessor(SimpleSpanProcessor.create(new FileSpanExporter(spanFile, new ObjectMapper())))
+                .build();
+        OpenTelemetrySdk openTelemetry = OpenTelemetrySdk.builder()
+                .setTracerProvider(tracerProvider)
+                .setPropagators(ContextPropagators.create(W3CTraceContextPropagator.getInstance()))
+                .build();
+        io.opentelemetry.api.trace.Tracer otelTracer = openTelemetry.getTracer("test");
+        tracer = new OtelTracer(otelTracer, new OtelCurrentTraceContext(), event -> { });
+
+        observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(
+                new ObservationHandler.FirstMatchingCompositeObservationHandler(
+                        new PropagatingSenderTracingObservationHandler<>(tracer,
+                                new OtelPropagator(openTelemetry.getPropagators(), otelTracer)),
+                        new DefaultTracingObservationHandler(tracer)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.close();
+    }
+
+    @Test
+    void feignCallCarriesTraceparentAndSpansAreExported() throws Exception {
+        AtomicReference<Map<String, Collection<String>>> sentHeaders = new AtomicReference<>();
+        UserApi users = Feign.builder()
+                .client((request, options) -> {
+                    sentHeaders.set(request.headers());
+                    return Response.builder()
+                            .status(200)
+                            .request(request)
+                            .body("{}", StandardCharsets.UTF_8)
+                            .build();
+                })
+                .addCapability(new MicrometerObservationCapability(observationRegistry))
+                .target(UserApi.class, "http://users-service");
+
+        Span server = tracer.nextSpan().name("http post /accounts").start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(server)) {
+            users.getUser(42L);
+        }
+        server.tag("db.time.ms", 3.5);
+        server.end();
+
+        assertThat(sentHeaders.get().get("traceparent")).singleElement()
+                .asString().startsWith("00-" + server.context().traceId() + "-");
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<JsonNode> spans = Files.readAllLines(spanFile).stream().map(line -> {
+            try {
+                return objectMapper.readTree(line);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }).toList();
+        assertThat(spans).hasSize(2);
+        JsonNode client = spans.get(0);
+        JsonNode root = spans.get(1);
+        assertThat(client.get("kind").asText()).isEqualTo("CLIENT");
+        assertThat(client.get("parentSpanId").asText()).isEqualTo(root.get("spanId").asText());
+        assertThat(client.get("traceId").asText()).isEqualTo(root.get("traceId").asText());
+        assertThat(root.get("service").asText()).isEqualTo("accountservice");
+        assertThat(root.get("parentSpanId").isNull()).isTrue();
+        assertThat(root.get("attributes").get("db.time.ms").asText()).isEqualTo("3.5");
+    }
+}
@@ -3,11 +3,13 @@ package com.bankingapp.cardservice;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 
 @SpringBootApplication
 @EnableFeignClients(basePackages = "com.bankingapp.cardservice.client")
 @EnableMethodSecurity
+@EnableScheduling
 public class CardServiceApplication {
 
 	public static void main(String[] args) {
@@ -5,6 +5,10 @@ import com.bankingapp.cardservice.dto.AccountDto;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.List;
 
 /**
  * Feign client to communicate with account-service.
@@ -18,4 +22,8 @@ public interface AccountClient {
 
     @GetMapping("/api/accounts/{id}")
     AccountDto getAccountById(@PathVariable("id") String id);
+
+    /** Accounts found among {@code ids} (one IN query on account-service); unknown ids are left out. */
+    @PostMapping("/api/accounts/batch")
+    List<AccountDto> getAccountsByIds(@RequestBody List<Long> ids);
 }
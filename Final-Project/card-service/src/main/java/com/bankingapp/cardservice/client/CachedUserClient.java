@@ -0,0 +1,98 @@
+package com.bankingapp.cardservice.client;
+
+import com.bankingapp.cardservice.dto.UserDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Size-bounded, TTL-evicting cache in front of {@link UserClient}.
+ * Misses that happen together are fetched in one {@code POST /api/users/batch} call
+ * (see {@link RequestCoalescer}). Users-service not knowing an id is cached as an empty entry with
+ * a shorter TTL; any Feign failure is propagated and never cached. Entries are evicted by users-service
+ * on update/delete through {@code DELETE /api/internal/cache/users/{userId}}.
+ * Ids are parsed to Long before they are cached or join a batch, so "007" and "7" are one user and
+ * a malformed id only fails its own lookup instead of the whole batch.
+ * Stats are published as the {@code cache.*} meters with tag {@code cache=users}.
+ */
+@Component
+@Slf4j
+public class CachedUserClient {
+
+    private final RequestCoalescer<Long, UserDto> userBatches;
+    private final Cache<Long, Optional<UserDto>> users;
+
+    public CachedUserClient(UserClient userClient,
+                            MeterRegistry meterRegistry,
+                            @Value("${user-cache.maximum-size:10000}") long maximumSize,
+                            @Value("${user-cache.ttl:5m}") Duration ttl,
+                            @Value("${user-cache.negative-ttl:30s}") Duration negativeTtl,
+                            @Value("${lookup.coalesce.window:5ms}") Duration coalesceWindow,
+                            @Value("${lookup.coalesce.max-batch-size:100}") int maxBatchSize) {
+        this.userBatches = new RequestCoalescer<>("users",
+                ids -> userClient.getUsersByIds(ids).stream()
+                        .collect(Collectors.toMap(user -> Long.valueOf(user.getId()), Function.identity(),
+                                (first, second) -> first)),
+                coalesceWindow, maxBatchSize, meterRegistry);
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<Long, Optional<UserDto>>() {
+                    @Override
+                    public long expireAfterCreate(Long id, Optional<UserDto> user, long currentTime) {
+                        return (user.isPresent() ? ttl : negativeTtl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long id, Optional<UserDto> user, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(id, user, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long id, Optional<UserDto> user, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "users");
+    }
+
+    /**
+     * Returns the user, or empty when users-service does not know the id or the id is not a number.
+     */
+    public Optional<UserDto> findUser(String id) {
+        Long userId = parseId(id);
+        return userId == null ? Optional.empty() : users.get(userId, userBatches::get);
+    }
+
+    public void evict(String id) {
+        Long userId = parseId(id);
+        if (userId != null) {
+            users.invalidate(userId);
+            log.debug("Evicted user {} from cache", userId);
+        }
+    }
+
+    private static Long parseId(String id) {
+        if (id == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(id);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.bankingapp.cardservice.client;
+
+import com.bankingapp.cardservice.exception.CardException;
+import com.bankingapp.cardservice.metrics.CallTimings;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent Feign lookups concurrently under one deadline.
+ * The first failure completes the whole group and the remaining lookups are cancelled.
+ */
+@Component
+public class RemoteLookups {
+
+    private final ThreadPoolTaskExecutor lookupExecutor;
+    private final long deadlineMs;
+
+    public RemoteLookups(@Qualifier("lookupExecutor") ThreadPoolTaskExecutor lookupExecutor,
+                         @Value("${lookup.deadline-ms:6000}") long deadlineMs) {
+        this.lookupExecutor = lookupExecutor;
+        this.deadlineMs = deadlineMs;
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> lookup) {
+        return CompletableFuture.supplyAsync(lookup, lookupExecutor);
+    }
+
+    /**
+     * Waits for all lookups, failing as soon as any of them fails.
+     * The failing lookup's own exception is rethrown unchanged.
+     * The Feign calls are timed on the lookup threads, so the time spent waiting here is added to the
+     * caller's remote total in {@link CallTimings}.
+     */
+    public void awaitAll(CompletableFuture<?>... lookups) {
+        CompletableFuture<Void> all = CompletableFuture.allOf(lookups);
+        for (CompletableFuture<?> lookup : lookups) {
+            lookup.whenComplete((result, ex) -> {
+                if (ex != null) {
+                    all.completeExceptionally(ex);
+                }
+            });
+        }
+
+        long started = System.nanoTime();
+        try {
+            all.get(deadlineMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            cancel(lookups);
+            Throwable cause = ex.getCause() instanceof CompletionException ce && ce.getCause() != null
+                    ? ce.getCause() : ex.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new CardException("Validation failed: " + cause.getMessage(), cause);
+        } catch (TimeoutException ex) {
+            cancel(lookups);
+            throw new CardException("User/account validation timed out after " + deadlineMs + " ms");
+        } catch (InterruptedException ex) {
+            cancel(lookups);
+            Thread.currentThread().interrupt();
+            throw new CardException("Validation interrupted", ex);
+        } finally {
+            CallTimings.addRemote(System.nanoTime() - started);
+        }
+    }
+
+    private void cancel(CompletableFuture<?>... lookups) {
+        for (CompletableFuture<?> lookup : lookups) {
+            lookup.cancel(true);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.bankingapp.cardservice.client;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * This service's own access token (OAuth2 client credentials against the Keycloak realm), attached to
+ * every Feign call instead of the caller's JWT, so schedulers, batch jobs and async threads can call
+ * other services too.
+ *
+ * The token is fetched at startup and replaced in the background {@code service-auth.refresh-ahead}
+ * before it expires (at most half its lifetime), so {@link #authorizationHeader()} is a volatile read.
+ * Only when there is no valid token at all (Keycloak was down at startup or for a whole token lifetime)
+ * does a caller fetch one itself, one at a time. A failed background refresh keeps the current token.
+ */
+@Component
+@Slf4j
+public class ServiceTokenManager {
+
+    private final RestClient restClient;
+    private final String tokenUri;
+    private final String clientId;
+    private final String clientSecret;
+    private final Duration refreshAhead;
+    private final Clock clock;
+    private final Counter refreshFailures;
+    private final ReentrantLock fetchLock = new ReentrantLock(); // held across the token request: concurrent callers wait for one fetch
+
+    private volatile Token token;
+
+    @Autowired
+    public ServiceTokenManager(@Value("${service-auth.token-uri}") String tokenUri,
+                               @Value("${service-auth.client-id}") String clientId,
+                               @Value("${service-auth.client-secret}") String clientSecret,
+                               @Value("${service-auth.refresh-ahead:60s}") Duration refreshAhead,
+                               MeterRegistry meterRegistry) {
+        this(restClient(), tokenUri, clientId, clientSecret, refreshAhead, Clock.systemUTC(), meterRegistry);
+    }
+
+    ServiceTokenManager(RestClient restClient, String tokenUri, String clientId, String clientSecret,
+                        Duration refreshAhead, Clock clock, MeterRegistry meterRegistry) {
+        this.restClient = restClient;
+        this.tokenUri = tokenUri;
+        this.clientId = clientId;
+        this.clientSecret = clientSecret;
+        this.refreshAhead = refreshAhead;
+        this.clock = clock;
+        this.refreshFailures = meterRegistry.counter("service.token.refresh.failures");
+        meterRegistry.gauge("service.token.remaining", this, m -> m.remainingSeconds());
+    }
+
+    private record Token(String value, Instant expiresAt, Instant refreshAt) {
+    }
+
+    private record TokenResponse(@JsonProperty("access_token") String accessToken,
+                                 @JsonProperty("expires_in") long expiresIn) {
+    }
+
+    /**
+     * "Bearer ..." for an outbound call; safe from any thread.
+     */
+    public String authorizationHeader() {
+        Token current = token;
+        if (current == null || !clock.instant().isBefore(current.expiresAt())) {
+            current = fetchNow();
+        }
+        return "Bearer " + current.value();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void prefetch() {
+        refreshQuietly();
+    }
+
+    @Scheduled(initialDelayString = "${service-auth.check-interval-ms:5000}",
+            fixedDelayString = "${service-auth.check-interval-ms:5000}")
+    public void refreshIfDue() {
+        Token current = token;
+        if (current == null || !clock.instant().isBefore(current.refreshAt())) {
+            refreshQuietly();
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            token = fetch();
+        } catch (RestClientException | IllegalStateException e) {
+            refreshFailures.increment();
+            log.warn("Service token refresh from {} failed, keeping the current token: {}", tokenUri, e.getMessage());
+        }
+    }
+
+    private Token fetchNow() {
+        fetchLock.lock();
+        try {
+            Token current = token;
+            if (current != null && clock.instant().isBefore(current.expiresAt())) {
+                return current; // another caller fetched it while we waited
+            }
+            current = fetch();
+            token = current;
+            return current;
+        } finally {
+            fetchLock.unlock();
+        }
+    }
+
+    private Token fetch() {
+        MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
+        form.add("grant_type", "client_credentials");
+        form.add("client_id", clientId);
+        form.add("client_secret", clientSecret);
+
+        TokenResponse response = restClient.post()
+                .uri(tokenUri)
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .body(form)
+                .retrieve()
+                .body(TokenResponse.class);
+        if (response == null || response.accessToken() == null) {
+            throw new IllegalStateException("Token endpoint returned no access_token");
+        }
+
+        Instant now = clock.instant();
+        Duration lifetime = Duration.ofSeconds(response.expiresIn());
+        Duration ahead = refreshAhead.compareTo(lifetime.dividedBy(2)) < 0 ? refreshAhead : lifetime.dividedBy(2);
+        Instant expiresAt = now.plus(lifetime);
+        log.debug("Fetched service token, expires at {}", expiresAt);
+        return new Token(response.accessToken(), expiresAt, expiresAt.minus(ahead));
+    }
+
+    private double remainingSeconds() {
+        Token current = token;
+        return current == null ? 0 : Math.max(0, Duration.between(clock.instant(), current.expiresAt()).toSeconds());
+    }
+
+    private static RestClient restClient() {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(2000);
+        requestFactory.setReadTimeout(2000);
+        return RestClient.builder().requestFactory(requestFactory).build();
+    }
+}
@@ -5,6 +5,10 @@ import com.bankingapp.cardservice.dto.UserDto;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.List;
 
 /**
  * Feign client to communicate with user-service.
@@ -18,4 +22,8 @@ public interface UserClient {
 
     @GetMapping("/api/users/{id}")
     UserDto getUserById(@PathVariable("id") String id);
+
+    /** Users found among {@code ids} (one IN query on user-service); unknown ids are left out. */
+    @PostMapping("/api/users/batch")
+    List<UserDto> getUsersByIds(@RequestBody List<Long> ids);
 }
@@ -1,31 +1,20 @@
 package com.bankingapp.cardservice.config;
 
+import com.bankingapp.cardservice.client.ServiceTokenManager;
 import feign.RequestInterceptor;
-import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.context.request.RequestAttributes;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.http.HttpHeaders;
 
 /**
- * Forwards the incoming Authorization header (JWT)
- * to all outgoing Feign requests automatically.
+ * Authenticates all outgoing Feign requests with this service's own token
+ * (see {@link ServiceTokenManager}), so they work outside a request thread as well.
  */
 @Configuration
 public class FeignClientConfig {
 
     @Bean
-    public RequestInterceptor requestInterceptor() {
-        return requestTemplate -> {
-            RequestAttributes attrs = RequestContextHolder.getRequestAttributes();
-            if (attrs instanceof ServletRequestAttributes servletAttrs) {
-                HttpServletRequest request = servletAttrs.getRequest();
-                String authHeader = request.getHeader("Authorization");
-                if (authHeader != null && !authHeader.isBlank()) {
-                    requestTemplate.header("Authorization", authHeader);
-                }
-            }
-        };
+    public RequestInterceptor requestInterceptor(ServiceTokenManager serviceTokenManager) {
+        return requestTemplate -> requestTemplate.header(HttpHeaders.AUTHORIZATION, serviceTokenManager.authorizationHeader());
     }
 }
@@ -0,0 +1,69 @@
+package com.bankingapp.cardservice.config;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * JWT decoding without Keycloak on the request path.
+ * The realm's JWKS is fetched at startup and kept in a cache that is refreshed in the background
+ * ahead of expiry, so requests only verify against keys already in memory; a key rotation
+ * (unknown kid) still triggers a rate-limited refetch. Validated tokens are cached by {@link CachingJwtDecoder}.
+ * If Keycloak is down at startup the service still starts and the first request fetches the keys.
+ */
+@Configuration
+@Slf4j
+public class JwtDecoderConfig {
+
+    @Bean
+    public JWKSource<SecurityContext> jwkSource(
+            @Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri}") String jwkSetUri,
+            @Value("${jwt.jwks.ttl:15m}") Duration ttl,
+            @Value("${jwt.jwks.refresh-ahead:1m}") Duration refreshAhead) throws MalformedURLException {
+        JWKSource<SecurityContext> jwkSource = JWKSourceBuilder.<SecurityContext>create(URI.create(jwkSetUri).toURL())
+                .cache(ttl.toMillis(), JWKSourceBuilder.DEFAULT_CACHE_REFRESH_TIMEOUT)
+                .refreshAheadCache(refreshAhead.toMillis(), true)
+                .outageTolerant(Duration.ofHours(1).toMillis())
+                .build();
+        try {
+            jwkSource.get(new JWKSelector(new JWKMatcher.Builder().build()), null);
+            log.info("Prefetched JWKS from {}", jwkSetUri);
+        } catch (KeySourceException e) {
+            log.warn("Could not prefetch JWKS from {}, will retry on first request: {}", jwkSetUri, e.getMessage());
+        }
+        return jwkSource;
+    }
+
+    @Bean
+    public JwtDecoder jwtDecoder(JWKSource<SecurityContext> jwkSource,
+                                 @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuer,
+                                 @Value("${jwt.cache.maximum-size:10000}") long maximumSize,
+                                 MeterRegistry meterRegistry) {
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, jwkSource));
+        processor.setJWTClaimsSetVerifier((claims, context) -> {
+            // claims are checked by the Spring validators below
+        });
+        NimbusJwtDecoder nimbus = new NimbusJwtDecoder(processor);
+        nimbus.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuer));
+        return new CachingJwtDecoder(nimbus, maximumSize, meterRegistry);
+    }
+}
@@ -0,0 +1,28 @@
+package com.bankingapp.cardservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executor for the parallel user/account lookups done before creating a card.
+ * Feign calls authenticate with the service's own token (see {@link FeignClientConfig}),
+ * so the workers need nothing from the caller's request. The caller's observation is carried over,
+ * though, so the Feign client spans stay children of the request span.
+ */
+@Configuration
+public class LookupExecutorConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor lookupExecutor(@Value("${lookup.pool-size:32}") int poolSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(poolSize * 4);
+        executor.setThreadNamePrefix("lookup-");
+        executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+        return executor;
+    }
+}
@@ -0,0 +1,26 @@
+package com.bankingapp.cardservice.controller;
+
+import com.bankingapp.cardservice.client.CachedUserClient;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Internal endpoint called by user-service after a user is updated or deleted.
+ */
+@RestController
+@RequestMapping("/api/internal/cache/users")
+@RequiredArgsConstructor
+public class UserCacheController {
+
+    private final CachedUserClient cachedUserClient;
+
+    // ---------------- EVICT ----------------
+    @DeleteMapping("/{userId}")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Void> evictUser(@PathVariable String userId) {
+        cachedUserClient.evict(userId);
+        return ResponseEntity.noContent().build();
+    }
+}
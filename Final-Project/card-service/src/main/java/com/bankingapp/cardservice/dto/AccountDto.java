@@ -1,5 +1,6 @@
 package com.bankingapp.cardservice.dto;
 
+import com.fasterxml.jackson.annotation.JsonAlias;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -13,6 +14,7 @@ import java.math.BigDecimal;
 @Setter
 public class AccountDto {
 
+    @JsonAlias("accountId") // account-service sends accountId
     private String id;          // account ID
     private String userId;      // owner reference (used for validation)
     private String accountType; // e.g. SAVINGS, CURRENT
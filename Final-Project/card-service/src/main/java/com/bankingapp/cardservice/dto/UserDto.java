@@ -1,5 +1,6 @@
 package com.bankingapp.cardservice.dto;
 
+import com.fasterxml.jackson.annotation.JsonAlias;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -10,6 +11,7 @@ import lombok.Setter;
 @Getter
 @Setter
 public class UserDto {
+    @JsonAlias("userId") // user-service sends userId
     private String id;
     private String fullName;
     private String email;
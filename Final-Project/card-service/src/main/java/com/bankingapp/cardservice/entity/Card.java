@@ -30,7 +30,7 @@ public class Card {
     @SequenceGenerator(
             name = "card_seq_gen",
             sequenceName = "card_seq",
-            allocationSize = 1
+            allocationSize = 50
     )
     @Column(name = "id", nullable = false, updatable = false)
     private Long id;
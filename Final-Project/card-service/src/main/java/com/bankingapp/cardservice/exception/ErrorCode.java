@@ -13,6 +13,7 @@ public enum ErrorCode {
     RESOURCE_NOT_FOUND(HttpStatus.NOT_FOUND, "Resource not found"),
     FEIGN_NOT_FOUND(HttpStatus.NOT_FOUND, "Referenced resource not found in another service"),
     FEIGN_ERROR(HttpStatus.BAD_GATEWAY, "Error calling external service"),
+    SERVICE_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "External service unavailable, try again later"),
     API_EXCEPTION(HttpStatus.BAD_REQUEST, "Application-level exception"),
     INTERNAL_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "Internal server error");
 
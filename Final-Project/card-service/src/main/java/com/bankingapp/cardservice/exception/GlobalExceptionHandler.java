@@ -1,6 +1,8 @@
 package com.bankingapp.cardservice.exception;
 
 import feign.FeignException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
 import org.springframework.http.HttpStatus;
@@ -52,6 +54,11 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(ErrorCode.FEIGN_NOT_FOUND, null, request.getRequestURI());
     }
 
+    @ExceptionHandler({CallNotPermittedException.class, BulkheadFullException.class})
+    public ResponseEntity<ErrorResponse> handleDependencyRejected(RuntimeException ex, HttpServletRequest request) {
+        return buildErrorResponse(ErrorCode.SERVICE_UNAVAILABLE, ex.getMessage(), request.getRequestURI());
+    }
+
     @ExceptionHandler(FeignException.class)
     public ResponseEntity<ErrorResponse> handleFeignGeneral(FeignException ex, HttpServletRequest request) {
         return buildErrorResponse(ErrorCode.FEIGN_ERROR, ex.getMessage(), request.getRequestURI());
@@ -0,0 +1,42 @@
+package com.bankingapp.cardservice.metrics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Adds JDBC prepare/execute/batch time to {@link CallTimings}. Hibernate creates one per session
+ * (hibernate.session.events.auto); the events of a session arrive in start/end pairs on the session's thread.
+ */
+public class DbTimeSessionListener implements SessionEventListener {
+
+    private long started;
+
+    @Override
+    public void jdbcPrepareStatementStart() {
+        started = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcPrepareStatementEnd() {
+        CallTimings.addDb(System.nanoTime() - started);
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        started = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        CallTimings.addDb(System.nanoTime() - started);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        started = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        CallTimings.addDb(System.nanoTime() - started);
+    }
+}
@@ -1,14 +1,16 @@
 package com.bankingapp.cardservice.service.impl;
 
-import com.bankingapp.cardservice.client.AccountClient;
-import com.bankingapp.cardservice.client.UserClient;
+import com.bankingapp.cardservice.client.CachedUserClient;
+import com.bankingapp.cardservice.client.CoalescingAccountClient;
+import com.bankingapp.cardservice.client.RemoteLookups;
 import com.bankingapp.cardservice.dto.AccountDto;
-import com.bankingapp.cardservice.dto.UserDto;
 import com.bankingapp.cardservice.entity.Card;
 import com.bankingapp.cardservice.enums.CardType;
 import com.bankingapp.cardservice.exception.CardException;
 import com.bankingapp.cardservice.repository.CardRepository;
 import com.bankingapp.cardservice.service.CardService;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -16,32 +18,46 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
 public class CardServiceImpl implements CardService {
 
     private final CardRepository cardRepository;
-    private final UserClient userClient;
-    private final AccountClient accountClient;
+    private final CachedUserClient userClient;
+    private final CoalescingAccountClient accountClient;
+    private final RemoteLookups remoteLookups;
 
     @Override
     public Card createCard(Card card) {
-        // 1️⃣ Validate user existence
-        UserDto user;
-        try {
-            user = userClient.getUserById(card.getUserId());
-        } catch (Exception ex) {
-            throw new CardException("User not found for ID: " + card.getUserId());
-        }
-
-        // 2️⃣ Validate account existence
-        AccountDto account;
-        try {
-            account = accountClient.getAccountById(card.getAccountId());
-        } catch (Exception ex) {
-            throw new CardException("Account not found for ID: " + card.getAccountId());
-        }
+        // 1️⃣ + 2️⃣ Validate user and account existence concurrently
+        CompletableFuture<Void> userLookup = remoteLookups.submit(() -> {
+            boolean userExists;
+            try {
+                userExists = userClient.findUser(card.getUserId()).isPresent();
+            } catch (CallNotPermittedException | BulkheadFullException ex) {
+                throw ex; // fast-failed, not a missing user
+            } catch (Exception ex) {
+                userExists = false;
+            }
+            if (!userExists) {
+                throw new CardException("User not found for ID: " + card.getUserId());
+            }
+            return null;
+        });
+        CompletableFuture<AccountDto> accountLookup = remoteLookups.submit(() -> {
+            try {
+                return accountClient.findAccount(card.getAccountId())
+                        .orElseThrow(() -> new CardException("Account not found for ID: " + card.getAccountId()));
+            } catch (CardException | CallNotPermittedException | BulkheadFullException ex) {
+                throw ex;
+            } catch (Exception ex) {
+                throw new CardException("Account not found for ID: " + card.getAccountId());
+            }
+        });
+        remoteLookups.awaitAll(userLookup, accountLookup);
+        AccountDto account = accountLookup.join();
 
         // 3️⃣ Validate account-user linkage
         if (!account.getUserId().equals(card.getUserId())) {
@@ -0,0 +1,42 @@
+package com.bankingapp.cardservice.tracing;
+
+import com.bankingapp.cardservice.metrics.CallTimings;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Tags the inbound request's server span with the JDBC and Feign time spent while handling it
+ * ({@code db.time.ms}, {@code remote.time.ms}), so a trace shows where each hop spent its time.
+ * Runs inside Spring's server observation filter, so the server span is current here.
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestTimingsFilter extends OncePerRequestFilter {
+
+    private final Tracer tracer;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long db = CallTimings.dbNanos();
+        long remote = CallTimings.remoteNanos();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Span span = tracer.currentSpan();
+            if (span != null && !request.isAsyncStarted()) {
+                span.tag("db.time.ms", (CallTimings.dbNanos() - db) / 1_000_000.0);
+                span.tag("remote.time.ms", (CallTimings.remoteNanos() - remote) / 1_000_000.0);
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.bankingapp.cardservice.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Span export. Micrometer Tracing (OTel bridge) creates the spans, propagates W3C traceparent through
+ * Feign (feign-micrometer) and puts traceId/spanId in the MDC; Spring Boot hands every SpanExporter
+ * bean to its batch span processor.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "tracing.export.file")
+    public FileSpanExporter fileSpanExporter(@Value("${tracing.export.file}") Path file, ObjectMapper objectMapper) {
+        return new FileSpanExporter(file, objectMapper);
+    }
+}
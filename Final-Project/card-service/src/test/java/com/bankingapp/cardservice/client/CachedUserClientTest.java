@@ -0,0 +1,104 @@
+package com.bankingapp.cardservice.client;
+
+import com.bankingapp.cardservice.dto.UserDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class CachedUserClientTest {
+
+    private final List<List<Long>> batches = new CopyOnWriteArrayList<>();
+    private final UserClient userClient = mock(UserClient.class);
+    private final CachedUserClient client = new CachedUserClient(userClient, new SimpleMeterRegistry(), 100,
+            Duration.ofMinutes(5), Duration.ofSeconds(30), Duration.ofMillis(200), 500);
+
+    @Test
+    void malformedIdFailsOnlyItsOwnLookup() throws Exception {
+        answerWithEveryUser();
+        List<String> ids = List.of("1", "abc", "2", "", "3");
+
+        List<Optional<UserDto>> results = lookUpConcurrently(ids);
+
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(results.get(0)).map(UserDto::getId).contains("1");
+        assertThat(results.get(1)).isEmpty();
+        assertThat(results.get(2)).map(UserDto::getId).contains("2");
+        assertThat(results.get(3)).isEmpty();
+        assertThat(results.get(4)).map(UserDto::getId).contains("3");
+    }
+
+    @Test
+    void zeroPaddedIdIsTheSameUser() {
+        answerWithEveryUser();
+
+        assertThat(client.findUser("007")).map(UserDto::getId).contains("7");
+        assertThat(client.findUser("7")).map(UserDto::getId).contains("7");
+
+        verify(userClient, times(1)).getUsersByIds(anyList());
+        assertThat(batches.get(0)).containsExactly(7L);
+    }
+
+    @Test
+    void malformedIdAloneNeverCallsUserService() {
+        assertThat(client.findUser("12x")).isEmpty();
+        assertThat(client.findUser(null)).isEmpty();
+        client.evict("12x");
+        verifyNoInteractions(userClient);
+    }
+
+    private void answerWithEveryUser() {
+        when(userClient.getUsersByIds(anyList())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            batches.add(ids);
+            return ids.stream().map(CachedUserClientTest::user).toList();
+        });
+    }
+
+    // as users-service serialises it: the numeric id, without padding
+    private static UserDto user(Long id) {
+        UserDto user = new UserDto();
+        user.setId(String.valueOf(id));
+        return user;
+    }
+
+    private List<Optional<UserDto>> lookUpConcurrently(List<String> ids) throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(ids.size());
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Optional<UserDto>>> futures = new ArrayList<>();
+            for (String id : ids) {
+                futures.add(callers.submit(() -> {
+                    start.await();
+                    return client.findUser(id);
+                }));
+            }
+            start.countDown();
+            List<Optional<UserDto>> results = new ArrayList<>();
+            for (Future<Optional<UserDto>> future : futures) {
+                results.add(future.get(20, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.bankingapp.cardservice.tracing;
+
+import com.bankingapp.cardservice.client.AccountClient;
+import com.bankingapp.cardservice.client.CachedUserClient;
+import com.bankingapp.cardservice.client.CoalescingAccountClient;
+import com.bankingapp.cardservice.client.RemoteLookups;
+import com.bankingapp.cardservice.client.UserClient;
+import com.bankingapp.cardservice.config.LookupExecutorConfig;
+import com.bankingapp.cardservice.entity.Card;
+import com.bankingapp.cardservice.enums.CardType;
+import com.bankingapp.cardservice.repository.CardRepository;
+import com.bankingapp.cardservice.service.impl.CardServiceImpl;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.Feign;
+import feign.Response;
+import feign.micrometer.MicrometerObservationCapability;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.handler.DefaultTracingObservationHandler;
+import io.micrometer.tracing.handler.PropagatingSenderTracingObservationHandler;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelPropagator;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Creates a card inside a request observation, with the user and account lookups running on the
+ * lookup executor: the Feign client spans made on those threads must be children of the request span.
+ */
+class LookupTracePropagationTest {
+
+    @TempDir
+    Path dir;
+
+    private SdkTracerProvider tracerProvider;
+    private ObservationRegistry observationRegistry;
+    private ThreadPoolTaskExecutor lookupExecutor;
+    private Path spanFile;
+
+    @BeforeEach
+    void setUp() {
+        spanFile = dir.resolve("spans.jsonl");
+        tracerProvider = SdkTracerProvider.builder()
+                .setResource(Resource.create(Attributes.of(AttributeKey.stringKey("service.name"), "cardservice")))
+                .addSpanProcessor(SimpleSpanProcessor.create(new FileSpanExporter(spanFile, new ObjectMapper())))
+                .build();
+        OpenTelemetrySdk openTelemetry = OpenTelemetrySdk.builder()
+                .setTracerProvider(tracerProvider)
+                .setPropagators(ContextPropagators.create(W3CTraceContextPropagator.getInstance()))
+                .build();
+        io.opentelemetry.api.trace.Tracer otelTracer = openTelemetry.getTracer("test");
+        Tracer tracer = new OtelTracer(otelTracer, new OtelCurrentTraceContext(), event -> { });
+
+        observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(
+                new ObservationHandler.FirstMatchingCompositeObservationHandler(
+                        new PropagatingSenderTracingObservationHandler<>(tracer,
+                                new OtelPropagator(openTelemetry.getPropagators(), otelTracer)),
+                        new DefaultTracingObservationHandler(tracer)));
+
+        lookupExecutor = new LookupExecutorConfig().lookupExecutor(4);
+        lookupExecutor.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        lookupExecutor.shutdown();
+        tracerProvider.close();
+    }
+
+    @Test
+    void lookupSpansAreChildrenOfTheRequestSpan() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        UserClient users = client(UserClient.class, "userservice", "[{\"userId\":7,\"email\":\"a@bank.test\"}]");
+        AccountClient accounts = client(AccountClient.class, "accountservice", "[{\"accountId\":3,\"userId\":\"7\"}]");
+        CardRepository cardRepository = mock(CardRepository.class);
+        when(cardRepository.save(any(Card.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        CardServiceImpl cardService = new CardServiceImpl(cardRepository,
+                new CachedUserClient(users, meterRegistry, 100, Duration.ofMinutes(5), Duration.ofSeconds(30),
+                        Duration.ofMillis(1), 100),
+                new CoalescingAccountClient(accounts, meterRegistry, Duration.ofMillis(1), 100),
+                new RemoteLookups(lookupExecutor, 5000));
+
+        Card card = Card.builder()
+                .userId("7")
+                .accountId("3")
+                .cardType(CardType.DEBIT)
+                .cardHolderName("Alice")
+                .build();
+        Observation.createNotStarted("http.server.requests", observationRegistry)
+                .observe(() -> cardService.createCard(card));
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<JsonNode> spans = Files.readAllLines(spanFile).stream().map(line -> {
+            try {
+                return objectMapper.readTree(line);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }).toList();
+        JsonNode request = spans.stream().filter(span -> span.get("parentSpanId").isNull()).findFirst().orElseThrow();
+        List<JsonNode> clients = spans.stream().filter(span -> span.get("kind").asText().equals("CLIENT")).toList();
+        assertThat(spans).hasSize(3);
+        assertThat(clients).hasSize(2).allSatisfy(client -> {
+            assertThat(client.get("traceId").asText()).isEqualTo(request.get("traceId").asText());
+            assertThat(client.get("parentSpanId").asText()).isEqualTo(request.get("spanId").asText());
+        });
+    }
+
+    private <T> T client(Class<T> api, String name, String body) {
+        ObjectMapper mapper = new ObjectMapper();
+        return Feign.builder()
+                .contract(new SpringMvcContract())
+                .encoder((object, bodyType, template) -> {
+                    try {
+                        template.body(mapper.writeValueAsBytes(object), StandardCharsets.UTF_8);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .decoder((response, type) -> mapper.readValue(response.body().asInputStream(), mapper.constructType(type)))
+                .client((request, options) -> Response.builder()
+                        .status(200)
+                        .request(request)
+                        .body(body, StandardCharsets.UTF_8)
+                        .build())
+                .addCapability(new MicrometerObservationCapability(observationRegistry))
+                .target(api, "http://" + name);
+    }
+}
@@ -1,8 +1,9 @@
-import { Component, OnInit } from '@angular/core';
+import { Component, OnDestroy, OnInit } from '@angular/core';
 import { CommonModule } from '@angular/common';
 import { FormsModule } from '@angular/forms';
 import { AccountService } from '../services/account';
 import { Account } from '../models/account';
+import { Subscription } from 'rxjs';
 
 @Component({
   selector: 'app-accounts',
@@ -11,7 +12,7 @@ import { Account } from '../models/account';
   templateUrl: './accounts.html',
   styleUrls: ['./accounts.css']
 })
-export class AccountsComponent implements OnInit {
+export class AccountsComponent implements OnInit, OnDestroy {
   accounts: Account[] = [];
   selectedAccount: Account | null = null;
   showCreateForm: boolean = false;
@@ -33,15 +34,23 @@ export class AccountsComponent implements OnInit {
   loading: boolean = false;
   actionLoading: boolean = false;
 
+  // live balances: the list is loaded once, then updated from each account's stream
+  private accountsSub?: Subscription;
+
   constructor(private accountService: AccountService) {}
 
   ngOnInit(): void {
     this.loadAccounts();
   }
 
+  ngOnDestroy(): void {
+    this.accountsSub?.unsubscribe();
+  }
+
   loadAccounts(): void {
     this.loading = true;
-    this.accountService.getAccounts().subscribe({
+    this.accountsSub?.unsubscribe();
+    this.accountsSub = this.accountService.watchAccounts().subscribe({
       next: (data: Account[]) => {
         this.accounts = data;
         this.loading = false;
@@ -68,8 +77,9 @@ export class AccountsComponent implements OnInit {
 
     this.actionLoading = true;
     this.accountService.createAccount(this.newAccount).subscribe({
-      next: (account: Account) => {
-        this.accounts.push(account);
+      next: () => {
+        // resubscribe so the new account gets its own stream
+        this.loadAccounts();
         this.closeCreateForm();
         this.actionLoading = false;
       },
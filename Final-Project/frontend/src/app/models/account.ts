@@ -11,4 +11,22 @@ export interface Account {
   updatedAt?: string;
   createdDate?: string;
   lastActivity?: string;
+  lastTransactionId?: number; // newest transaction in balance (GET /api/accounts/{id} only)
 }
+
+// One push from GET /api/accounts/{id}/stream (backend AccountActivityDto)
+export interface AccountActivity {
+  accountId: number;
+  transaction: {
+    transactionId: number;
+    transactionType: string;
+    amount: number;
+    description?: string;
+    transactionDate?: string;
+  };
+  balanceDelta: number; // signed: + for credits, - for debits
+}
+
+export type AccountStreamEvent =
+  | { type: 'open'; accountId: number; reconnect: boolean }
+  | { type: 'activity'; activity: AccountActivity };
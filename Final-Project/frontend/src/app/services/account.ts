@@ -1,7 +1,7 @@
 import { Injectable } from '@angular/core';
 import { HttpClient, HttpHeaders } from '@angular/common/http';
-import { Observable, map, of, switchMap, tap } from 'rxjs';
-import { Account } from '../models/account';
+import { EMPTY, Observable, concat, concatMap, map, merge, of, switchMap, tap } from 'rxjs';
+import { Account, AccountActivity, AccountStreamEvent } from '../models/account';
 
 @Injectable({ providedIn: 'root' })
 export class AccountService {
@@ -9,13 +9,132 @@ export class AccountService {
 
   constructor(private http: HttpClient) {}
 
-  // GET /api/accounts
+  // GET /api/accounts/user/{userId} (indexed per-user lookup; /api/accounts is a paged admin listing)
   getAccounts(): Observable<Account[]> {
-    return this.http.get<any[]>(this.baseUrl).pipe(
+    const user = localStorage.getItem('user') || null;
+    const userId = user ? JSON.parse(user).userId : null;
+    if (userId == null) {
+      return of([]);
+    }
+    return this.http.get<any[]>(`${this.baseUrl}/user/${userId}`).pipe(
       map((list) => (list || []).map((dto) => this.toAccount(dto)))
     );
   }
 
+  // Current user's accounts, kept live from each account's SSE stream instead of re-fetching the list.
+  // Pushes are not replayed: anything committed between the list load and a stream's (re)connect would be
+  // missed, so each account is reloaded whenever its stream opens, the first time included.
+  // Pushes that arrive while the reload is in flight may already be in its balance; the reload says which
+  // transaction it includes up to, and older pushes are dropped.
+  watchAccounts(): Observable<Account[]> {
+    return this.getAccounts().pipe(
+      switchMap((initial) => {
+        let accounts = initial;
+        const coveredUpTo = new Map<number, number>(); // accountId -> lastTransactionId of the latest reload
+        const ids = initial.map((a) => a.accountId).filter((id): id is number => id != null);
+        const updates = merge(...ids.map((id) => this.streamAccount(id))).pipe(
+          concatMap((event) => {
+            if (event.type === 'open') {
+              return this.getAccountById(event.accountId).pipe(
+                map((fresh) => {
+                  coveredUpTo.set(event.accountId, fresh.lastTransactionId ?? 0);
+                  return (accounts = accounts.map((a) => (a.accountId === fresh.accountId ? fresh : a)));
+                })
+              );
+            }
+            const { accountId, transaction } = event.activity;
+            if (transaction.transactionId <= (coveredUpTo.get(accountId) ?? 0)) {
+              return EMPTY;
+            }
+            return of((accounts = this.applyActivity(accounts, event.activity)));
+          })
+        );
+        return concat(of(initial), updates);
+      })
+    );
+  }
+
+  // GET /api/accounts/{id}/stream (Server-Sent Events)
+  // EventSource cannot send the bearer token, so the stream is read with fetch. It reconnects with
+  // backoff until unsubscribed and emits 'open' on every (re)connect.
+  streamAccount(id: number): Observable<AccountStreamEvent> {
+    return new Observable<AccountStreamEvent>((subscriber) => {
+      const isBrowser = typeof window !== 'undefined' && typeof fetch !== 'undefined';
+      if (!isBrowser) {
+        subscriber.complete();
+        return;
+      }
+
+      let closed = false;
+      let connects = 0;
+      let failures = 0;
+      let retryMs = 3000;
+      let retryTimer: ReturnType<typeof setTimeout> | undefined;
+      const abort = new AbortController();
+
+      const dispatch = (block: string) => {
+        let name = 'message';
+        const data: string[] = [];
+        for (const line of block.split('\n')) {
+          if (line.startsWith('event:')) name = line.slice(6).trim();
+          else if (line.startsWith('data:')) data.push(line.slice(5).trimStart());
+          else if (line.startsWith('retry:')) retryMs = Number(line.slice(6)) || retryMs;
+          // lines starting with ':' are heartbeats
+        }
+        if (name === 'transaction' && data.length) {
+          subscriber.next({ type: 'activity', activity: JSON.parse(data.join('\n')) as AccountActivity });
+        }
+      };
+
+      const connect = async () => {
+        try {
+          const token = localStorage.getItem('access_token');
+          const resp = await fetch(`${this.baseUrl}/${id}/stream`, {
+            headers: { Accept: 'text/event-stream', ...(token ? { Authorization: `Bearer ${token}` } : {}) },
+            signal: abort.signal
+          });
+          if (resp.status === 404) {
+            subscriber.complete(); // account is gone; nothing to follow
+            return;
+          }
+          if (!resp.ok || !resp.body) {
+            throw new Error(`HTTP ${resp.status}`);
+          }
+          failures = 0;
+          subscriber.next({ type: 'open', accountId: id, reconnect: connects++ > 0 });
+
+          const reader = resp.body.getReader();
+          const decoder = new TextDecoder();
+          let buffer = '';
+          for (;;) {
+            const { value, done } = await reader.read();
+            if (done) break;
+            buffer += decoder.decode(value, { stream: true }).replace(/\r\n?/g, '\n');
+            let end: number;
+            while ((end = buffer.indexOf('\n\n')) >= 0) {
+              dispatch(buffer.slice(0, end));
+              buffer = buffer.slice(end + 2);
+            }
+          }
+        } catch (err) {
+          if (closed) return;
+          failures++;
+          console.warn(`AccountService.streamAccount(${id}) -> disconnected:`, err);
+        }
+        if (!closed) {
+          retryTimer = setTimeout(connect, Math.min(retryMs * 2 ** failures, 60000));
+        }
+      };
+
+      connect();
+      return () => {
+        closed = true;
+        clearTimeout(retryTimer);
+        abort.abort();
+      };
+    });
+  }
+
   // GET /api/accounts/{id}
   getAccountById(id: number): Observable<Account> {
     return this.http.get<any>(`${this.baseUrl}/${id}`).pipe(map((dto) => this.toAccount(dto)));
@@ -108,6 +227,14 @@ export class AccountService {
     return t || 'SAVINGS';
   }
 
+  private applyActivity(accounts: Account[], activity: AccountActivity): Account[] {
+    return accounts.map((a) =>
+      a.accountId === activity.accountId
+        ? { ...a, balance: a.balance + Number(activity.balanceDelta ?? 0), lastActivity: activity.transaction?.transactionDate }
+        : a
+    );
+  }
+
   private toAccount(dto: any): Account {
     const id = dto?.accountId ?? dto?.id;
     const type = dto?.accountType ?? dto?.type ?? 'Account';
@@ -122,7 +249,8 @@ export class AccountService {
       userId: dto?.userId,
       createdAt: dto?.createdAt,
       updatedAt: dto?.updatedAt,
-      status: dto?.status
+      status: dto?.status,
+      lastTransactionId: dto?.lastTransactionId ?? undefined
     };
   }
 }
@@ -3,11 +3,13 @@ package com.bankingapp.loanservice;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 
 @SpringBootApplication
 @EnableFeignClients(basePackages = "com.bankingapp.loanservice.client")
 @EnableMethodSecurity
+@EnableScheduling
 public class LoanServiceApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,52 @@
+package com.bankingapp.loanservice.client;
+
+import com.bankingapp.loanservice.dto.AccountDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Single-account lookups against account-service, sent as one {@code POST /api/accounts/batch}
+ * per coalescing window (see {@link RequestCoalescer}). Ids are parsed to Long before they join
+ * a batch, so a malformed id only fails its own lookup instead of the whole batch.
+ */
+@Component
+public class CoalescingAccountClient {
+
+    private final RequestCoalescer<Long, AccountDto> accountBatches;
+
+    public CoalescingAccountClient(AccountClient accountClient,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${lookup.coalesce.window:5ms}") Duration coalesceWindow,
+                                   @Value("${lookup.coalesce.max-batch-size:100}") int maxBatchSize) {
+        this.accountBatches = new RequestCoalescer<>("accounts",
+                ids -> accountClient.getAccountsByIds(ids).stream()
+                        .collect(Collectors.toMap(account -> Long.valueOf(account.getId()), Function.identity(),
+                                (first, second) -> first)),
+                coalesceWindow, maxBatchSize, meterRegistry);
+    }
+
+    /**
+     * Returns the account, or empty when account-service does not know the id or the id is not a number.
+     */
+    public Optional<AccountDto> findAccount(String id) {
+        Long accountId = parseId(id);
+        return accountId == null ? Optional.empty() : accountBatches.get(accountId);
+    }
+
+    private static Long parseId(String id) {
+        if (id == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(id);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.bankingapp.loanservice.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Turns concurrent single-id lookups into batch calls.
+ *
+ * The first caller to arrive opens a batch and waits up to {@code window} for others to join (or
+ * until {@code maxBatchSize} distinct ids are waiting), then loads the whole batch on its own thread
+ * and hands every caller its result. The same id asked for twice in one window is loaded once.
+ * Ids missing from the loader's answer come back empty; a loader failure is rethrown to every caller
+ * in the batch. The batch call is made in the leader's context, so it traces under the leader's request.
+ *
+ * Meters: {@code feign.coalescer.requests{name}} and {@code feign.coalescer.batch.size{name}}.
+ */
+public class RequestCoalescer<K, V> {
+
+    private final Function<List<K>, Map<K, V>> batchLoader;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final Counter requests;
+    private final DistributionSummary batchSizes;
+    private final ReentrantLock lock = new ReentrantLock(); // for the Condition the batch leader waits on
+    private final Condition batchClosed = lock.newCondition();
+
+    private Batch<K, V> open; // guarded by lock
+
+    public RequestCoalescer(String name, Function<List<K>, Map<K, V>> batchLoader, Duration window,
+                            int maxBatchSize, MeterRegistry meterRegistry) {
+        this.batchLoader = batchLoader;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.requests = meterRegistry.counter("feign.coalescer.requests", "name", name);
+        this.batchSizes = DistributionSummary.builder("feign.coalescer.batch.size")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    private static final class Batch<K, V> {
+        private final Map<K, CompletableFuture<Optional<V>>> pending = new LinkedHashMap<>();
+        private boolean closed;
+    }
+
+    public Optional<V> get(K key) {
+        requests.increment();
+        Batch<K, V> batch;
+        CompletableFuture<Optional<V>> result;
+        boolean leader = false;
+        lock.lock();
+        try {
+            if (open == null) {
+                open = new Batch<>();
+                leader = true;
+            }
+            batch = open;
+            result = batch.pending.computeIfAbsent(key, k -> new CompletableFuture<>());
+            if (batch.pending.size() >= maxBatchSize) {
+                close(batch);
+            }
+            if (leader) {
+                awaitWindow(batch);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (leader) {
+            load(batch);
+        }
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // called with the lock held
+    private void awaitWindow(Batch<K, V> batch) {
+        long remaining = windowNanos;
+        try {
+            while (!batch.closed && remaining > 0) {
+                remaining = batchClosed.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // load what we have; the caller sees the flag
+        }
+        close(batch);
+    }
+
+    // called with the lock held
+    private void close(Batch<K, V> batch) {
+        if (!batch.closed) {
+            batch.closed = true;
+            if (open == batch) {
+                open = null;
+            }
+            batchClosed.signalAll();
+        }
+    }
+
+    // the batch is closed, so pending no longer changes
+    private void load(Batch<K, V> batch) {
+        List<K> keys = new ArrayList<>(batch.pending.keySet());
+        batchSizes.record(keys.size());
+        try {
+            Map<K, V> found = batchLoader.apply(keys);
+            batch.pending.forEach((key, future) -> future.complete(Optional.ofNullable(found.get(key))));
+        } catch (Throwable e) {
+            batch.pending.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+}
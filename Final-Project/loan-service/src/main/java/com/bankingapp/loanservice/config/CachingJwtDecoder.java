@@ -0,0 +1,115 @@
+package com.bankingapp.loanservice.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
+
+/**
+ * Remembers validated tokens, keyed by the SHA-256 of the raw token, until the token's own {@code exp}.
+ * A repeat request with the same bearer token skips signature verification and claim validation;
+ * the granted authorities are computed once per token as well (see {@link #cachedAuthorities}).
+ * Tokens that fail validation are never cached. Stats are published as {@code cache.*{cache=jwt}}.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    // MessageDigest.getInstance does a provider lookup per call; digest() resets the instance for reuse
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final JwtDecoder delegate;
+    private final Cache<String, CachedJwt> tokens;
+
+    public CachingJwtDecoder(JwtDecoder delegate, long maximumSize, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, CachedJwt>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedJwt jwt, long currentTime) {
+                        return Math.max(0, Duration.between(Instant.now(), jwt.getExpiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedJwt jwt, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedJwt jwt, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, tokens, "jwt");
+        }
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        String key = hash(token);
+        CachedJwt cached = tokens.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        Jwt jwt = delegate.decode(token);
+        if (jwt.getExpiresAt() == null) {
+            return jwt; // no exp to expire the entry with
+        }
+        CachedJwt validated = new CachedJwt(jwt);
+        tokens.put(key, validated);
+        return validated;
+    }
+
+    /**
+     * Wraps an authorities converter so each cached token computes its authorities only once.
+     */
+    public static Converter<Jwt, Collection<GrantedAuthority>> cachedAuthorities(
+            Converter<Jwt, Collection<GrantedAuthority>> converter) {
+        return jwt -> jwt instanceof CachedJwt cached ? cached.authorities(converter) : converter.convert(jwt);
+    }
+
+    private static String hash(String token) {
+        byte[] digest = SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getEncoder().encodeToString(digest);
+    }
+
+    private static final class CachedJwt extends Jwt {
+
+        private volatile Collection<GrantedAuthority> authorities;
+
+        private CachedJwt(Jwt jwt) {
+            super(jwt.getTokenValue(), jwt.getIssuedAt(), jwt.getExpiresAt(), jwt.getHeaders(), jwt.getClaims());
+        }
+
+        Collection<GrantedAuthority> authorities(Converter<Jwt, Collection<GrantedAuthority>> converter) {
+            Collection<GrantedAuthority> computed = authorities;
+            if (computed == null) {
+                computed = converter.convert(this);
+                authorities = computed;
+            }
+            return computed;
+        }
+    }
+}
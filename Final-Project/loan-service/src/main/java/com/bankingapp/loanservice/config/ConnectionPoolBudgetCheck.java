@@ -0,0 +1,64 @@
+package com.bankingapp.loanservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Warns at startup when this service's pools could push Oracle past {@code db.pool.session-limit}.
+ * The other services' pools are fixed-size, so the sessions the schema user already holds stand in
+ * for their combined size; this service's own open connections are swapped for its maximum.
+ * Skipped (with a log line) when the limit is 0 or v$session is not readable.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ConnectionPoolBudgetCheck {
+
+    private final List<HikariDataSource> pools;
+
+    @Value("${db.pool.session-limit:0}")
+    private int sessionLimit;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkBudget() {
+        if (sessionLimit <= 0 || pools.isEmpty()) {
+            return;
+        }
+
+        int ownMaximum = 0;
+        int ownOpen = 0;
+        for (HikariDataSource pool : pools) {
+            ownMaximum += pool.getMaximumPoolSize();
+            HikariPoolMXBean bean = pool.getHikariPoolMXBean();
+            ownOpen += bean != null ? bean.getTotalConnections() : 0;
+        }
+
+        Integer sessions;
+        try {
+            sessions = new JdbcTemplate(pools.get(0))
+                    .queryForObject("select count(*) from v$session where username = user", Integer.class);
+        } catch (DataAccessException e) {
+            log.info("Connection pool budget check skipped, v$session not readable: {}", e.getMessage());
+            return;
+        }
+
+        int projected = (sessions != null ? sessions : 0) - ownOpen + ownMaximum;
+        if (projected > sessionLimit) {
+            log.warn("Connection pools may exceed the database session limit: {} sessions projected "
+                    + "({} held by other clients + {} max for this service) > db.pool.session-limit {}",
+                    projected, projected - ownMaximum, ownMaximum, sessionLimit);
+        } else {
+            log.info("Connection pool budget: {} of {} database sessions projected", projected, sessionLimit);
+        }
+    }
+}
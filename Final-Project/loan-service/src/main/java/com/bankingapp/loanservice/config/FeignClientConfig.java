@@ -1,27 +1,20 @@
 package com.bankingapp.loanservice.config;
 
+import com.bankingapp.loanservice.client.ServiceTokenManager;
 import feign.RequestInterceptor;
-import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.context.request.RequestAttributes;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.http.HttpHeaders;
 
+/**
+ * Authenticates all outgoing Feign requests with this service's own token
+ * (see {@link ServiceTokenManager}), so they work outside a request thread as well.
+ */
 @Configuration
 public class FeignClientConfig {
 
     @Bean
-    public RequestInterceptor requestInterceptor() {
-        return requestTemplate -> {
-            RequestAttributes attrs = RequestContextHolder.getRequestAttributes();
-            if (attrs instanceof ServletRequestAttributes servletAttrs) {
-                HttpServletRequest request = servletAttrs.getRequest();
-                String auth = request.getHeader("Authorization");
-                if (auth != null && !auth.isBlank()) {
-                    requestTemplate.header("Authorization", auth);
-                }
-            }
-        };
+    public RequestInterceptor requestInterceptor(ServiceTokenManager serviceTokenManager) {
+        return requestTemplate -> requestTemplate.header(HttpHeaders.AUTHORIZATION, serviceTokenManager.authorizationHeader());
     }
 }
@@ -0,0 +1,42 @@
+package com.bankingapp.loanservice.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.core5.util.TimeValue;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.openfeign.clientconfig.HttpClient5FeignConfiguration.HttpClientBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Feign calls go through the pooled Apache HttpClient 5 that Spring Cloud OpenFeign sets up when
+ * feign-hc5 is on the classpath (sizing under {@code spring.cloud.openfeign.httpclient}); connections
+ * to each service are kept alive and reused instead of opened per call.
+ * {@code spring.cloud.openfeign.httpclient.hc5.enabled=false} falls back to HttpURLConnection.
+ *
+ * Pool meters: {@code httpcomponents.httpclient.pool.*{httpclient=feign}} (leased, available, pending, max).
+ */
+@Configuration
+public class FeignTransportConfig {
+
+    @Bean
+    public HttpClientBuilderCustomizer feignIdleConnectionEviction(
+            @Value("${feign-transport.idle-eviction:30s}") Duration idleEviction) {
+        // close sockets the server side is about to drop, rather than finding out on the next call
+        return builder -> builder.evictIdleConnections(TimeValue.ofMilliseconds(idleEviction.toMillis()));
+    }
+
+    @Bean
+    public MeterBinder feignConnectionPoolMetrics(ObjectProvider<HttpClientConnectionManager> hc5ConnectionManager) {
+        return registry -> {
+            if (hc5ConnectionManager.getIfAvailable() instanceof PoolingHttpClientConnectionManager pool) {
+                new PoolingHttpClientConnectionManagerMetricsBinder(pool, "feign").bindTo(registry);
+            }
+        };
+    }
+}
@@ -27,7 +27,8 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(
                                 "/swagger-ui/**",
-                                "/api-docs/**"
+                                "/api-docs/**",
+                                "/actuator/prometheus"
                         ).permitAll()
                         .anyRequest().authenticated()
                 )
@@ -43,7 +44,7 @@ public class SecurityConfig {
          */
         private JwtAuthenticationConverter jwtAuthenticationConverter() {
                 JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
-                converter.setJwtGrantedAuthoritiesConverter(this::extractAuthorities);
+                converter.setJwtGrantedAuthoritiesConverter(CachingJwtDecoder.cachedAuthorities(this::extractAuthorities));
                 return converter;
         }
 
@@ -1,5 +1,6 @@
 package com.bankingapp.loanservice.dto;
 
+import com.fasterxml.jackson.annotation.JsonAlias;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -8,6 +9,7 @@ import java.math.BigDecimal;
 @Getter
 @Setter
 public class AccountDto {
+    @JsonAlias("accountId") // account-service sends accountId
     private String id;
     private String userId;
     private BigDecimal balance;
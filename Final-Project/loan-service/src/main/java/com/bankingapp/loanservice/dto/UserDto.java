@@ -1,11 +1,13 @@
 package com.bankingapp.loanservice.dto;
 
+import com.fasterxml.jackson.annotation.JsonAlias;
 import lombok.Getter;
 import lombok.Setter;
 
 @Getter
 @Setter
 public class UserDto {
+    @JsonAlias("userId") // user-service sends userId
     private String id;
     private String fullName;
     private String email;
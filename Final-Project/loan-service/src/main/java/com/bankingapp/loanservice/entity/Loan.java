@@ -22,7 +22,7 @@ public class Loan {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "loan_seq_gen")
-    @SequenceGenerator(name = "loan_seq_gen", sequenceName = "loan_seq", allocationSize = 1)
+    @SequenceGenerator(name = "loan_seq_gen", sequenceName = "loan_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "User ID cannot be null")
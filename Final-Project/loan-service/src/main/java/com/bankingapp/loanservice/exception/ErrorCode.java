@@ -7,6 +7,8 @@ public enum ErrorCode {
     // Common
     INTERNAL_SERVER_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred"),
     VALIDATION_ERROR(HttpStatus.BAD_REQUEST, "Invalid input provided"),
+    DEPENDENCY_TIMEOUT(HttpStatus.GATEWAY_TIMEOUT, "A downstream service did not respond in time"),
+    DEPENDENCY_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "A downstream service is unavailable, try again later"),
 
     // Loan specific
     LOAN_NOT_FOUND(HttpStatus.NOT_FOUND, "Loan not found"),
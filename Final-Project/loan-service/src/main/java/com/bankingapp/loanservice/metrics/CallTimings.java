@@ -0,0 +1,34 @@
+package com.bankingapp.loanservice.metrics;
+
+/**
+ * Per-thread running totals of time spent in the database and in remote calls.
+ * The totals only grow; {@link ServiceMetricsAspect} reads them before and after a service method
+ * and records the difference, which keeps nested service calls correct without any reset.
+ * Lookups run on the lookup executor are credited to the caller by {@code RemoteLookups.awaitAll}.
+ */
+public final class CallTimings {
+
+    private static final ThreadLocal<long[]> TOTALS = ThreadLocal.withInitial(() -> new long[2]);
+
+    private static final int DB = 0;
+    private static final int REMOTE = 1;
+
+    private CallTimings() {
+    }
+
+    public static void addDb(long nanos) {
+        TOTALS.get()[DB] += nanos;
+    }
+
+    public static void addRemote(long nanos) {
+        TOTALS.get()[REMOTE] += nanos;
+    }
+
+    public static long dbNanos() {
+        return TOTALS.get()[DB];
+    }
+
+    public static long remoteNanos() {
+        return TOTALS.get()[REMOTE];
+    }
+}
@@ -0,0 +1,74 @@
+package com.bankingapp.loanservice.resilience;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Read timeout for one Feign client, derived from its recent latencies:
+ * {@code p99 x multiplier}, kept within {@code [min, max]}.
+ *
+ * Latencies go into a ring of the last {@value #WINDOW} calls; the percentiles are recomputed every
+ * {@value #RECOMPUTE_EVERY} samples by whichever caller crosses the mark. Until {@value #MIN_SAMPLES}
+ * calls have been seen the timeout is {@code max}. Calls that time out are recorded at the timeout,
+ * so a dependency that really got slower pushes the timeout up instead of failing forever.
+ */
+final class AdaptiveTimeout {
+
+    private static final int WINDOW = 256;
+    private static final int RECOMPUTE_EVERY = 32;
+    private static final int MIN_SAMPLES = 20;
+
+    private final long minMillis;
+    private final long maxMillis;
+    private final double multiplier;
+    private final AtomicLongArray samples = new AtomicLongArray(WINDOW);
+    private final AtomicLong recorded = new AtomicLong();
+    private final AtomicBoolean recomputing = new AtomicBoolean();
+
+    private volatile long timeoutMillis;
+    private volatile long p95Millis = -1;
+
+    AdaptiveTimeout(long minMillis, long maxMillis, double multiplier) {
+        this.minMillis = minMillis;
+        this.maxMillis = maxMillis;
+        this.multiplier = multiplier;
+        this.timeoutMillis = maxMillis;
+    }
+
+    void record(long elapsedNanos) {
+        long n = recorded.getAndIncrement();
+        samples.set((int) (n % WINDOW), elapsedNanos);
+        if ((n + 1) % RECOMPUTE_EVERY == 0 && n + 1 >= MIN_SAMPLES && recomputing.compareAndSet(false, true)) {
+            try {
+                recompute((int) Math.min(n + 1, WINDOW));
+            } finally {
+                recomputing.set(false);
+            }
+        }
+    }
+
+    long timeoutMillis() {
+        return timeoutMillis;
+    }
+
+    /**
+     * Observed p95 in milliseconds, or -1 before enough calls were seen.
+     */
+    long p95Millis() {
+        return p95Millis;
+    }
+
+    private void recompute(int count) {
+        long[] sorted = new long[count];
+        for (int i = 0; i < count; i++) {
+            sorted[i] = samples.get(i);
+        }
+        Arrays.sort(sorted);
+        long p99 = TimeUnit.NANOSECONDS.toMillis(sorted[(int) Math.ceil(count * 0.99) - 1]);
+        p95Millis = TimeUnit.NANOSECONDS.toMillis(sorted[(int) Math.ceil(count * 0.95) - 1]);
+        timeoutMillis = Math.max(minMillis, Math.min(maxMillis, (long) Math.ceil(p99 * multiplier)));
+    }
+}
@@ -1,7 +1,8 @@
 package com.bankingapp.loanservice.service.impl;
 
-import com.bankingapp.loanservice.client.AccountClient;
-import com.bankingapp.loanservice.client.UserClient;
+import com.bankingapp.loanservice.client.CachedUserClient;
+import com.bankingapp.loanservice.client.CoalescingAccountClient;
+import com.bankingapp.loanservice.client.RemoteLookups;
 import com.bankingapp.loanservice.dto.AccountDto;
 import com.bankingapp.loanservice.dto.UserDto;
 import com.bankingapp.loanservice.entity.Loan;
@@ -10,41 +11,52 @@ import com.bankingapp.loanservice.exception.ErrorCode;
 import com.bankingapp.loanservice.exception.LoanException;
 import com.bankingapp.loanservice.repository.LoanRepository;
 import com.bankingapp.loanservice.service.LoanService;
-import feign.FeignException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
 public class LoanServiceImpl implements LoanService {
 
     private final LoanRepository loanRepository;
-    private final UserClient userClient;
-    private final AccountClient accountClient;
+    private final CachedUserClient userClient;
+    private final CoalescingAccountClient accountClient;
+    private final RemoteLookups remoteLookups;
 
     @Override
     public Loan createLoan(Loan loan) {
-        // ✅ Validate User
-        UserDto user;
-        try {
-            user = userClient.getUserById(loan.getUserId());
-        } catch (FeignException.NotFound ex) {
-            throw new LoanException(ErrorCode.USER_NOT_FOUND);
-        } catch (Exception ex) {
-            throw new LoanException(ErrorCode.INTERNAL_SERVER_ERROR, "Failed to validate user: " + ex.getMessage());
-        }
-
-        // ✅ Validate Account
-        AccountDto account;
-        try {
-            account = accountClient.getAccountById(loan.getAccountId());
-        } catch (FeignException.NotFound ex) {
-            throw new LoanException(ErrorCode.ACCOUNT_NOT_FOUND);
-        } catch (Exception ex) {
-            throw new LoanException(ErrorCode.INTERNAL_SERVER_ERROR, "Failed to validate account: " + ex.getMessage());
-        }
+        // ✅ Validate User and Account concurrently
+        CompletableFuture<UserDto> userLookup = remoteLookups.submit(() -> {
+            try {
+                return userClient.findUser(loan.getUserId())
+                        .orElseThrow(() -> new LoanException(ErrorCode.USER_NOT_FOUND));
+            } catch (LoanException ex) {
+                throw ex;
+            } catch (CallNotPermittedException | BulkheadFullException ex) {
+                throw new LoanException(ErrorCode.DEPENDENCY_UNAVAILABLE, "User service unavailable: " + ex.getMessage());
+            } catch (Exception ex) {
+                throw new LoanException(ErrorCode.INTERNAL_SERVER_ERROR, "Failed to validate user: " + ex.getMessage());
+            }
+        });
+        CompletableFuture<AccountDto> accountLookup = remoteLookups.submit(() -> {
+            try {
+                return accountClient.findAccount(loan.getAccountId())
+                        .orElseThrow(() -> new LoanException(ErrorCode.ACCOUNT_NOT_FOUND));
+            } catch (LoanException ex) {
+                throw ex;
+            } catch (CallNotPermittedException | BulkheadFullException ex) {
+                throw new LoanException(ErrorCode.DEPENDENCY_UNAVAILABLE, "Account service unavailable: " + ex.getMessage());
+            } catch (Exception ex) {
+                throw new LoanException(ErrorCode.INTERNAL_SERVER_ERROR, "Failed to validate account: " + ex.getMessage());
+            }
+        });
+        remoteLookups.awaitAll(userLookup, accountLookup);
+        AccountDto account = accountLookup.join();
 
         // ✅ Ensure account belongs to user
         if (!account.getUserId().equals(loan.getUserId())) {
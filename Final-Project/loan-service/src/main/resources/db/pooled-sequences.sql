@@ -0,0 +1,4 @@
+-- One-off migration for the pooled-lo id optimizer (allocationSize = 50 on Loan).
+-- ddl-auto=update does not alter existing sequences, so run this once against every existing schema
+-- before deploying. Each NEXTVAL now reserves a block of 50 ids for one JVM.
+ALTER SEQUENCE loan_seq INCREMENT BY 50;
@@ -0,0 +1,181 @@
+package com.bankingapp.loanservice.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import feign.Client;
+import feign.Feign;
+import feign.Request;
+import feign.Retryer;
+import feign.hc5.ApacheHttp5Client;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 10k {@code getAccountById} calls against a local account-service stub, sequential and from
+ * 32 threads, over HttpURLConnection (Feign's default) and the pooled Apache HttpClient 5.
+ * Counts the TCP connections the stub saw and logs latency percentiles.
+ */
+@Slf4j
+@Tag("benchmark")
+class AccountClientTransportBenchmarkTest {
+
+    private static final int CALLS = 10_000;
+    private static final int THREADS = 32;
+    private static final byte[] ACCOUNT_JSON =
+            "{\"id\":\"42\",\"userId\":\"7\",\"balance\":100.00}"
+                    .getBytes(StandardCharsets.UTF_8);
+
+    private HttpServer stub;
+    private ExecutorService stubThreads;
+    private final Set<String> connections = ConcurrentHashMap.newKeySet();
+
+    record Result(String transport, String mode, int connections, long p50Micros, long p99Micros, long callsPerSecond) {
+        @Override
+        public String toString() {
+            return String.format("%-22s %-10s connections=%-6d p50=%5d us  p99=%6d us  %7d calls/s",
+                    transport, mode, connections, p50Micros, p99Micros, callsPerSecond);
+        }
+    }
+
+    @BeforeEach
+    void startStub() throws IOException {
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        stubThreads = Executors.newFixedThreadPool(THREADS * 2);
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        stub.setExecutor(stubThreads);
+        stub.createContext("/api/accounts/", exchange -> {
+            connections.add(exchange.getRemoteAddress().toString()); // one client port per TCP connection
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, ACCOUNT_JSON.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(ACCOUNT_JSON);
+            }
+        });
+        stub.start();
+    }
+
+    @AfterEach
+    void stopStub() {
+        stub.stop(0);
+        stubThreads.shutdownNow();
+    }
+
+    @Test
+    void pooledTransportReusesConnectionsUnderConcurrency() throws Exception {
+        Result urlConnectionSequential = sequential("HttpURLConnection", new Client.Default(null, null));
+        Result urlConnectionConcurrent = concurrent("HttpURLConnection", new Client.Default(null, null));
+
+        PoolingHttpClientConnectionManager pool = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(200)
+                .setMaxConnPerRoute(50)
+                .build();
+        Result pooledSequential;
+        Result pooledConcurrent;
+        try (CloseableHttpClient httpClient = HttpClients.custom().setConnectionManager(pool).build()) {
+            pooledSequential = sequential("Apache HttpClient 5", new ApacheHttp5Client(httpClient));
+            pooledConcurrent = concurrent("Apache HttpClient 5", new ApacheHttp5Client(httpClient));
+        }
+
+        for (Result result : new Result[]{urlConnectionSequential, urlConnectionConcurrent, pooledSequential, pooledConcurrent}) {
+            log.info("{}", result);
+        }
+
+        assertThat(pooledSequential.connections()).isEqualTo(1);
+        // HttpURLConnection's count is only logged: how many sockets it opens past the 5 idle ones it keeps
+        // per host (http.maxConnections) depends on thread timing, and is often just above the pool's
+        assertThat(pooledConcurrent.connections()).isLessThanOrEqualTo(THREADS);
+    }
+
+    private Result sequential(String transport, Client client) {
+        AccountClient accounts = accountClient(client);
+        warmUp(accounts);
+        connections.clear();
+
+        long[] latencies = new long[CALLS];
+        long started = System.nanoTime();
+        for (int i = 0; i < CALLS; i++) {
+            long callStarted = System.nanoTime();
+            accounts.getAccountById(String.valueOf(i));
+            latencies[i] = System.nanoTime() - callStarted;
+        }
+        return result(transport, "sequential", latencies, System.nanoTime() - started);
+    }
+
+    private Result concurrent(String transport, Client client) throws Exception {
+        AccountClient accounts = accountClient(client);
+        warmUp(accounts);
+        connections.clear();
+
+        long[] latencies = new long[CALLS];
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService callers = Executors.newFixedThreadPool(THREADS);
+        long started = System.nanoTime();
+        try {
+            Future<?>[] workers = new Future<?>[THREADS];
+            for (int t = 0; t < THREADS; t++) {
+                workers[t] = callers.submit(() -> {
+                    for (int i = next.getAndIncrement(); i < CALLS; i = next.getAndIncrement()) {
+                        long callStarted = System.nanoTime();
+                        accounts.getAccountById(String.valueOf(i));
+                        latencies[i] = System.nanoTime() - callStarted;
+                    }
+                });
+            }
+            for (Future<?> worker : workers) {
+                worker.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        return result(transport, THREADS + " threads", latencies, System.nanoTime() - started);
+    }
+
+    private static void warmUp(AccountClient accounts) {
+        for (int i = 0; i < 500; i++) {
+            accounts.getAccountById("warm-up");
+        }
+    }
+
+    private Result result(String transport, String mode, long[] latencies, long elapsedNanos) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        return new Result(transport, mode, connections.size(),
+                TimeUnit.NANOSECONDS.toMicros(sorted[CALLS / 2]),
+                TimeUnit.NANOSECONDS.toMicros(sorted[(int) (CALLS * 0.99) - 1]),
+                CALLS * TimeUnit.SECONDS.toNanos(1) / elapsedNanos);
+    }
+
+    private AccountClient accountClient(Client client) {
+        ObjectMapper mapper = new ObjectMapper();
+        return Feign.builder()
+                .client(client)
+                .contract(new SpringMvcContract())
+                .decoder((response, type) -> mapper.readValue(response.body().asInputStream(), mapper.constructType(type)))
+                .options(new Request.Options(2, TimeUnit.SECONDS, 5, TimeUnit.SECONDS, true))
+                .retryer(Retryer.NEVER_RETRY)
+                .target(AccountClient.class, "http://127.0.0.1:" + stub.getAddress().getPort());
+    }
+}
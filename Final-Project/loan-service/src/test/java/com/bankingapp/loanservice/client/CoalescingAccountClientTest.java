@@ -0,0 +1,86 @@
+package com.bankingapp.loanservice.client;
+
+import com.bankingapp.loanservice.dto.AccountDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class CoalescingAccountClientTest {
+
+    private final List<List<Long>> batches = new CopyOnWriteArrayList<>();
+    private final AccountClient accountClient = mock(AccountClient.class);
+    private final CoalescingAccountClient client =
+            new CoalescingAccountClient(accountClient, new SimpleMeterRegistry(), Duration.ofMillis(200), 500);
+
+    @Test
+    void malformedIdFailsOnlyItsOwnLookup() throws Exception {
+        when(accountClient.getAccountsByIds(anyList())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            batches.add(ids);
+            return ids.stream().map(CoalescingAccountClientTest::account).toList();
+        });
+        List<String> ids = List.of("1", "abc", "2", "", "3");
+
+        List<Optional<AccountDto>> results = lookUpConcurrently(ids);
+
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(results.get(0)).map(AccountDto::getId).contains("1");
+        assertThat(results.get(1)).isEmpty();
+        assertThat(results.get(2)).map(AccountDto::getId).contains("2");
+        assertThat(results.get(3)).isEmpty();
+        assertThat(results.get(4)).map(AccountDto::getId).contains("3");
+    }
+
+    @Test
+    void malformedIdAloneNeverCallsAccountService() {
+        assertThat(client.findAccount("12x")).isEmpty();
+        assertThat(client.findAccount(null)).isEmpty();
+        verifyNoInteractions(accountClient);
+    }
+
+    private static AccountDto account(Long id) {
+        AccountDto account = new AccountDto();
+        account.setId(String.valueOf(id));
+        account.setUserId("7");
+        return account;
+    }
+
+    private List<Optional<AccountDto>> lookUpConcurrently(List<String> ids) throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(ids.size());
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Optional<AccountDto>>> futures = new ArrayList<>();
+            for (String id : ids) {
+                futures.add(callers.submit(() -> {
+                    start.await();
+                    return client.findAccount(id);
+                }));
+            }
+            start.countDown();
+            List<Optional<AccountDto>> results = new ArrayList<>();
+            for (Future<Optional<AccountDto>> future : futures) {
+                results.add(future.get(20, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+}
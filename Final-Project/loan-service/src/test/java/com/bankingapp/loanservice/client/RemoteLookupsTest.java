@@ -0,0 +1,53 @@
+package com.bankingapp.loanservice.client;
+
+import com.bankingapp.loanservice.config.LookupExecutorConfig;
+import com.bankingapp.loanservice.metrics.CallTimings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RemoteLookupsTest {
+
+    private ThreadPoolTaskExecutor lookupExecutor;
+    private RemoteLookups remoteLookups;
+
+    @BeforeEach
+    void setUp() {
+        lookupExecutor = new LookupExecutorConfig().lookupExecutor(4);
+        lookupExecutor.initialize();
+        remoteLookups = new RemoteLookups(lookupExecutor, 5000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        lookupExecutor.shutdown();
+    }
+
+    @Test
+    void waitingForLookupsCountsAsTheCallersRemoteTime() {
+        remoteLookups.awaitAll(remoteLookups.submit(() -> pause(0)), remoteLookups.submit(() -> pause(0))); // start the threads
+        long before = CallTimings.remoteNanos();
+
+        CompletableFuture<Void> first = remoteLookups.submit(() -> pause(80));
+        CompletableFuture<Void> second = remoteLookups.submit(() -> pause(80));
+        remoteLookups.awaitAll(first, second);
+
+        long remoteMs = TimeUnit.NANOSECONDS.toMillis(CallTimings.remoteNanos() - before);
+        assertThat(remoteMs).isGreaterThanOrEqualTo(80).isLessThan(160); // the lookups overlap: counted once, not twice
+    }
+
+    private static Void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,104 @@
+package com.bankingapp.loanservice.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestCoalescerTest {
+
+    private static final int CALLERS = 64;
+
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void concurrentLookupsCollapseIntoOneBatchCall() throws Exception {
+        RequestCoalescer<String, String> coalescer = coalescer(Duration.ofMillis(200), 500,
+                ids -> ids.stream().filter(id -> !id.equals("missing"))
+                        .collect(Collectors.toMap(Function.identity(), id -> "user-" + id)));
+
+        List<Optional<String>> results = callConcurrently(coalescer, i -> i == 0 ? "missing" : String.valueOf(i % 32));
+
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).hasSize(33).doesNotHaveDuplicates(); // 32 ids + "missing"
+        assertThat(results.get(0)).isEmpty();
+        for (int i = 1; i < CALLERS; i++) {
+            assertThat(results.get(i)).contains("user-" + (i % 32));
+        }
+        assertThat(meterRegistry.counter("feign.coalescer.requests", "name", "users").count()).isEqualTo(CALLERS);
+    }
+
+    @Test
+    void fullBatchIsSentWithoutWaitingForTheWindow() throws Exception {
+        RequestCoalescer<String, String> coalescer = coalescer(Duration.ofSeconds(30), 16,
+                ids -> ids.stream().collect(Collectors.toMap(Function.identity(), id -> "user-" + id)));
+
+        long started = System.nanoTime();
+        List<Optional<String>> results = callConcurrently(coalescer, String::valueOf);
+
+        assertThat(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - started)).isLessThan(10);
+        assertThat(batches).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(16));
+        assertThat(batches.stream().mapToInt(List::size).sum()).isEqualTo(CALLERS);
+        assertThat(results).allSatisfy(result -> assertThat(result).isPresent());
+    }
+
+    @Test
+    void loaderFailureReachesEveryCallerInTheBatch() {
+        RequestCoalescer<String, String> coalescer = coalescer(Duration.ofMillis(1), 500, ids -> {
+            throw new IllegalStateException("users-service down");
+        });
+
+        assertThatThrownBy(() -> coalescer.get("1"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("users-service down");
+        assertThat(batches).hasSize(1);
+    }
+
+    private RequestCoalescer<String, String> coalescer(Duration window, int maxBatchSize,
+                                                       Function<List<String>, Map<String, String>> loader) {
+        return new RequestCoalescer<>("users", ids -> {
+            batches.add(ids);
+            return loader.apply(ids);
+        }, window, maxBatchSize, meterRegistry);
+    }
+
+    private List<Optional<String>> callConcurrently(RequestCoalescer<String, String> coalescer,
+                                                    Function<Integer, String> idOf) throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Optional<String>>> futures = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                String id = idOf.apply(i);
+                futures.add(callers.submit(() -> {
+                    start.await();
+                    return coalescer.get(id);
+                }));
+            }
+            start.countDown();
+            List<Optional<String>> results = new ArrayList<>();
+            for (Future<Optional<String>> future : futures) {
+                results.add(future.get(20, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+}
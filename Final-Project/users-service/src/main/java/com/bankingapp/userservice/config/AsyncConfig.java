@@ -0,0 +1,64 @@
+package com.bankingapp.userservice.config;
+
+import com.bankingapp.userservice.metrics.CallTimings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Dedicated pool for the blocking JDBC and Keycloak work done by UserServiceImpl,
+ * so it no longer runs on the common ForkJoinPool.
+ * Actuator publishes it as executor.* meters tagged name=userTaskExecutor.
+ */
+@Configuration
+public class AsyncConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor userTaskExecutor(@Value("${users.executor.pool-size:32}") int poolSize,
+                                                   @Value("${users.executor.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("users-");
+        executor.setTaskDecorator(CallTimings::propagate); // DB time of a task counts towards the service call that queued it
+        // When the queue is full the request thread runs the task itself, throttling new requests.
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * Sends cache evictions to account, card and loan without holding up the update or delete request.
+     * A full queue drops the eviction (the consumers' TTL covers it) instead of slowing requests.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor cacheEvictionExecutor(@Value("${user-cache.eviction.concurrency:4}") int concurrency,
+                                                        @Value("${user-cache.eviction.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("cache-evict-");
+        return executor;
+    }
+
+    /**
+     * Runs CompletableFuture and StreamingResponseBody completions on the service pool.
+     */
+    @Bean
+    public WebMvcConfigurer asyncSupportConfigurer(ThreadPoolTaskExecutor userTaskExecutor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+                configurer.setTaskExecutor(userTaskExecutor);
+            }
+        };
+    }
+}
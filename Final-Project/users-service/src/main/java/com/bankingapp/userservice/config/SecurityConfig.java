@@ -7,8 +7,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.jwt.Jwt;
-import org.springframework.security.oauth2.jwt.JwtDecoder;
-import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.web.SecurityFilterChain;
 
@@ -25,9 +23,10 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/users/public/**").permitAll()
+                        .requestMatchers("/actuator/prometheus").permitAll()
                         .requestMatchers("/api/users/admin/**").hasAuthority("ADMIN")
                         .requestMatchers("/api/users/manager/**").hasAnyAuthority("MANAGER", "ADMIN")
-                        .requestMatchers("/api/users/**").hasAnyAuthority("CUSTOMER", "MANAGER", "ADMIN")
+                        .requestMatchers("/api/users/**").hasAnyAuthority("CUSTOMER", "MANAGER", "ADMIN", "SERVICE")
                         .anyRequest().authenticated()
                 )
                 .oauth2ResourceServer(oauth2 ->
@@ -41,7 +40,7 @@ public class SecurityConfig {
      */
     private JwtAuthenticationConverter jwtAuthenticationConverter() {
         JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
-        converter.setJwtGrantedAuthoritiesConverter(this::extractAuthorities);
+        converter.setJwtGrantedAuthoritiesConverter(CachingJwtDecoder.cachedAuthorities(this::extractAuthorities));
         return converter;
     }
 
@@ -69,12 +68,4 @@ public class SecurityConfig {
                 .map(SimpleGrantedAuthority::new)
                 .collect(Collectors.toSet());
     }
-
-    // ✅ Keep this so app starts even if Keycloak is down
-    @Bean
-    public JwtDecoder jwtDecoder() {
-        return NimbusJwtDecoder
-                .withJwkSetUri("http://localhost:8181/realms/banking-app/protocol/openid-connect/certs")
-                .build();
-    }
 }
@@ -15,4 +15,13 @@ public enum ErrorMessage {
     private final String code;
     private final String message;
     private final HttpStatus status;
+
+    public static HttpStatus statusOf(String code) {
+        for (ErrorMessage error : values()) {
+            if (error.code.equals(code)) {
+                return error.status;
+            }
+        }
+        return HttpStatus.BAD_REQUEST;
+    }
 }
@@ -1,21 +1,36 @@
 package com.bankingapp.userservice.controller;
 
+import com.bankingapp.userservice.constants.ErrorMessage;
+import com.bankingapp.userservice.dto.BulkRegisterSummary;
 import com.bankingapp.userservice.dto.RegisterUserRequest;
 import com.bankingapp.userservice.entity.User;
 import com.bankingapp.userservice.enums.UserRole;
 import com.bankingapp.userservice.exception.ErrorResponse;
 import com.bankingapp.userservice.exception.UserServiceException;
+import com.bankingapp.userservice.service.BulkUserImportService;
 import com.bankingapp.userservice.service.UserService;
 import com.bankingapp.userservice.util.ErrorUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/api/users")
@@ -24,6 +39,8 @@ public class UserController {
 
     private final UserService userService;
     private final ErrorUtil errorUtil;
+    private final BulkUserImportService bulkUserImportService;
+    private final ObjectMapper objectMapper;
 
     // ✅ Public health endpoint (no auth)
     @GetMapping("/public/health")
@@ -33,80 +50,75 @@ public class UserController {
 
     // ✅ Public registration (no authentication)
     @PostMapping("/public/register")
-    public ResponseEntity<?> registerCustomer(@RequestBody RegisterUserRequest request) {
-        try {
-            return ResponseEntity.ok(userService.registerCustomer(request).get());
-        } catch (ExecutionException | InterruptedException e) {
-            return handleException(e);
-        } catch (Exception e) {
-            return handleUnexpected(e);
-        }
+    public CompletableFuture<ResponseEntity<?>> registerCustomer(@RequestBody RegisterUserRequest request) {
+        return respond(userService.registerCustomer(request));
     }
 
     // ✅ Admin registration (for ADMIN role only)
     @PreAuthorize("hasAuthority('ADMIN')")
     @PostMapping("/admin/create")
-    public ResponseEntity<?> registerAdmin(@RequestBody RegisterUserRequest request) {
+    public CompletableFuture<ResponseEntity<?>> registerAdmin(@RequestBody RegisterUserRequest request) {
+        return respond(userService.registerAdmin(request, UserRole.ADMIN));
+    }
+
+    // ✅ Bulk registration from CSV or NDJSON (ADMIN only); one result per row is streamed back as NDJSON
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @PostMapping(value = "/admin/bulk-register", consumes = {"text/csv", "application/x-ndjson"},
+            produces = "application/x-ndjson")
+    public ResponseEntity<?> bulkRegister(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                          HttpServletRequest request) {
+        List<RegisterUserRequest> rows;
         try {
-            return ResponseEntity.ok(userService.registerAdmin(request, UserRole.ADMIN).get());
-        } catch (ExecutionException | InterruptedException e) {
-            return handleException(e);
+            rows = bulkUserImportService.parse(request.getInputStream(), contentType);
+        } catch (UserServiceException e) {
+            return ResponseEntity.status(ErrorMessage.statusOf(e.getErrorCode())).body(errorUtil.buildError(e));
         } catch (Exception e) {
             return handleUnexpected(e);
         }
+
+        StreamingResponseBody body = out -> {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            BulkRegisterSummary summary = bulkUserImportService.importUsers(rows, result -> writeLine(writer, result));
+            writeLine(writer, summary);
+        };
+        return ResponseEntity.ok()
+                .contentType(BulkUserImportService.APPLICATION_NDJSON)
+                .body(body);
     }
 
     // ✅ Get all users (ADMIN, MANAGER)
     @PreAuthorize("hasAnyAuthority('MANAGER', 'ADMIN')")
     @GetMapping("/manager/all")
-    public ResponseEntity<?> getAllUsers() {
-        try {
-            return ResponseEntity.ok(userService.getAllUsers().get());
-        } catch (ExecutionException | InterruptedException e) {
-            return handleException(e);
-        } catch (Exception e) {
-            return handleUnexpected(e);
-        }
+    public CompletableFuture<ResponseEntity<?>> getAllUsers() {
+        return respond(userService.getAllUsers());
     }
 
-    // ✅ Get user by ID (CUSTOMER, MANAGER, ADMIN)
-    @PreAuthorize("hasAnyAuthority('CUSTOMER', 'MANAGER', 'ADMIN')")
+    // ✅ Get user by ID (CUSTOMER, MANAGER, ADMIN, and the other services' SERVICE tokens)
+    @PreAuthorize("hasAnyAuthority('CUSTOMER', 'MANAGER', 'ADMIN', 'SERVICE')")
     @GetMapping("/{id}")
-    public ResponseEntity<?> getUserById(@PathVariable  Long id) {
-        try {
-            return ResponseEntity.ok(userService.getUserById(id).get());
-        } catch (ExecutionException | InterruptedException e) {
-            return handleException(e);
-        } catch (Exception e) {
-            return handleUnexpected(e);
-        }
+    public CompletableFuture<ResponseEntity<?>> getUserById(@PathVariable  Long id) {
+        return respond(userService.getUserById(id));
+    }
+
+    // ✅ Get many users by ID in one call (MANAGER, ADMIN, SERVICE); unknown ids are omitted
+    @PreAuthorize("hasAnyAuthority('MANAGER', 'ADMIN', 'SERVICE')")
+    @PostMapping("/batch")
+    public CompletableFuture<ResponseEntity<?>> getUsersByIds(@RequestBody List<Long> ids) {
+        return respond(userService.getUsersByIds(ids));
     }
 
-    // ✅ Update user (ADMIN only)
+        // ✅ Update user (ADMIN only)
     @PreAuthorize("hasAuthority('ADMIN')")
     @PutMapping("/admin/{id}")
-    public ResponseEntity<?> updateUser(@PathVariable Long  id, @RequestBody User user) {
-        try {
-            return ResponseEntity.ok(userService.updateUser(id, user).get());
-        } catch (ExecutionException | InterruptedException e) {
-            return handleException(e);
-        } catch (Exception e) {
-            return handleUnexpected(e);
-        }
+    public CompletableFuture<ResponseEntity<?>> updateUser(@PathVariable Long  id, @RequestBody User user) {
+        return respond(userService.updateUser(id, user));
     }
 
     // ✅ Delete user (ADMIN only)
     @PreAuthorize("hasAuthority('ADMIN')")
     @DeleteMapping("/admin/{id}")
-    public ResponseEntity<?> deleteUser(@PathVariable Long  id) {
-        try {
-            userService.deleteUser(id).get();
-            return ResponseEntity.ok("User deleted successfully");
-        } catch (ExecutionException | InterruptedException e) {
-            return handleException(e);
-        } catch (Exception e) {
-            return handleUnexpected(e);
-        }
+    public CompletableFuture<ResponseEntity<?>> deleteUser(@PathVariable Long  id) {
+        return respond(userService.deleteUser(id).thenApply(ignored -> "User deleted successfully"));
     }
 
     // ✅ Debug endpoint to print roles from token
@@ -115,11 +127,31 @@ public class UserController {
         return ResponseEntity.ok(authentication.getAuthorities());
     }
 
+    // ⚙️ Writes one NDJSON line and flushes so progress reaches the client as it happens
+    private void writeLine(Writer writer, Object line) {
+        try {
+            writer.write(objectMapper.writeValueAsString(line));
+            writer.write('\n');
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ⚙️ Completes the response on the service executor; Spring MVC handles it asynchronously
+    private <T> CompletableFuture<ResponseEntity<?>> respond(CompletableFuture<T> result) {
+        return result.<ResponseEntity<?>>thenApply(ResponseEntity::ok)
+                .exceptionally(this::handleException);
+    }
+
     // ⚙️ Handle service exceptions
-    private ResponseEntity<ErrorResponse> handleException(Exception e) {
+    private ResponseEntity<ErrorResponse> handleException(Throwable e) {
+        if (!(e instanceof CompletionException)) {
+            return handleUnexpected(e);
+        }
         if (e.getCause() instanceof UserServiceException ex) {
             ErrorResponse error = errorUtil.buildError(ex);
-            return ResponseEntity.status(400).body(error);
+            return ResponseEntity.status(ErrorMessage.statusOf(ex.getErrorCode())).body(error);
         }
 
         ErrorResponse error = ErrorResponse.builder()
@@ -132,7 +164,7 @@ public class UserController {
     }
 
     // ⚙️ Handle unexpected errors (non-service)
-    private ResponseEntity<ErrorResponse> handleUnexpected(Exception e) {
+    private ResponseEntity<ErrorResponse> handleUnexpected(Throwable e) {
         ErrorResponse error = ErrorResponse.builder()
                 .errorCode("ERR_98")
                 .message(e.getMessage())
@@ -0,0 +1,21 @@
+package com.bankingapp.userservice.dto;
+
+import com.bankingapp.userservice.enums.BulkRegisterStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one input row of a bulk registration, streamed as one NDJSON line.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRegisterResult {
+    private int line;
+    private String email;
+    private BulkRegisterStatus status;
+    private String message;
+}
@@ -0,0 +1,68 @@
+package com.bankingapp.userservice.entity;
+
+import com.bankingapp.userservice.enums.OutboxStatus;
+import com.bankingapp.userservice.enums.UserRole;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Keycloak provisioning request written in the same transaction as the User row.
+ * One row per email, reused on re-registration; each registration gets a fresh provisioningKey,
+ * which tags the Keycloak user the relay creates so that only that user is ever resumed.
+ */
+@Entity
+@Table(name = "user_provisioning_outbox",
+        indexes = @Index(name = "idx_outbox_status_due", columnList = "status, next_attempt_at"))
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserProvisioningOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "outbox_id", updatable = false, nullable = false)
+    private Long outboxId;
+
+    @Column(unique = true, nullable = false)
+    private String email;
+
+    @Column(nullable = false)
+    private String firstName;
+
+    @Column(nullable = false)
+    private String lastName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private UserRole role;
+
+    // AES-GCM ciphertext, cleared once the user exists in Keycloak
+    @Column(length = 512)
+    private String encryptedPassword;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OutboxStatus status;
+
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    // UUID per registration, stored on the Keycloak user as the provisioning_key attribute
+    @Column(length = 36)
+    private String provisioningKey;
+
+    // recorded as soon as the relay has created the user, so retries continue with it
+    private String keycloakUserId;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime processedAt;
+}
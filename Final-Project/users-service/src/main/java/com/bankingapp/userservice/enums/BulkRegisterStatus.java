@@ -0,0 +1,8 @@
+package com.bankingapp.userservice.enums;
+
+public enum BulkRegisterStatus {
+    CREATED,
+    DUPLICATE,
+    INVALID,
+    FAILED
+}
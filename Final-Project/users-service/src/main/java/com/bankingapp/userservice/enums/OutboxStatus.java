@@ -0,0 +1,7 @@
+package com.bankingapp.userservice.enums;
+
+public enum OutboxStatus {
+    PENDING,
+    PROVISIONED,
+    FAILED
+}
@@ -0,0 +1,111 @@
+package com.bankingapp.userservice.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-thread running totals of time spent in the database and in remote calls.
+ * The totals only grow; {@link ServiceMetricsAspect} reads them before and after a service method
+ * and records the difference, which keeps nested service calls correct without any reset.
+ *
+ * A service method that returns a CompletionStage does its work on pool threads, so the aspect opens a
+ * {@link Capture} instead: time recorded on the calling thread while it is open, and on tasks the pool
+ * decorates with {@link #propagate}, is added to it as well.
+ */
+public final class CallTimings {
+
+    private static final ThreadLocal<long[]> TOTALS = ThreadLocal.withInitial(() -> new long[2]);
+    private static final ThreadLocal<Capture> CAPTURE = new ThreadLocal<>();
+
+    private static final int DB = 0;
+    private static final int REMOTE = 1;
+
+    private CallTimings() {
+    }
+
+    public static void addDb(long nanos) {
+        add(DB, nanos);
+    }
+
+    public static void addRemote(long nanos) {
+        add(REMOTE, nanos);
+    }
+
+    public static long dbNanos() {
+        return TOTALS.get()[DB];
+    }
+
+    public static long remoteNanos() {
+        return TOTALS.get()[REMOTE];
+    }
+
+    /**
+     * Opens a capture on this thread; close it on the same thread once the work has been handed off.
+     */
+    public static Capture capture() {
+        Capture capture = new Capture(CAPTURE.get());
+        CAPTURE.set(capture);
+        return capture;
+    }
+
+    /**
+     * Task decorator: the task's time also counts towards the capture open where it was submitted.
+     */
+    public static Runnable propagate(Runnable task) {
+        Capture capture = CAPTURE.get();
+        if (capture == null) {
+            return task;
+        }
+        return () -> {
+            Capture previous = CAPTURE.get();
+            CAPTURE.set(capture);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    private static void add(int kind, long nanos) {
+        TOTALS.get()[kind] += nanos;
+        for (Capture capture = CAPTURE.get(); capture != null; capture = capture.parent) {
+            capture.totals.addAndGet(kind, nanos);
+        }
+    }
+
+    private static void restore(Capture capture) {
+        if (capture == null) {
+            CAPTURE.remove();
+        } else {
+            CAPTURE.set(capture);
+        }
+    }
+
+    /**
+     * Time recorded for one service call across threads. Nested captures also add to the enclosing one.
+     */
+    public static final class Capture {
+
+        private final Capture parent;
+        private final AtomicLongArray totals = new AtomicLongArray(2);
+
+        private Capture(Capture parent) {
+            this.parent = parent;
+        }
+
+        public long dbNanos() {
+            return totals.get(DB);
+        }
+
+        public long remoteNanos() {
+            return totals.get(REMOTE);
+        }
+
+        /**
+         * Stops capturing on this thread; tasks already submitted keep adding until they finish.
+         */
+        public void close() {
+            restore(parent);
+        }
+    }
+}
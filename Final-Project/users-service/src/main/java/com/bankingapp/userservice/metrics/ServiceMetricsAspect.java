@@ -0,0 +1,141 @@
+package com.bankingapp.userservice.metrics;
+
+import com.bankingapp.userservice.exception.UserServiceException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public method of a {@code @Service} bean:
+ * <ul>
+ *   <li>{@code service.method{class,method,outcome}} - wall time; outcome is SUCCESS or the ErrorCode name</li>
+ *   <li>{@code service.method.db{class,method}} - JDBC time spent inside the call</li>
+ *   <li>{@code service.method.remote{class,method}} - remote time spent inside the call (no Feign clients here yet)</li>
+ * </ul>
+ * Runs outside the transaction advice, so commit-time flushes count towards the method.
+ * For a method returning a CompletionStage all three are recorded when the stage completes, with the
+ * time its tasks spent on the service pool (see {@link CallTimings.Capture}).
+ * Histograms are switched on in application.yml (management.metrics.distribution.percentiles-histogram).
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceMetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, MethodMeters> meters = new ConcurrentHashMap<>();
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("within(@org.springframework.stereotype.Service *) && execution(public * *(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodMeters methodMeters = meters.computeIfAbsent(
+                ((MethodSignature) joinPoint.getSignature()).getMethod(),
+                method -> new MethodMeters(ClassUtils.getUserClass(joinPoint.getTarget()).getSimpleName(), method));
+
+        if (methodMeters.async) {
+            return timeAsync(joinPoint, methodMeters);
+        }
+
+        long db = CallTimings.dbNanos();
+        long remote = CallTimings.remoteNanos();
+        long started = System.nanoTime();
+        String outcome = MethodMeters.SUCCESS;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = outcome(e);
+            throw e;
+        } finally {
+            methodMeters.record(outcome, System.nanoTime() - started,
+                    CallTimings.dbNanos() - db, CallTimings.remoteNanos() - remote);
+        }
+    }
+
+    private Object timeAsync(ProceedingJoinPoint joinPoint, MethodMeters methodMeters) throws Throwable {
+        long started = System.nanoTime();
+        CallTimings.Capture capture = CallTimings.capture();
+        CompletionStage<?> stage;
+        try {
+            stage = (CompletionStage<?>) joinPoint.proceed();
+        } catch (Throwable e) {
+            methodMeters.record(outcome(e), System.nanoTime() - started, capture.dbNanos(), capture.remoteNanos());
+            throw e;
+        } finally {
+            capture.close();
+        }
+        if (stage == null) {
+            methodMeters.record(MethodMeters.SUCCESS, System.nanoTime() - started,
+                    capture.dbNanos(), capture.remoteNanos());
+            return null;
+        }
+        stage.whenComplete((result, e) -> methodMeters.record(e == null ? MethodMeters.SUCCESS : outcome(e),
+                System.nanoTime() - started, capture.dbNanos(), capture.remoteNanos()));
+        return stage;
+    }
+
+    private static String outcome(Throwable e) {
+        if (e instanceof CompletionException && e.getCause() != null) {
+            e = e.getCause();
+        }
+        if (e instanceof UserServiceException userServiceException && userServiceException.getErrorCode() != null) {
+            return userServiceException.getErrorCode();
+        }
+        return e.getClass().getSimpleName();
+    }
+
+    private final class MethodMeters {
+
+        private static final String SUCCESS = "SUCCESS";
+
+        private final String className;
+        private final String methodName;
+        private final boolean async;
+        private final Timer success;
+        private final Timer db;
+        private final Timer remote;
+        private final Map<String, Timer> failures = new ConcurrentHashMap<>();
+
+        private MethodMeters(String className, Method method) {
+            this.className = className;
+            this.methodName = method.getName();
+            this.async = CompletionStage.class.isAssignableFrom(method.getReturnType());
+            this.success = outcomeTimer(SUCCESS);
+            this.db = Timer.builder("service.method.db")
+                    .tag("class", className).tag("method", methodName)
+                    .register(meterRegistry);
+            this.remote = Timer.builder("service.method.remote")
+                    .tag("class", className).tag("method", methodName)
+                    .register(meterRegistry);
+        }
+
+        void record(String outcome, long nanos, long dbNanos, long remoteNanos) {
+            Timer timer = SUCCESS.equals(outcome) ? success : failures.computeIfAbsent(outcome, this::outcomeTimer);
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+            db.record(dbNanos, TimeUnit.NANOSECONDS);
+            remote.record(remoteNanos, TimeUnit.NANOSECONDS);
+        }
+
+        private Timer outcomeTimer(String outcome) {
+            return Timer.builder("service.method")
+                    .tag("class", className).tag("method", methodName).tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.bankingapp.userservice.repository;
+
+import com.bankingapp.userservice.entity.UserProvisioningOutbox;
+import com.bankingapp.userservice.enums.OutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UserProvisioningOutboxRepository extends JpaRepository<UserProvisioningOutbox, Long> {
+
+    Optional<UserProvisioningOutbox> findByEmail(String email);
+
+    List<UserProvisioningOutbox> findByEmailIn(Collection<String> emails);
+
+    @Query("select o.outboxId from UserProvisioningOutbox o " +
+            "where o.status = :status and o.nextAttemptAt <= :now order by o.outboxId")
+    List<Long> findDueIds(@Param("status") OutboxStatus status, @Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Claims rows for one relay pass. Locking by id (instead of paging the locking query)
+     * avoids Oracle's ORA-02014 on FOR UPDATE with FETCH FIRST; -2 is SKIP LOCKED.
+     * Pass the {@code now} given to {@link #findDueIds}: a row another relay leased in between is no longer due.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select o from UserProvisioningOutbox o " +
+            "where o.outboxId in :ids and o.status = :status and o.nextAttemptAt <= :now order by o.outboxId")
+    List<UserProvisioningOutbox> lockByIds(@Param("ids") Collection<Long> ids, @Param("status") OutboxStatus status,
+                                           @Param("now") LocalDateTime now);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o from UserProvisioningOutbox o where o.outboxId = :id")
+    Optional<UserProvisioningOutbox> lockById(@Param("id") Long id);
+
+    long countByStatus(OutboxStatus status);
+}
@@ -0,0 +1,311 @@
+package com.bankingapp.userservice.service;
+
+import com.bankingapp.userservice.constants.ErrorMessage;
+import com.bankingapp.userservice.dto.BulkRegisterResult;
+import com.bankingapp.userservice.dto.BulkRegisterSummary;
+import com.bankingapp.userservice.dto.RegisterUserRequest;
+import com.bankingapp.userservice.enums.BulkRegisterStatus;
+import com.bankingapp.userservice.enums.UserRole;
+import com.bankingapp.userservice.enums.UserStatus;
+import com.bankingapp.userservice.exception.UserServiceException;
+import com.bankingapp.userservice.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Bulk onboarding of customers from CSV or NDJSON.
+ * Rows are processed in chunks: validated and de-duplicated (in-file and with one IN query
+ * per chunk), then inserted with one JDBC batch in the same transaction as their provisioning
+ * outbox rows. Keycloak users are created by the {@link UserProvisioningService} relay, exactly
+ * as for a single registration, so a failed insert leaves nothing behind in Keycloak.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class BulkUserImportService {
+
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    // Stays under Oracle's 1000-element IN list limit.
+    private static final int CHUNK_SIZE = 500;
+    private static final int MAX_ROWS = 50_000;
+    private static final Set<String> CSV_COLUMNS = Set.of("email", "firstname", "lastname", "phonenumber", "password");
+
+    private static final String INSERT_USER_SQL =
+            "insert into users (first_name, last_name, email, phone_number, role, status, created_at) "
+                    + "values (?, ?, ?, ?, ?, ?, ?)";
+
+    private final UserRepository userRepository;
+    private final UserProvisioningService userProvisioningService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    private record Row(int line, RegisterUserRequest request) {
+    }
+
+    /**
+     * Reads the whole upload. CSV needs a header row naming the RegisterUserRequest fields; a field may be
+     * double-quoted to hold commas, with {@code ""} for a literal quote. Quoted fields cannot span lines.
+     */
+    public List<RegisterUserRequest> parse(InputStream body, MediaType contentType) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        boolean csv = TEXT_CSV.includes(contentType);
+        List<RegisterUserRequest> rows = new ArrayList<>();
+        String[] header = null;
+        int lineNo = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (csv && header == null) {
+                header = parseCsvHeader(line, lineNo);
+                continue;
+            }
+            if (rows.size() == MAX_ROWS) {
+                throw invalidInput("Too many rows; at most " + MAX_ROWS + " per upload", lineNo);
+            }
+            rows.add(csv ? parseCsvRow(header, line, lineNo) : parseJsonRow(line, lineNo));
+        }
+        return rows;
+    }
+
+    public BulkRegisterSummary importUsers(List<RegisterUserRequest> requests, Consumer<BulkRegisterResult> sink) {
+        long start = System.currentTimeMillis();
+        Set<String> seenEmails = new HashSet<>();
+        Set<String> seenPhones = new HashSet<>();
+        EnumMap<BulkRegisterStatus, Integer> counts = new EnumMap<>(BulkRegisterStatus.class);
+
+        for (int from = 0; from < requests.size(); from += CHUNK_SIZE) {
+            List<BulkRegisterResult> results = new ArrayList<>();
+            List<Row> candidates = new ArrayList<>();
+
+            // 1️⃣ Validate and drop duplicates inside the upload
+            for (int i = from; i < Math.min(from + CHUNK_SIZE, requests.size()); i++) {
+                Row row = new Row(i + 1, requests.get(i));
+                String problem = validate(row.request());
+                if (problem != null) {
+                    results.add(result(row, BulkRegisterStatus.INVALID, problem));
+                } else if (!seenEmails.add(row.request().getEmail()) || !seenPhones.add(row.request().getPhoneNumber())) {
+                    results.add(result(row, BulkRegisterStatus.DUPLICATE, "Duplicate email or phone number in upload"));
+                } else {
+                    candidates.add(row);
+                }
+            }
+
+            // 2️⃣ Drop users that already exist, one IN query per column
+            candidates = removeExisting(candidates, results);
+
+            // 3️⃣ Insert in one JDBC batch and queue Keycloak provisioning in the same transaction
+            insert(candidates, results);
+
+            results.sort(Comparator.comparingInt(BulkRegisterResult::getLine));
+            for (BulkRegisterResult result : results) {
+                counts.merge(result.getStatus(), 1, Integer::sum);
+                sink.accept(result);
+            }
+        }
+
+        return BulkRegisterSummary.builder()
+                .total(requests.size())
+                .created(counts.getOrDefault(BulkRegisterStatus.CREATED, 0))
+                .duplicates(counts.getOrDefault(BulkRegisterStatus.DUPLICATE, 0))
+                .invalid(counts.getOrDefault(BulkRegisterStatus.INVALID, 0))
+                .failed(counts.getOrDefault(BulkRegisterStatus.FAILED, 0))
+                .elapsedMs(System.currentTimeMillis() - start)
+                .build();
+    }
+
+    private List<Row> removeExisting(List<Row> candidates, List<BulkRegisterResult> results) {
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+        Set<String> existingEmails = new HashSet<>(userRepository.findExistingEmails(
+                candidates.stream().map(row -> row.request().getEmail()).toList()));
+        Set<String> existingPhones = new HashSet<>(userRepository.findExistingPhoneNumbers(
+                candidates.stream().map(row -> row.request().getPhoneNumber()).toList()));
+
+        List<Row> remaining = new ArrayList<>(candidates.size());
+        for (Row row : candidates) {
+            if (existingEmails.contains(row.request().getEmail())) {
+                results.add(result(row, BulkRegisterStatus.DUPLICATE, "Email already registered."));
+            } else if (existingPhones.contains(row.request().getPhoneNumber())) {
+                results.add(result(row, BulkRegisterStatus.DUPLICATE, "Phone number already registered."));
+            } else {
+                remaining.add(row);
+            }
+        }
+        return remaining;
+    }
+
+    private void insert(List<Row> rows, List<BulkRegisterResult> results) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_USER_SQL, rows, rows.size(), (ps, row) -> bindUser(ps, row.request()));
+                userProvisioningService.enqueueAll(rows.stream().map(Row::request).toList(), UserRole.CUSTOMER);
+            });
+            rows.forEach(row -> results.add(result(row, BulkRegisterStatus.CREATED, null)));
+        } catch (Exception batchFailure) {
+            // A row raced with another registration; insert one by one to isolate it.
+            log.warn("Batch insert of {} users failed, retrying row by row: {}", rows.size(), batchFailure.getMessage());
+            for (Row row : rows) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        jdbcTemplate.update(INSERT_USER_SQL, ps -> bindUser(ps, row.request()));
+                        userProvisioningService.enqueue(row.request(), UserRole.CUSTOMER);
+                    });
+                    results.add(result(row, BulkRegisterStatus.CREATED, null));
+                } catch (Exception rowFailure) {
+                    results.add(result(row, BulkRegisterStatus.FAILED, "Database insert failed: " + rowFailure.getMessage()));
+                }
+            }
+        }
+    }
+
+    private void bindUser(PreparedStatement ps, RegisterUserRequest request) throws SQLException {
+        ps.setString(1, request.getFirstName());
+        ps.setString(2, request.getLastName());
+        ps.setString(3, request.getEmail());
+        ps.setString(4, request.getPhoneNumber());
+        ps.setString(5, UserRole.CUSTOMER.name());
+        ps.setString(6, UserStatus.ACTIVE.name());
+        ps.setTimestamp(7, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    private String validate(RegisterUserRequest request) {
+        if (isBlank(request.getEmail()) || !request.getEmail().contains("@")) {
+            return "A valid email is required";
+        }
+        if (isBlank(request.getFirstName()) || isBlank(request.getLastName())) {
+            return "First and last name are required";
+        }
+        if (isBlank(request.getPhoneNumber())) {
+            return "Phone number is required";
+        }
+        if (isBlank(request.getPassword())) {
+            return "Password is required";
+        }
+        return null;
+    }
+
+    private String[] parseCsvHeader(String line, int lineNo) {
+        List<String> columns = splitCsv(line, lineNo);
+        String[] header = new String[columns.size()];
+        for (int i = 0; i < header.length; i++) {
+            String column = columns.get(i).trim();
+            header[i] = column.toLowerCase(Locale.ROOT);
+            if (!CSV_COLUMNS.contains(header[i])) {
+                throw invalidInput("Unknown column: " + column, lineNo);
+            }
+        }
+        return header;
+    }
+
+    private RegisterUserRequest parseCsvRow(String[] header, String line, int lineNo) {
+        List<String> values = splitCsv(line, lineNo);
+        if (values.size() != header.length) {
+            throw invalidInput("Expected " + header.length + " columns but found " + values.size(), lineNo);
+        }
+        RegisterUserRequest request = new RegisterUserRequest();
+        for (int i = 0; i < header.length; i++) {
+            String value = values.get(i).trim();
+            switch (header[i]) {
+                case "email" -> request.setEmail(value);
+                case "firstname" -> request.setFirstName(value);
+                case "lastname" -> request.setLastName(value);
+                case "phonenumber" -> request.setPhoneNumber(value);
+                case "password" -> request.setPassword(value);
+                default -> throw new IllegalStateException("Unchecked column: " + header[i]);
+            }
+        }
+        return request;
+    }
+
+    /**
+     * Splits one CSV line, honouring RFC 4180 quoting; a quote only opens a field at its start.
+     */
+    private static List<String> splitCsv(String line, int lineNo) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '"' && field.toString().isBlank()) {
+                quoted = true;
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw invalidInput("Unterminated quoted field", lineNo);
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private RegisterUserRequest parseJsonRow(String line, int lineNo) {
+        try {
+            RegisterUserRequest request = objectMapper.readValue(line, RegisterUserRequest.class);
+            if (request.getEmail() != null) {
+                request.setEmail(request.getEmail().trim());
+            }
+            return request;
+        } catch (JsonProcessingException e) {
+            throw invalidInput("Malformed JSON: " + e.getOriginalMessage(), lineNo);
+        }
+    }
+
+    private static BulkRegisterResult result(Row row, BulkRegisterStatus status, String message) {
+        return BulkRegisterResult.builder()
+                .line(row.line())
+                .email(row.request().getEmail())
+                .status(status)
+                .message(message)
+                .build();
+    }
+
+    private static UserServiceException invalidInput(String message, int lineNo) {
+        return new UserServiceException(ErrorMessage.INVALID_INPUT.getCode(), message, Map.of("line", lineNo));
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
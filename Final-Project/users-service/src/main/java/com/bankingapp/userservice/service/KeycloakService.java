@@ -1,7 +1,14 @@
 package com.bankingapp.userservice.service;
 
+import com.bankingapp.userservice.constants.ErrorMessage;
+import com.bankingapp.userservice.exception.UserServiceException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.ws.rs.NotFoundException;
 import jakarta.ws.rs.core.Response;
 import lombok.RequiredArgsConstructor;
+import org.jboss.resteasy.client.jaxrs.internal.ResteasyClientBuilderImpl;
 import org.keycloak.OAuth2Constants;
 import org.keycloak.admin.client.CreatedResponseUtil;
 import org.keycloak.admin.client.Keycloak;
@@ -13,11 +20,23 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
 public class KeycloakService {
 
+    /**
+     * Set on users created by the provisioning outbox relay. The realm's user profile must
+     * keep it (declare it admin-only, or allow unmanaged attributes); without it a relay attempt
+     * that dies between creating the user and recording its id ends FAILED instead of resuming.
+     */
+    static final String PROVISIONING_KEY_ATTRIBUTE = "provisioning_key";
+
     @Value("${keycloak.server-url}")
     private String serverUrl;
 
@@ -33,43 +52,160 @@ public class KeycloakService {
     @Value("${keycloak.admin-password}")
     private String adminPassword;
 
+    @Value("${keycloak.connection-pool-size:20}")
+    private int connectionPoolSize;
+
+    @Value("${keycloak.token-min-validity-seconds:30}")
+    private long tokenMinValiditySeconds;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, RoleRepresentation> roleCache = new ConcurrentHashMap<>();
+    private volatile Keycloak adminClient;
+    private volatile String lastAccessToken;
+
+    /**
+     * Returns the shared admin client, built on first use.
+     * Its TokenManager keeps the master-realm token and refreshes it once fewer than
+     * {@code tokenMinValiditySeconds} remain, so only the first call pays for a password grant.
+     */
     private Keycloak getAdminClient() {
-        return KeycloakBuilder.builder()
+        Keycloak client = adminClient;
+        if (client == null) {
+            synchronized (this) {
+                if (adminClient == null) {
+                    adminClient = buildAdminClient();
+                }
+                client = adminClient;
+            }
+        }
+
+        String accessToken = timed("token", client.tokenManager()::getAccessTokenString);
+        if (!accessToken.equals(lastAccessToken)) {
+            lastAccessToken = accessToken;
+            meterRegistry.counter("keycloak.admin.token.refreshes").increment();
+        }
+        return client;
+    }
+
+    private Keycloak buildAdminClient() {
+        ResteasyClientBuilderImpl clientBuilder = new ResteasyClientBuilderImpl();
+        clientBuilder.connectionPoolSize(connectionPoolSize)
+                .maxPooledPerRoute(connectionPoolSize)
+                .connectTimeout(5, TimeUnit.SECONDS)
+                .readTimeout(10, TimeUnit.SECONDS);
+
+        Keycloak keycloak = KeycloakBuilder.builder()
                 .serverUrl(serverUrl)
                 .realm("master") // Admin always authenticates against master realm
                 .grantType(OAuth2Constants.PASSWORD)
                 .clientId(clientId)
                 .username(adminUsername)
                 .password(adminPassword)
+                .resteasyClient(clientBuilder.build())
                 .build();
+        keycloak.tokenManager().setMinTokenValidity(tokenMinValiditySeconds);
+        return keycloak;
+    }
+
+    @PreDestroy
+    public void close() {
+        if (adminClient != null) {
+            adminClient.close();
+        }
+    }
+
+    private RoleRepresentation getRealmRole(Keycloak keycloak, String roleName) {
+        return roleCache.computeIfAbsent(roleName, name ->
+                timed("get_role", () -> keycloak.realm(realm).roles().get(name).toRepresentation()));
     }
 
-    public String createKeycloakUser(String email, String firstName, String lastName, String password, String roleName) {
+    private <T> T timed(String operation, Supplier<T> call) {
+        return Timer.builder("keycloak.admin.calls")
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .record(call);
+    }
+
+    private void timed(String operation, Runnable call) {
+        Timer.builder("keycloak.admin.calls")
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .record(call);
+    }
+
+    /**
+     * Creates the user for a provisioning outbox row, tagged with the row's provisioning key.
+     * If the username is already taken, the existing user is resumed only when it carries that
+     * same key (an earlier attempt created it but did not get to record its id). A user that merely
+     * has the same email is never adopted: that fails with USER_ALREADY_EXISTS.
+     */
+    public String createProvisionedUser(String provisioningKey, String email, String firstName, String lastName) {
         Keycloak keycloak = getAdminClient();
+        String userId = createUser(keycloak, email, firstName, lastName,
+                Map.of(PROVISIONING_KEY_ATTRIBUTE, List.of(provisioningKey)));
+        if (userId != null) {
+            return userId;
+        }
+
+        List<UserRepresentation> tagged = timed("find_user", () -> keycloak.realm(realm).users()
+                .searchByAttributes(PROVISIONING_KEY_ATTRIBUTE + ":" + provisioningKey));
+        return tagged.stream()
+                .filter(user -> email.equalsIgnoreCase(user.getUsername()))
+                .map(UserRepresentation::getId)
+                .findFirst()
+                .orElseThrow(() -> new UserServiceException(ErrorMessage.USER_ALREADY_EXISTS.getCode(),
+                        "A Keycloak user with this email already exists and was not created by this registration",
+                        Map.of("email", email)));
+    }
+
+    /**
+     * Sets the password and realm role of a user created by {@link #createProvisionedUser}.
+     */
+    public void setPasswordAndRole(String userId, String password, String roleName) {
+        setPasswordAndRole(getAdminClient(), userId, password, roleName);
+    }
 
+    // returns null when the username is taken (409)
+    private String createUser(Keycloak keycloak, String email, String firstName, String lastName,
+                              Map<String, List<String>> attributes) {
         UserRepresentation user = new UserRepresentation();
         user.setUsername(email);
         user.setEmail(email);
         user.setFirstName(firstName);
         user.setLastName(lastName);
         user.setEnabled(true);
-
-        Response response = keycloak.realm(realm).users().create(user);
-        if (response.getStatus() != 201) {
-            throw new RuntimeException("Failed to create Keycloak user: " + response.getStatusInfo());
+        user.setAttributes(attributes);
+
+        try (Response response = timed("create_user", () -> keycloak.realm(realm).users().create(user))) {
+            if (response.getStatus() == 409) {
+                return null;
+            }
+            if (response.getStatus() != 201) {
+                throw new RuntimeException("Failed to create Keycloak user: " + response.getStatusInfo());
+            }
+            return CreatedResponseUtil.getCreatedId(response);
         }
+    }
 
-        String userId = CreatedResponseUtil.getCreatedId(response);
-
+    private void setPasswordAndRole(Keycloak keycloak, String userId, String password, String roleName) {
         CredentialRepresentation credentials = new CredentialRepresentation();
         credentials.setType(CredentialRepresentation.PASSWORD);
         credentials.setValue(password);
         credentials.setTemporary(false);
-        keycloak.realm(realm).users().get(userId).resetPassword(credentials);
-
-        RoleRepresentation role = keycloak.realm(realm).roles().get(roleName).toRepresentation();
-        keycloak.realm(realm).users().get(userId).roles().realmLevel().add(Collections.singletonList(role));
-
-        return userId;
+        timed("reset_password", () -> keycloak.realm(realm).users().get(userId).resetPassword(credentials));
+
+        RoleRepresentation role = getRealmRole(keycloak, roleName);
+        try {
+            timed("assign_role", () -> keycloak.realm(realm).users().get(userId).roles().realmLevel()
+                    .add(Collections.singletonList(role)));
+        } catch (NotFoundException e) {
+            // Role was recreated since it was cached; look it up again once.
+            roleCache.remove(roleName);
+            RoleRepresentation freshRole = getRealmRole(keycloak, roleName);
+            timed("assign_role", () -> keycloak.realm(realm).users().get(userId).roles().realmLevel()
+                    .add(Collections.singletonList(freshRole)));
+        }
     }
+
 }
@@ -0,0 +1,80 @@
+package com.bankingapp.userservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+
+/**
+ * Tells the services that cache user lookups (account, card, loan) to drop a user
+ * after it has been updated or deleted. The calls run on cacheEvictionExecutor and
+ * nobody waits for them. Best effort: failures and a full queue are logged, and the
+ * consumer's TTL bounds how long a stale entry can live.
+ */
+@Service
+@Slf4j
+public class UserCacheEvictionNotifier {
+
+    private final RestClient restClient;
+    private final ThreadPoolTaskExecutor cacheEvictionExecutor;
+
+    @Value("${user-cache.subscribers:}")
+    private List<String> subscribers;
+
+    public UserCacheEvictionNotifier(ThreadPoolTaskExecutor cacheEvictionExecutor) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(2000);
+        requestFactory.setReadTimeout(2000);
+        this.restClient = RestClient.builder().requestFactory(requestFactory).build();
+        this.cacheEvictionExecutor = cacheEvictionExecutor;
+    }
+
+    /**
+     * Captures the caller's bearer token; must run on the request thread.
+     */
+    public String currentAuthorization() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication instanceof JwtAuthenticationToken jwt) {
+            return "Bearer " + jwt.getToken().getTokenValue();
+        }
+        return null;
+    }
+
+    /**
+     * Queues one eviction per subscriber and returns without waiting for them.
+     */
+    public void userChanged(Long userId, String authorization) {
+        for (String subscriber : subscribers) {
+            try {
+                cacheEvictionExecutor.execute(() -> evict(subscriber, userId, authorization));
+            } catch (TaskRejectedException e) {
+                log.warn("Eviction queue full, not evicting user {} from {}", userId, subscriber);
+            }
+        }
+    }
+
+    private void evict(String subscriber, Long userId, String authorization) {
+        try {
+            restClient.delete()
+                    .uri(subscriber + "/{userId}", userId)
+                    .headers(headers -> {
+                        if (authorization != null) {
+                            headers.set(HttpHeaders.AUTHORIZATION, authorization);
+                        }
+                    })
+                    .retrieve()
+                    .toBodilessEntity();
+        } catch (Exception e) {
+            log.warn("Failed to evict user {} from {}: {}", userId, subscriber, e.getMessage());
+        }
+    }
+}
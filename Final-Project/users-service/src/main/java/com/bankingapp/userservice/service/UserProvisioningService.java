@@ -0,0 +1,230 @@
+package com.bankingapp.userservice.service;
+
+import com.bankingapp.userservice.dto.RegisterUserRequest;
+import com.bankingapp.userservice.entity.UserProvisioningOutbox;
+import com.bankingapp.userservice.enums.OutboxStatus;
+import com.bankingapp.userservice.enums.UserRole;
+import com.bankingapp.userservice.exception.UserServiceException;
+import com.bankingapp.userservice.repository.UserProvisioningOutboxRepository;
+import com.bankingapp.userservice.util.OutboxPasswordCipher;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Transactional outbox between the users table and Keycloak.
+ * Registration calls {@link #enqueue} inside its own transaction; the scheduled relay
+ * drains due rows in batches, retrying failures with exponential backoff. Rows are claimed in a
+ * short transaction and leased; Keycloak is called with no transaction open, and each outcome is
+ * written in its own short transaction. A row only ever provisions the Keycloak user it created
+ * itself (its recorded id, or the user tagged with its provisioning key): a pre-existing user with
+ * the same email fails the row and is left untouched.
+ */
+@Service
+@Slf4j
+public class UserProvisioningService {
+
+    private static final long BASE_BACKOFF_SECONDS = 5;
+    private static final long MAX_BACKOFF_SECONDS = 900;
+
+    private final UserProvisioningOutboxRepository outboxRepository;
+    private final KeycloakService keycloakService;
+    private final OutboxPasswordCipher passwordCipher;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${users.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${users.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${users.outbox.claim-lease:5m}")
+    private Duration claimLease;
+
+    public UserProvisioningService(UserProvisioningOutboxRepository outboxRepository,
+                                   KeycloakService keycloakService,
+                                   OutboxPasswordCipher passwordCipher,
+                                   TransactionTemplate transactionTemplate,
+                                   MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.keycloakService = keycloakService;
+        this.passwordCipher = passwordCipher;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("users.outbox.pending", () -> outboxRepository.countByStatus(OutboxStatus.PENDING))
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records that the user must be created in Keycloak. Must run in the caller's transaction.
+     */
+    public void enqueue(RegisterUserRequest dto, UserRole role) {
+        UserProvisioningOutbox entry = outboxRepository.findByEmail(dto.getEmail())
+                .orElseGet(() -> UserProvisioningOutbox.builder().email(dto.getEmail()).build());
+        outboxRepository.save(prepare(entry, dto, role, LocalDateTime.now()));
+    }
+
+    /**
+     * {@link #enqueue} for a chunk of registrations, looking up earlier rows with one IN query.
+     * Must run in the caller's transaction.
+     */
+    public void enqueueAll(List<RegisterUserRequest> dtos, UserRole role) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, UserProvisioningOutbox> existing = outboxRepository.findByEmailIn(
+                        dtos.stream().map(RegisterUserRequest::getEmail).toList()).stream()
+                .collect(Collectors.toMap(UserProvisioningOutbox::getEmail, Function.identity()));
+        List<UserProvisioningOutbox> entries = dtos.stream()
+                .map(dto -> prepare(existing.getOrDefault(dto.getEmail(),
+                        UserProvisioningOutbox.builder().email(dto.getEmail()).build()), dto, role, now))
+                .toList();
+        outboxRepository.saveAll(entries);
+    }
+
+    private UserProvisioningOutbox prepare(UserProvisioningOutbox entry, RegisterUserRequest dto,
+                                           UserRole role, LocalDateTime now) {
+        entry.setFirstName(dto.getFirstName());
+        entry.setLastName(dto.getLastName());
+        entry.setRole(role);
+        entry.setEncryptedPassword(passwordCipher.encrypt(dto.getPassword()));
+        entry.setProvisioningKey(UUID.randomUUID().toString());
+        entry.setKeycloakUserId(null); // a re-registration never reuses the previous Keycloak user
+        entry.setStatus(OutboxStatus.PENDING);
+        entry.setAttempts(0);
+        entry.setNextAttemptAt(now);
+        entry.setLastError(null);
+        entry.setCreatedAt(now);
+        entry.setProcessedAt(null);
+        return entry;
+    }
+
+    /**
+     * Single-threaded on purpose: one instance provisions one row at a time, so the relay never holds
+     * more than one Keycloak connection and a bulk import drains at a steady rate instead of crowding out
+     * interactive logins. The claim lease lets several instances relay at once; run more of them to drain faster.
+     */
+    @Scheduled(initialDelayString = "${users.outbox.poll-interval-ms:1000}",
+            fixedDelayString = "${users.outbox.poll-interval-ms:1000}")
+    public void relay() {
+        int claimed;
+        do {
+            claimed = relayBatch();
+        } while (claimed == batchSize);
+    }
+
+    /**
+     * Claims up to one batch of due rows (skipping rows another instance holds) and provisions them.
+     * Returns how many rows were claimed.
+     */
+    public int relayBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> dueIds = outboxRepository.findDueIds(OutboxStatus.PENDING, now, PageRequest.of(0, batchSize));
+        if (dueIds.isEmpty()) {
+            return 0;
+        }
+
+        List<UserProvisioningOutbox> claimed = transactionTemplate.execute(status -> claim(dueIds, now));
+        if (claimed == null) {
+            return 0;
+        }
+        // no transaction, row lock or connection is held while Keycloak is called
+        claimed.forEach(this::provision);
+        return claimed.size();
+    }
+
+    /**
+     * Short claiming transaction: leases the rows by pushing nextAttemptAt out by the claim lease,
+     * so no relay picks them up again while this one works on them. If this instance dies, the rows
+     * become due again when the lease runs out.
+     */
+    private List<UserProvisioningOutbox> claim(List<Long> dueIds, LocalDateTime now) {
+        LocalDateTime leaseUntil = LocalDateTime.now().plus(claimLease);
+        List<UserProvisioningOutbox> entries = outboxRepository.lockByIds(dueIds, OutboxStatus.PENDING, now);
+        for (UserProvisioningOutbox entry : entries) {
+            if (entry.getProvisioningKey() == null) {
+                entry.setProvisioningKey(UUID.randomUUID().toString());
+            }
+            entry.setNextAttemptAt(leaseUntil);
+        }
+        return entries;
+    }
+
+    private void provision(UserProvisioningOutbox claimed) {
+        try {
+            String keycloakUserId = claimed.getKeycloakUserId();
+            if (keycloakUserId == null) {
+                String createdId = keycloakService.createProvisionedUser(claimed.getProvisioningKey(),
+                        claimed.getEmail(), claimed.getFirstName(), claimed.getLastName());
+                // recorded right away, so a retry continues with this user even if the next call fails
+                update(claimed, entry -> entry.setKeycloakUserId(createdId));
+                keycloakUserId = createdId;
+            }
+            keycloakService.setPasswordAndRole(keycloakUserId,
+                    passwordCipher.decrypt(claimed.getEncryptedPassword()),
+                    claimed.getRole().name());
+
+            update(claimed, entry -> {
+                entry.setStatus(OutboxStatus.PROVISIONED);
+                entry.setEncryptedPassword(null);
+                entry.setLastError(null);
+                entry.setProcessedAt(LocalDateTime.now());
+            });
+            meterRegistry.counter("users.outbox.provisioned").increment();
+        } catch (Exception e) {
+            meterRegistry.counter("users.outbox.failures").increment();
+            update(claimed, entry -> recordFailure(entry, e));
+        }
+    }
+
+    private void recordFailure(UserProvisioningOutbox entry, Exception e) {
+        int attempts = entry.getAttempts() + 1;
+        entry.setAttempts(attempts);
+        entry.setLastError(truncate(e.getMessage()));
+
+        // UserServiceException: the email belongs to a Keycloak user this row did not create, retrying cannot help
+        if (e instanceof UserServiceException || attempts >= maxAttempts) {
+            entry.setStatus(OutboxStatus.FAILED);
+            entry.setEncryptedPassword(null);
+            entry.setProcessedAt(LocalDateTime.now());
+            log.error("Giving up provisioning {} in Keycloak after {} attempt(s): {}",
+                    entry.getEmail(), attempts, e.getMessage());
+        } else {
+            long backoff = Math.min(MAX_BACKOFF_SECONDS, BASE_BACKOFF_SECONDS << Math.min(attempts - 1, 20));
+            entry.setNextAttemptAt(LocalDateTime.now().plusSeconds(backoff));
+            log.warn("Keycloak provisioning of {} failed (attempt {}), retrying in {}s: {}",
+                    entry.getEmail(), attempts, backoff, e.getMessage());
+        }
+    }
+
+    /**
+     * Applies one outcome to the row in its own short transaction. Skipped when the row was
+     * re-registered (new provisioning key) while Keycloak was being called.
+     */
+    private void update(UserProvisioningOutbox claimed, Consumer<UserProvisioningOutbox> change) {
+        transactionTemplate.executeWithoutResult(status -> outboxRepository.lockById(claimed.getOutboxId())
+                .filter(entry -> entry.getStatus() == OutboxStatus.PENDING
+                        && claimed.getProvisioningKey().equals(entry.getProvisioningKey()))
+                .ifPresent(change));
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() <= 1000 ? message : message.substring(0, 1000);
+    }
+}
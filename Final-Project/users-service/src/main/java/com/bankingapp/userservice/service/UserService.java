@@ -20,6 +20,8 @@ public interface UserService {
 
     CompletableFuture<User> getUserById(Long  id);
 
+    CompletableFuture<List<User>> getUsersByIds(List<Long> ids);
+
     CompletableFuture<User> updateUser(Long  id, User updatedUser);
 
     CompletableFuture<Void> deleteUser(Long  id);
@@ -1,16 +1,23 @@
 package com.bankingapp.userservice.service.impl;
 
+import com.bankingapp.userservice.constants.ErrorMessage;
 import com.bankingapp.userservice.dto.RegisterUserRequest;
 import com.bankingapp.userservice.entity.User;
 import com.bankingapp.userservice.enums.UserRole;
 import com.bankingapp.userservice.enums.UserStatus;
+import com.bankingapp.userservice.exception.UserServiceException;
 import com.bankingapp.userservice.repository.UserRepository;
-import com.bankingapp.userservice.service.KeycloakService;
+import com.bankingapp.userservice.service.UserCacheEvictionNotifier;
+import com.bankingapp.userservice.service.UserProvisioningService;
 import com.bankingapp.userservice.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
@@ -18,40 +25,36 @@ import java.util.concurrent.CompletableFuture;
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
+    static final int MAX_BATCH_SIZE = 500; // Oracle allows 1000 expressions in an IN list
+
     private final UserRepository userRepository;
-    private final KeycloakService keycloakService;
+    private final UserCacheEvictionNotifier userCacheEvictionNotifier;
+    private final ThreadPoolTaskExecutor userTaskExecutor;
+    private final UserProvisioningService userProvisioningService;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * Generic method to create a user in the database.
      */
     @Override
     public CompletableFuture<User> createUser(User user) {
-        return CompletableFuture.supplyAsync(() -> userRepository.save(user));
+        return CompletableFuture.supplyAsync(() -> userRepository.save(user), userTaskExecutor);
     }
 
     /**
      * Public customer self-registration flow.
      * 1. Validates duplicate email.
-     * 2. Creates user in Keycloak with CUSTOMER role.
-     * 3. Persists user in Oracle DB.
+     * 2. Persists user in Oracle DB together with a provisioning outbox row.
+     * 3. Returns; the outbox relay creates the Keycloak user with CUSTOMER role.
      */
     @Override
     public CompletableFuture<User> registerCustomer(RegisterUserRequest dto) {
-        return CompletableFuture.supplyAsync(() -> {
+        return CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
             if (userRepository.existsByEmail(dto.getEmail())) {
                 throw new RuntimeException("Email already registered.");
             }
 
-            // 1️⃣ Create Keycloak account (CUSTOMER role)
-            keycloakService.createKeycloakUser(
-                    dto.getEmail(),
-                    dto.getFirstName(),
-                    dto.getLastName(),
-                    dto.getPassword(),
-                    "CUSTOMER"
-            );
-
-            // 2️⃣ Save in DB
+            // 1️⃣ Save in DB
             User user = new User();
             user.setFirstName(dto.getFirstName());
             user.setLastName(dto.getLastName());
@@ -60,8 +63,11 @@ public class UserServiceImpl implements UserService {
             user.setRole(UserRole.CUSTOMER);
             user.setStatus(UserStatus.ACTIVE);
 
-            return userRepository.save(user);
-        });
+            // 2️⃣ Queue Keycloak account creation (CUSTOMER role) in the same transaction
+            User saved = userRepository.save(user);
+            userProvisioningService.enqueue(dto, UserRole.CUSTOMER);
+            return saved;
+        }), userTaskExecutor);
     }
 
     /**
@@ -69,21 +75,12 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public CompletableFuture<User> registerAdmin(RegisterUserRequest dto, UserRole role) {
-        return CompletableFuture.supplyAsync(() -> {
+        return CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
             if (userRepository.existsByEmail(dto.getEmail())) {
                 throw new RuntimeException("Email already registered.");
             }
 
-            // 1️⃣ Create user in Keycloak with ADMIN or MANAGER role
-            keycloakService.createKeycloakUser(
-                    dto.getEmail(),
-                    dto.getFirstName(),
-                    dto.getLastName(),
-                    dto.getPassword(),
-                    role.name()
-            );
-
-            // 2️⃣ Persist in Oracle
+            // 1️⃣ Save in DB
             User user = new User();
             user.setFirstName(dto.getFirstName());
             user.setLastName(dto.getLastName());
@@ -92,8 +89,11 @@ public class UserServiceImpl implements UserService {
             user.setRole(role);
             user.setStatus(UserStatus.ACTIVE);
 
-            return userRepository.save(user);
-        });
+            // 2️⃣ Queue Keycloak account creation with ADMIN or MANAGER role in the same transaction
+            User saved = userRepository.save(user);
+            userProvisioningService.enqueue(dto, role);
+            return saved;
+        }), userTaskExecutor);
     }
 
     /**
@@ -101,7 +101,7 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public CompletableFuture<List<User>> getAllUsers() {
-        return CompletableFuture.supplyAsync(userRepository::findAll);
+        return CompletableFuture.supplyAsync(userRepository::findAll, userTaskExecutor);
     }
 
     /**
@@ -111,7 +111,23 @@ public class UserServiceImpl implements UserService {
     public CompletableFuture<User> getUserById(Long  id) {
         return CompletableFuture.supplyAsync(() ->
                 userRepository.findById(id)
-                        .orElseThrow(() -> new RuntimeException("User not found")));
+                        .orElseThrow(() -> userNotFound(id)), userTaskExecutor);
+    }
+
+    /**
+     * Retrieve many users with one IN query; ids that do not exist are left out of the result.
+     */
+    @Override
+    public CompletableFuture<List<User>> getUsersByIds(List<Long> ids) {
+        List<Long> distinct = ids == null ? List.of() : ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinct.size() > MAX_BATCH_SIZE) {
+            return CompletableFuture.failedFuture(new UserServiceException(ErrorMessage.INVALID_INPUT.getCode(),
+                    "At most " + MAX_BATCH_SIZE + " ids per batch", Map.of("ids", distinct.size())));
+        }
+        if (distinct.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        return CompletableFuture.supplyAsync(() -> userRepository.findAllById(distinct), userTaskExecutor);
     }
 
     /**
@@ -119,9 +135,10 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public CompletableFuture<User> updateUser(Long  id, User updatedUser) {
+        String authorization = userCacheEvictionNotifier.currentAuthorization();
         return CompletableFuture.supplyAsync(() -> {
             User existing = userRepository.findById(id)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
+                    .orElseThrow(() -> userNotFound(id));
 
             existing.setFirstName(updatedUser.getFirstName());
             existing.setLastName(updatedUser.getLastName());
@@ -130,8 +147,10 @@ public class UserServiceImpl implements UserService {
             existing.setRole(updatedUser.getRole());
             existing.setStatus(updatedUser.getStatus());
 
-            return userRepository.save(existing);
-        });
+            User saved = userRepository.save(existing);
+            userCacheEvictionNotifier.userChanged(id, authorization);
+            return saved;
+        }, userTaskExecutor);
     }
 
     /**
@@ -139,11 +158,18 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public CompletableFuture<Void> deleteUser(Long  id) {
+        String authorization = userCacheEvictionNotifier.currentAuthorization();
         return CompletableFuture.runAsync(() -> {
             if (!userRepository.existsById(id)) {
-                throw new RuntimeException("User not found");
+                throw userNotFound(id);
             }
             userRepository.deleteById(id);
-        });
+            userCacheEvictionNotifier.userChanged(id, authorization);
+        }, userTaskExecutor);
+    }
+
+    private UserServiceException userNotFound(Long id) {
+        return new UserServiceException(ErrorMessage.USER_NOT_FOUND.getCode(),
+                ErrorMessage.USER_NOT_FOUND.getMessage(), Map.of("userId", id));
     }
 }
@@ -0,0 +1,77 @@
+package com.bankingapp.userservice.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * AES-GCM for the password carried by a provisioning outbox row between registration
+ * and the relay's Keycloak call. Output is base64(iv || ciphertext).
+ */
+@Component
+public class OutboxPasswordCipher {
+
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+    private static final int KEY_LENGTH = 32;
+
+    private final SecretKeySpec key;
+    private final SecureRandom random = new SecureRandom();
+
+    public OutboxPasswordCipher(@Value("${users.outbox.encryption-key:}") String base64Key) {
+        this.key = new SecretKeySpec(decodeKey(base64Key), "AES");
+    }
+
+    // fail at startup rather than queue passwords under a missing, weak or shared key
+    private static byte[] decodeKey(String base64Key) {
+        if (base64Key == null || base64Key.isBlank()) {
+            throw new IllegalStateException("USERS_OUTBOX_KEY (users.outbox.encryption-key) is not set; "
+                    + "it must be a base64-encoded 32-byte AES key");
+        }
+        byte[] key;
+        try {
+            key = Base64.getDecoder().decode(base64Key.trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("USERS_OUTBOX_KEY is not valid base64", e);
+        }
+        if (key.length != KEY_LENGTH) {
+            throw new IllegalStateException("USERS_OUTBOX_KEY must decode to " + KEY_LENGTH
+                    + " bytes (AES-256), got " + key.length);
+        }
+        return key;
+    }
+
+    public String encrypt(String plain) {
+        try {
+            byte[] iv = new byte[IV_LENGTH];
+            random.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            byte[] encrypted = cipher.doFinal(plain.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(ByteBuffer.allocate(iv.length + encrypted.length)
+                    .put(iv).put(encrypted).array());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to encrypt outbox password", e);
+        }
+    }
+
+    public String decrypt(String encoded) {
+        try {
+            byte[] data = Base64.getDecoder().decode(encoded);
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, data, 0, IV_LENGTH));
+            return new String(cipher.doFinal(data, IV_LENGTH, data.length - IV_LENGTH), StandardCharsets.UTF_8);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to decrypt outbox password", e);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.bankingapp.userservice.metrics;
+
+import com.bankingapp.userservice.config.AsyncConfig;
+import com.bankingapp.userservice.exception.UserServiceException;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Service methods returning a CompletableFuture: the timer covers the work on the service pool, the
+ * outcome comes from how the future completes, and the DB time of the pool task is counted.
+ */
+class ServiceMetricsAspectTest {
+
+    private SimpleMeterRegistry registry;
+    private ThreadPoolTaskExecutor executor;
+    private Registrar timed;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        executor = new AsyncConfig().userTaskExecutor(2, 10);
+        executor.initialize();
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Registrar(executor));
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ServiceMetricsAspect(registry));
+        timed = factory.getProxy();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void asyncMethodIsTimedUntilItsFutureCompletes() throws Exception {
+        assertThat(timed.register().join()).isEqualTo("ok");
+
+        Timer success = await("register", "SUCCESS");
+        assertThat(success.totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(50);
+        assertThat(registry.get("service.method.db").tags("method", "register").timer()
+                .totalTime(TimeUnit.MILLISECONDS)).isEqualTo(5.0);
+    }
+
+    @Test
+    void failedFutureIsRecordedWithItsErrorCode() throws Exception {
+        assertThatThrownBy(() -> timed.reject().join()).isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(UserServiceException.class);
+
+        await("reject", "USER_NOT_FOUND");
+        assertThat(registry.find("service.method").tags("method", "reject", "outcome", "SUCCESS").timer().count())
+                .isZero();
+        assertThat(registry.get("service.method.db").tags("method", "reject").timer()
+                .totalTime(TimeUnit.MILLISECONDS)).isEqualTo(1.0);
+    }
+
+    // the aspect records in whenComplete, which may run just after join() returns
+    private Timer await(String method, String outcome) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        Timer timer = registry.find("service.method").tags("method", method, "outcome", outcome).timer();
+        while ((timer == null || timer.count() == 0) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            timer = registry.find("service.method").tags("method", method, "outcome", outcome).timer();
+        }
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(1);
+        return timer;
+    }
+
+    @Service
+    static class Registrar {
+
+        private final ThreadPoolTaskExecutor executor;
+
+        Registrar(ThreadPoolTaskExecutor executor) {
+            this.executor = executor;
+        }
+
+        public CompletableFuture<String> register() {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                CallTimings.addDb(TimeUnit.MILLISECONDS.toNanos(5));
+                return "ok";
+            }, executor);
+        }
+
+        public CompletableFuture<String> reject() {
+            return CompletableFuture.supplyAsync(() -> {
+                CallTimings.addDb(TimeUnit.MILLISECONDS.toNanos(1));
+                throw new UserServiceException("USER_NOT_FOUND", "User not found", Map.of());
+            }, executor);
+        }
+    }
+}
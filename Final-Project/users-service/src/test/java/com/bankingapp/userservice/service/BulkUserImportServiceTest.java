@@ -0,0 +1,147 @@
+package com.bankingapp.userservice.service;
+
+import com.bankingapp.userservice.dto.BulkRegisterResult;
+import com.bankingapp.userservice.dto.BulkRegisterSummary;
+import com.bankingapp.userservice.dto.RegisterUserRequest;
+import com.bankingapp.userservice.entity.UserProvisioningOutbox;
+import com.bankingapp.userservice.enums.BulkRegisterStatus;
+import com.bankingapp.userservice.enums.OutboxStatus;
+import com.bankingapp.userservice.exception.UserServiceException;
+import com.bankingapp.userservice.repository.UserProvisioningOutboxRepository;
+import com.bankingapp.userservice.repository.UserRepository;
+import com.bankingapp.userservice.util.OutboxPasswordCipher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Bulk registration against H2: users and their provisioning outbox rows are written together,
+ * and Keycloak is left to the outbox relay.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "users.outbox.poll-interval-ms=3600000",
+        "users.outbox.encryption-key=MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY="
+})
+@Import({BulkUserImportService.class, UserProvisioningService.class, OutboxPasswordCipher.class,
+        BulkUserImportServiceTest.Config.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BulkUserImportServiceTest {
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+    }
+
+    @MockBean
+    private KeycloakService keycloakService;
+
+    @Autowired
+    private BulkUserImportService bulkUserImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserProvisioningOutboxRepository outboxRepository;
+
+    @BeforeEach
+    void clean() {
+        outboxRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void queuesKeycloakProvisioningWithTheInsertedUsers() {
+        List<BulkRegisterResult> results = new ArrayList<>();
+
+        BulkRegisterSummary summary = bulkUserImportService.importUsers(List.of(
+                request("gus@bank.test", "9000000001"),
+                request("hana@bank.test", "9000000002"),
+                request("gus@bank.test", "9000000003")), results::add);
+
+        assertThat(summary.getCreated()).isEqualTo(2);
+        assertThat(summary.getDuplicates()).isEqualTo(1);
+        assertThat(results).extracting(BulkRegisterResult::getStatus)
+                .containsExactly(BulkRegisterStatus.CREATED, BulkRegisterStatus.CREATED, BulkRegisterStatus.DUPLICATE);
+        assertThat(userRepository.count()).isEqualTo(2);
+        assertThat(outboxRepository.findAll())
+                .extracting(UserProvisioningOutbox::getEmail, UserProvisioningOutbox::getStatus)
+                .containsExactlyInAnyOrder(
+                        tuple("gus@bank.test", OutboxStatus.PENDING),
+                        tuple("hana@bank.test", OutboxStatus.PENDING));
+        assertThat(outboxRepository.findAll()).allSatisfy(entry -> {
+            assertThat(entry.getEncryptedPassword()).isNotBlank().isNotEqualTo("secret");
+            assertThat(entry.getProvisioningKey()).isNotBlank();
+        });
+        verifyNoInteractions(keycloakService);
+    }
+
+    @Test
+    void csvFieldsMayBeQuotedToHoldCommasAndQuotes() throws Exception {
+        List<RegisterUserRequest> rows = bulkUserImportService.parse(csv(
+                "email, firstName, lastName, phoneNumber, password\n"
+                        + "ivy@bank.test,Ivy,\"Smith, Jr.\",9000000004,\"pa,\"\"ss\"\n"),
+                BulkUserImportService.TEXT_CSV);
+
+        assertThat(rows).singleElement().satisfies(row -> {
+            assertThat(row.getLastName()).isEqualTo("Smith, Jr.");
+            assertThat(row.getPassword()).isEqualTo("pa,\"ss");
+            assertThat(row.getPhoneNumber()).isEqualTo("9000000004");
+        });
+    }
+
+    @Test
+    void unknownCsvColumnIsReportedOnTheHeaderLine() {
+        assertThatThrownBy(() -> bulkUserImportService.parse(csv("\nemail,nickname\nivy@bank.test,ivy\n"),
+                BulkUserImportService.TEXT_CSV))
+                .isInstanceOf(UserServiceException.class)
+                .hasMessage("Unknown column: nickname")
+                .extracting(e -> ((UserServiceException) e).getDetails().get("line"))
+                .isEqualTo(2);
+    }
+
+    private static InputStream csv(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static RegisterUserRequest request(String email, String phoneNumber) {
+        return RegisterUserRequest.builder()
+                .email(email)
+                .firstName("First")
+                .lastName("Last")
+                .phoneNumber(phoneNumber)
+                .password("secret")
+                .build();
+    }
+}
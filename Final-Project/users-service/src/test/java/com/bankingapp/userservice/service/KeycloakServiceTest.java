@@ -0,0 +1,60 @@
+package com.bankingapp.userservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs KeycloakService against {@link StubKeycloak} to check that the admin token
+ * and realm roles are fetched once and then reused.
+ */
+class KeycloakServiceTest {
+
+    private StubKeycloak stub;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private KeycloakService keycloakService;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        stub = new StubKeycloak();
+
+        keycloakService = new KeycloakService(meterRegistry);
+        ReflectionTestUtils.setField(keycloakService, "serverUrl", stub.url());
+        ReflectionTestUtils.setField(keycloakService, "realm", "banking-app");
+        ReflectionTestUtils.setField(keycloakService, "clientId", "admin-cli");
+        ReflectionTestUtils.setField(keycloakService, "adminUsername", "admin");
+        ReflectionTestUtils.setField(keycloakService, "adminPassword", "admin");
+        ReflectionTestUtils.setField(keycloakService, "connectionPoolSize", 4);
+        ReflectionTestUtils.setField(keycloakService, "tokenMinValiditySeconds", 30L);
+    }
+
+    @AfterEach
+    void stopStub() {
+        keycloakService.close();
+        stub.close();
+    }
+
+    @Test
+    void reusesAdminTokenAndRoleAcrossRegistrations() {
+        for (int i = 0; i < 5; i++) {
+            String userId = keycloakService.createProvisionedUser(UUID.randomUUID().toString(),
+                    "user" + i + "@bank.test", "First", "Last");
+            assertThat(userId).isNotBlank();
+            keycloakService.setPasswordAndRole(userId, "secret", "CUSTOMER");
+        }
+
+        assertThat(stub.count("token")).isEqualTo(1);
+        assertThat(stub.count("role")).isEqualTo(1);
+        assertThat(stub.count("create")).isEqualTo(5);
+        assertThat(stub.count("role-mapping")).isEqualTo(5);
+        assertThat(meterRegistry.counter("keycloak.admin.token.refreshes").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("keycloak.admin.calls").tag("operation", "create_user").timer().count()).isEqualTo(5);
+    }
+}
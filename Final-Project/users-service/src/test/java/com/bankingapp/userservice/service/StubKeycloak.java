@@ -0,0 +1,170 @@
+package com.bankingapp.userservice.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process stand-in for the Keycloak token and admin endpoints used by KeycloakService.
+ * Counts hits per endpoint (password resets also per user id), remembers created users by email
+ * together with their provisioning_key attribute, and answers 409 for a username that is taken.
+ */
+class StubKeycloak implements AutoCloseable {
+
+    private final HttpServer server;
+    private final Map<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+    private final Map<String, String> usersByEmail = new ConcurrentHashMap<>();
+    private final Map<String, String> provisioningKeys = new ConcurrentHashMap<>(); // user id -> provisioning_key
+    private volatile boolean failCreate;
+    private volatile Runnable onCreate = () -> { };
+
+    StubKeycloak() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    int count(String endpoint) {
+        return hits.getOrDefault(endpoint, new AtomicInteger()).get();
+    }
+
+    void addExistingUser(String email, String id) {
+        usersByEmail.put(email, id);
+    }
+
+    // as if an earlier relay attempt created the user and died before recording its id
+    void addProvisionedUser(String email, String id, String provisioningKey) {
+        usersByEmail.put(email, id);
+        provisioningKeys.put(id, provisioningKey);
+    }
+
+    void failCreate(boolean fail) {
+        this.failCreate = fail;
+    }
+
+    // runs on the stub's thread while a create request is in flight
+    void onCreate(Runnable action) {
+        this.onCreate = action;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String method = exchange.getRequestMethod();
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+
+        if (path.endsWith("/protocol/openid-connect/token")) {
+            record("token");
+            respond(exchange, 200, """
+                    {"access_token":"token-1","expires_in":300,"refresh_token":"refresh-1",
+                     "refresh_expires_in":1800,"token_type":"Bearer"}""");
+        } else if (path.endsWith("/users") && method.equals("GET")) {
+            record("search");
+            String email = queryParam(exchange, "email");
+            String attributeQuery = queryParam(exchange, "q"); // provisioning_key:<uuid>
+            String id = null;
+            if (email != null) {
+                id = usersByEmail.get(email);
+            } else if (attributeQuery != null) {
+                String key = attributeQuery.substring(attributeQuery.indexOf(':') + 1);
+                id = provisioningKeys.entrySet().stream()
+                        .filter(entry -> entry.getValue().equals(key))
+                        .map(Map.Entry::getKey)
+                        .findFirst().orElse(null);
+            }
+            String username = id == null ? null : emailOf(id);
+            respond(exchange, 200, id == null ? "[]"
+                    : "[{\"id\":\"" + id + "\",\"username\":\"" + username + "\",\"email\":\"" + username + "\"}]");
+        } else if (path.endsWith("/users") && method.equals("POST")) {
+            record("create");
+            onCreate.run();
+            if (failCreate) {
+                respond(exchange, 503, null);
+                return;
+            }
+            String email = body.replaceAll(".*\"email\"\\s*:\\s*\"([^\"]+)\".*", "$1");
+            if (usersByEmail.containsKey(email)) {
+                respond(exchange, 409, "{\"errorMessage\":\"User exists with same username\"}");
+                return;
+            }
+            String id = UUID.randomUUID().toString();
+            usersByEmail.put(email, id);
+            if (body.contains("\"provisioning_key\"")) {
+                provisioningKeys.put(id, body.replaceAll(".*\"provisioning_key\"\\s*:\\s*\\[\\s*\"([^\"]+)\".*", "$1"));
+            }
+            exchange.getResponseHeaders().add("Location", url() + path + "/" + id);
+            respond(exchange, 201, null);
+        } else if (path.endsWith("/reset-password")) {
+            record("reset-password");
+            String[] segments = path.split("/");
+            record("reset-password:" + segments[segments.length - 2]);
+            respond(exchange, 204, null);
+        } else if (path.contains("/roles/")) {
+            record("role");
+            respond(exchange, 200, """
+                    {"id":"role-1","name":"CUSTOMER","composite":false,"clientRole":false}""");
+        } else if (path.endsWith("/role-mappings/realm")) {
+            record("role-mapping");
+            respond(exchange, 204, null);
+        } else {
+            respond(exchange, 404, null);
+        }
+    }
+
+    String provisioningKeyOf(String id) {
+        return provisioningKeys.get(id);
+    }
+
+    private String emailOf(String id) {
+        return usersByEmail.entrySet().stream()
+                .filter(entry -> entry.getValue().equals(id))
+                .map(Map.Entry::getKey)
+                .findFirst().orElse(null);
+    }
+
+    private void record(String endpoint) {
+        hits.computeIfAbsent(endpoint, k -> new AtomicInteger()).incrementAndGet();
+    }
+
+    private static String queryParam(HttpExchange exchange, String name) {
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return null;
+        }
+        for (String pair : query.split("&")) {
+            String[] parts = pair.split("=", 2);
+            if (parts[0].equals(name) && parts.length == 2) {
+                return URLDecoder.decode(parts[1], StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        if (json == null) {
+            exchange.sendResponseHeaders(status, -1);
+        } else {
+            byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, bytes.length);
+            exchange.getResponseBody().write(bytes);
+        }
+        exchange.close();
+    }
+}
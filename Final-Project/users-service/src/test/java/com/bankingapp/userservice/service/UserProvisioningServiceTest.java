@@ -0,0 +1,198 @@
+package com.bankingapp.userservice.service;
+
+import com.bankingapp.userservice.dto.RegisterUserRequest;
+import com.bankingapp.userservice.entity.UserProvisioningOutbox;
+import com.bankingapp.userservice.enums.OutboxStatus;
+import com.bankingapp.userservice.enums.UserRole;
+import com.bankingapp.userservice.repository.UserProvisioningOutboxRepository;
+import com.bankingapp.userservice.util.OutboxPasswordCipher;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Registration outbox against H2 and {@link StubKeycloak}: rows are claimed and drained to Keycloak,
+ * only Keycloak users created by the row itself are provisioned, and failures are rescheduled with backoff.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "users.outbox.poll-interval-ms=3600000",
+        "users.outbox.encryption-key=MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=",
+        "keycloak.realm=banking-app",
+        "keycloak.admin-client-id=admin-cli",
+        "keycloak.admin-username=admin",
+        "keycloak.admin-password=admin"
+})
+@Import({UserProvisioningService.class, KeycloakService.class, OutboxPasswordCipher.class,
+        UserProvisioningServiceTest.Config.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserProvisioningServiceTest {
+
+    private static final StubKeycloak stub = startStub();
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @DynamicPropertySource
+    static void keycloakUrl(DynamicPropertyRegistry registry) {
+        registry.add("keycloak.server-url", stub::url);
+    }
+
+    @Autowired
+    private UserProvisioningService provisioningService;
+
+    @Autowired
+    private UserProvisioningOutboxRepository outboxRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void clean() {
+        outboxRepository.deleteAll();
+        stub.failCreate(false);
+        stub.onCreate(() -> { });
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @Test
+    void drainsPendingRowsToKeycloak() {
+        enqueue("ana@bank.test");
+        enqueue("ben@bank.test");
+        int createdBefore = stub.count("create");
+
+        assertThat(provisioningService.relayBatch()).isEqualTo(2);
+
+        assertThat(stub.count("create") - createdBefore).isEqualTo(2);
+        for (UserProvisioningOutbox entry : outboxRepository.findAll()) {
+            assertThat(entry.getStatus()).isEqualTo(OutboxStatus.PROVISIONED);
+            assertThat(entry.getKeycloakUserId()).isNotBlank();
+            assertThat(entry.getEncryptedPassword()).isNull();
+        }
+        assertThat(provisioningService.relayBatch()).isZero();
+    }
+
+    @Test
+    void claimIsCommittedBeforeKeycloakIsCalled() {
+        enqueue("fay@bank.test");
+        AtomicReference<LocalDateTime> dueDuringCall = new AtomicReference<>();
+        stub.onCreate(() -> dueDuringCall.set(
+                outboxRepository.findByEmail("fay@bank.test").orElseThrow().getNextAttemptAt()));
+
+        provisioningService.relayBatch();
+
+        // the lease is visible to other relays while the Keycloak call runs
+        assertThat(dueDuringCall.get()).isAfter(LocalDateTime.now().plusMinutes(1));
+        assertThat(outboxRepository.findByEmail("fay@bank.test").orElseThrow().getStatus())
+                .isEqualTo(OutboxStatus.PROVISIONED);
+    }
+
+    @Test
+    void rowLeasedAfterItWasFoundDueIsNotClaimedAgain() {
+        enqueue("gus@bank.test");
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> dueIds = outboxRepository.findDueIds(OutboxStatus.PENDING, now, PageRequest.of(0, 10));
+        assertThat(dueIds).hasSize(1);
+
+        // another relay claims the row between this relay's two queries
+        transactionTemplate.executeWithoutResult(status -> outboxRepository.findById(dueIds.get(0)).orElseThrow()
+                .setNextAttemptAt(LocalDateTime.now().plusMinutes(5)));
+
+        List<UserProvisioningOutbox> claimed = transactionTemplate.execute(status ->
+                outboxRepository.lockByIds(dueIds, OutboxStatus.PENDING, now));
+        assertThat(claimed).isEmpty();
+    }
+
+    @Test
+    void neverAdoptsKeycloakUserItDidNotCreate() {
+        stub.addExistingUser("carl@bank.test", "kc-carl");
+        enqueue("carl@bank.test");
+
+        provisioningService.relayBatch();
+
+        UserProvisioningOutbox entry = outboxRepository.findByEmail("carl@bank.test").orElseThrow();
+        assertThat(entry.getStatus()).isEqualTo(OutboxStatus.FAILED);
+        assertThat(entry.getKeycloakUserId()).isNull();
+        assertThat(entry.getEncryptedPassword()).isNull();
+        assertThat(stub.count("reset-password:kc-carl")).isZero();
+    }
+
+    @Test
+    void resumesUserCreatedByThisRowBeforeACrash() {
+        enqueue("erin@bank.test");
+        UserProvisioningOutbox pending = outboxRepository.findByEmail("erin@bank.test").orElseThrow();
+        stub.addProvisionedUser("erin@bank.test", "kc-erin", pending.getProvisioningKey());
+
+        provisioningService.relayBatch();
+
+        UserProvisioningOutbox entry = outboxRepository.findByEmail("erin@bank.test").orElseThrow();
+        assertThat(entry.getStatus()).isEqualTo(OutboxStatus.PROVISIONED);
+        assertThat(entry.getKeycloakUserId()).isEqualTo("kc-erin");
+        assertThat(stub.count("reset-password:kc-erin")).isEqualTo(1);
+    }
+
+    @Test
+    void reschedulesFailedProvisioning() {
+        stub.failCreate(true);
+        enqueue("dana@bank.test");
+
+        provisioningService.relayBatch();
+
+        UserProvisioningOutbox entry = outboxRepository.findByEmail("dana@bank.test").orElseThrow();
+        assertThat(entry.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(entry.getAttempts()).isEqualTo(1);
+        assertThat(entry.getLastError()).isNotBlank();
+        assertThat(entry.getNextAttemptAt()).isAfter(LocalDateTime.now());
+        assertThat(entry.getEncryptedPassword()).isNotNull();
+        assertThat(provisioningService.relayBatch()).isZero();
+    }
+
+    private void enqueue(String email) {
+        RegisterUserRequest request = RegisterUserRequest.builder()
+                .email(email)
+                .firstName("First")
+                .lastName("Last")
+                .phoneNumber("9" + Math.abs(email.hashCode()))
+                .password("secret")
+                .build();
+        transactionTemplate.executeWithoutResult(status -> provisioningService.enqueue(request, UserRole.CUSTOMER));
+    }
+
+    private static StubKeycloak startStub() {
+        try {
+            return new StubKeycloak();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.bankingapp.userservice.service.impl;
+
+import com.bankingapp.userservice.config.AsyncConfig;
+import com.bankingapp.userservice.dto.RegisterUserRequest;
+import com.bankingapp.userservice.entity.User;
+import com.bankingapp.userservice.repository.UserRepository;
+import com.bankingapp.userservice.service.UserCacheEvictionNotifier;
+import com.bankingapp.userservice.service.UserProvisioningService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Load test: 500 concurrent clients each register one customer, with every save held for 10 ms to stand
+ * in for the Oracle round trip. Runs the old shape (supplyAsync on the default async pool) and
+ * UserServiceImpl on the userTaskExecutor from {@link AsyncConfig}, and logs registrations per second,
+ * p99 latency and the most registrations running at once for each. The default pool is the common
+ * ForkJoinPool (cores - 1 threads) on multi-core hosts and a new thread per task on one or two cores,
+ * so its figures depend on the host; the dedicated pool is bounded at its configured size either way.
+ */
+@Slf4j
+@Tag("benchmark")
+class RegistrationThroughputTest {
+
+    private static final int CLIENTS = 500;
+    private static final int POOL_SIZE = 32;
+    private static final long SAVE_MILLIS = 10;
+
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger peak = new AtomicInteger();
+
+    @Test
+    void dedicatedPoolServesFiveHundredClientsWithBoundedThreads() throws Exception {
+        UserRepository userRepository = slowRepository();
+        UserProvisioningService provisioning = mock(UserProvisioningService.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+        ThreadPoolTaskExecutor executor = new AsyncConfig().userTaskExecutor(POOL_SIZE, 1000);
+        executor.initialize();
+        UserServiceImpl userService = new UserServiceImpl(userRepository, mock(UserCacheEvictionNotifier.class),
+                executor, provisioning, transactionTemplate);
+        try {
+            Function<RegisterUserRequest, CompletableFuture<User>> defaultPool =
+                    dto -> CompletableFuture.supplyAsync(() -> userRepository.save(new User()));
+            load(defaultPool); // warm-up runs, not measured
+            load(userService::registerCustomer);
+
+            Load before = load(defaultPool);
+            Load after = load(userService::registerCustomer);
+
+            log.info("default async pool: {} registrations/s, p99 {} ms, {} at once",
+                    before.perSecond(), before.p99Millis, before.peak);
+            log.info("userTaskExecutor({}): {} registrations/s, p99 {} ms, {} at once",
+                    POOL_SIZE, after.perSecond(), after.p99Millis, after.peak);
+
+            assertThat(after.completed).isEqualTo(CLIENTS);
+            assertThat(after.peak).isLessThanOrEqualTo(POOL_SIZE);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private record Load(int completed, long nanos, long p99Millis, int peak) {
+        long perSecond() {
+            return completed * 1_000_000_000L / nanos;
+        }
+    }
+
+    private Load load(Function<RegisterUserRequest, CompletableFuture<User>> register) throws Exception {
+        running.set(0);
+        peak.set(0);
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < CLIENTS; c++) {
+                RegisterUserRequest dto = RegisterUserRequest.builder()
+                        .email("load" + c + "@bank.test")
+                        .firstName("Load")
+                        .lastName("Client")
+                        .phoneNumber(String.valueOf(9_000_000_000L + c))
+                        .password("secret")
+                        .build();
+                futures.add(clients.submit(() -> {
+                    start.await();
+                    long began = System.nanoTime();
+                    register.apply(dto).get(60, TimeUnit.SECONDS); // as UserController used to block on .get()
+                    latencies.add(System.nanoTime() - began);
+                    return null;
+                }));
+            }
+            long started = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(120, TimeUnit.SECONDS);
+            }
+            long elapsed = System.nanoTime() - started;
+
+            List<Long> sorted = new ArrayList<>(latencies);
+            Collections.sort(sorted);
+            long p99 = TimeUnit.NANOSECONDS.toMillis(sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1));
+            return new Load(sorted.size(), elapsed, p99, peak.get());
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private UserRepository slowRepository() {
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(SAVE_MILLIS);
+                return invocation.getArgument(0);
+            } finally {
+                running.decrementAndGet();
+            }
+        });
+        return userRepository;
+    }
+}
@@ -0,0 +1,40 @@
+package com.bankingapp.userservice.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OutboxPasswordCipherTest {
+
+    @Test
+    void roundTripsWithA256BitKey() {
+        OutboxPasswordCipher cipher = new OutboxPasswordCipher(randomKey(32));
+
+        String encrypted = cipher.encrypt("s3cret!");
+
+        assertThat(encrypted).doesNotContain("s3cret!");
+        assertThat(cipher.decrypt(encrypted)).isEqualTo("s3cret!");
+    }
+
+    @Test
+    void refusesToStartWithoutAProperKey() {
+        assertThatThrownBy(() -> new OutboxPasswordCipher(""))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("USERS_OUTBOX_KEY");
+        assertThatThrownBy(() -> new OutboxPasswordCipher("not base64!"))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new OutboxPasswordCipher(randomKey(16)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("32 bytes");
+    }
+
+    private static String randomKey(int bytes) {
+        byte[] key = new byte[bytes];
+        new SecureRandom().nextBytes(key);
+        return Base64.getEncoder().encodeToString(key);
+    }
+}